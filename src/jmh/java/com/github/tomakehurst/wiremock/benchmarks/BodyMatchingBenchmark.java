@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.benchmarks;
+
+import com.github.tomakehurst.wiremock.matching.ValuePattern;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BodyMatchingBenchmark {
+
+    public enum PatternType { EQUAL_TO_JSON, MATCHES_XPATH, CONTAINS, MATCHES }
+
+    @Param({"EQUAL_TO_JSON", "MATCHES_XPATH", "CONTAINS", "MATCHES"})
+    public PatternType patternType;
+
+    @Param({"1024", "65536"})
+    public int bodySize;
+
+    private ValuePattern pattern;
+    private String body;
+
+    @Setup
+    public void setup() {
+        int itemCount = 0;
+        StringBuilder items = new StringBuilder();
+        while (items.length() < bodySize) {
+            if (patternType == PatternType.MATCHES_XPATH) {
+                items.append("<item id=\"").append(itemCount).append("\">item-").append(itemCount).append("</item>");
+            } else {
+                items.append(itemCount > 0 ? "," : "")
+                        .append("{\"id\":").append(itemCount).append(",\"name\":\"item-").append(itemCount).append("\"}");
+            }
+            itemCount++;
+        }
+
+        String lastItem = "item-" + (itemCount - 1);
+        switch (patternType) {
+            case EQUAL_TO_JSON:
+                body = "{\"items\":[" + items + "]}";
+                pattern = ValuePattern.equalToJson(body);
+                break;
+            case MATCHES_XPATH:
+                body = "<items>" + items + "</items>";
+                pattern = ValuePattern.equalToXPath("//item[@id='" + (itemCount - 1) + "']");
+                break;
+            case CONTAINS:
+                body = "{\"items\":[" + items + "]}";
+                pattern = ValuePattern.containing(lastItem);
+                break;
+            default:
+                body = "{\"items\":[" + items + "]}";
+                pattern = ValuePattern.matches(".*" + lastItem + ".*");
+        }
+    }
+
+    @Benchmark
+    public boolean matchBody() {
+        return pattern.isMatchFor(body);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.benchmarks;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.google.common.base.Strings;
+import com.google.common.io.Files;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import org.HdrHistogram.Histogram;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ssl.AllowAllHostnameVerifier;
+import org.apache.http.conn.ssl.SSLContexts;
+import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Starts a WireMockServer on loopback with a generated set of stubs and drives it with an open-loop load generator,
+ * printing throughput and an HdrHistogram latency distribution (in milliseconds).
+ */
+public class LoadTestHarness {
+
+    private static final String STUB_TYPES = "stub-types";
+    private static final String STUBS = "stubs";
+    private static final String RATE = "rate";
+    private static final String DURATION = "duration";
+    private static final String WARMUP = "warmup";
+    private static final String CLIENT_THREADS = "client-threads";
+    private static final String CONTAINER_THREADS = "container-threads";
+    private static final String JETTY_ACCEPTORS = "jetty-acceptors";
+    private static final String HTTPS = "https";
+    private static final String DELAY = "delay";
+    private static final String BODY_SIZE = "body-size";
+    private static final String HISTOGRAM_FILE = "histogram-file";
+
+    private static final List<String> ALL_STUB_TYPES = asList("static", "delayed", "proxied", "file");
+
+    public static void main(String... args) throws Exception {
+        OptionParser optionParser = new OptionParser();
+        optionParser.accepts(STUB_TYPES, "Comma separated stub types to generate: static, delayed, proxied, file").withRequiredArg().defaultsTo("static,delayed,proxied,file");
+        optionParser.accepts(STUBS, "Number of stubs of each type").withRequiredArg().ofType(Integer.class).defaultsTo(100);
+        optionParser.accepts(RATE, "Requests per second to offer").withRequiredArg().ofType(Integer.class).defaultsTo(1000);
+        optionParser.accepts(DURATION, "Seconds to measure for").withRequiredArg().ofType(Integer.class).defaultsTo(30);
+        optionParser.accepts(WARMUP, "Seconds to warm up for before measuring").withRequiredArg().ofType(Integer.class).defaultsTo(10);
+        optionParser.accepts(CLIENT_THREADS, "Number of load generator threads and connections").withRequiredArg().ofType(Integer.class).defaultsTo(100);
+        optionParser.accepts(CONTAINER_THREADS, "Number of WireMock container threads").withRequiredArg().ofType(Integer.class).defaultsTo(200);
+        optionParser.accepts(JETTY_ACCEPTORS, "Number of Jetty acceptor threads").withRequiredArg().ofType(Integer.class);
+        optionParser.accepts(HTTPS, "Serve and send requests over the HTTPS connector instead of HTTP");
+        optionParser.accepts(DELAY, "Fixed delay in milliseconds for delayed stubs").withRequiredArg().ofType(Integer.class).defaultsTo(10);
+        optionParser.accepts(BODY_SIZE, "Response body size in bytes").withRequiredArg().ofType(Integer.class).defaultsTo(1024);
+        optionParser.accepts(HISTOGRAM_FILE, "Also write the latency distribution to this .hgrm file").withRequiredArg();
+        optionParser.accepts("help", "Print this message");
+
+        OptionSet options = optionParser.parse(args);
+        if (options.has("help")) {
+            optionParser.printHelpOn(System.out);
+            return;
+        }
+
+        File rootDir = Files.createTempDir();
+        WireMockServer origin = new WireMockServer(configFor(rootDir, "origin", options).containerThreads(200));
+        WireMockServer wireMockServer = new WireMockServer(configFor(rootDir, "wiremock", options));
+        origin.start();
+        wireMockServer.start();
+
+        try {
+            String bodyContent = Strings.repeat("x", (Integer) options.valueOf(BODY_SIZE));
+            origin.stubFor(get(urlMatching(".*")).willReturn(aResponse().withStatus(200).withBody(bodyContent)));
+
+            List<String> urls = generateStubs(wireMockServer, origin, rootDir, options, bodyContent);
+            HttpClient httpClient = createHttpClient((Integer) options.valueOf(CLIENT_THREADS));
+            int rate = (Integer) options.valueOf(RATE);
+            int clientThreads = (Integer) options.valueOf(CLIENT_THREADS);
+
+            System.out.println("Warming up for " + options.valueOf(WARMUP) + "s");
+            new OpenLoopLoadGenerator(httpClient, urls, rate, clientThreads).run((Integer) options.valueOf(WARMUP), SECONDS);
+
+            System.out.println("Measuring for " + options.valueOf(DURATION) + "s at " + rate + " requests/s");
+            OpenLoopLoadGenerator.Result result =
+                    new OpenLoopLoadGenerator(httpClient, urls, rate, clientThreads).run((Integer) options.valueOf(DURATION), SECONDS);
+
+            report(result, System.out);
+            if (options.has(HISTOGRAM_FILE)) {
+                PrintStream histogramOut = new PrintStream(new FileOutputStream((String) options.valueOf(HISTOGRAM_FILE)));
+                try {
+                    result.getLatencies().outputPercentileDistribution(histogramOut, 1000.0);
+                } finally {
+                    histogramOut.close();
+                }
+            }
+        } finally {
+            wireMockServer.stop();
+            origin.stop();
+        }
+    }
+
+    private static WireMockConfiguration configFor(File rootDir, String name, OptionSet options) throws IOException {
+        File serverRoot = new File(rootDir, name);
+        new File(serverRoot, "mappings").mkdirs();
+        new File(serverRoot, "__files").mkdirs();
+        File excludes = new File(serverRoot, "__excludes/exclude.json");
+        excludes.getParentFile().mkdirs();
+        Files.write("{\"excludeNodes\":[]}", excludes, UTF_8);
+
+        WireMockConfiguration config = wireMockConfig()
+                .bindAddress("127.0.0.1")
+                .dynamicPort()
+                .withRootDirectory(serverRoot.getAbsolutePath())
+                .disableRequestJournal()
+                .containerThreads((Integer) options.valueOf(CONTAINER_THREADS));
+        if (options.has(JETTY_ACCEPTORS)) {
+            config.jettyAcceptors((Integer) options.valueOf(JETTY_ACCEPTORS));
+        }
+        if (options.has(HTTPS)) {
+            config.dynamicHttpsPort();
+        }
+
+        return config;
+    }
+
+    private static List<String> generateStubs(WireMockServer wireMockServer,
+                                              WireMockServer origin,
+                                              File rootDir,
+                                              OptionSet options,
+                                              String bodyContent) throws IOException {
+        List<String> stubTypes = asList(((String) options.valueOf(STUB_TYPES)).split(","));
+        int stubCount = (Integer) options.valueOf(STUBS);
+        String baseUrl = options.has(HTTPS) ?
+                "https://127.0.0.1:" + wireMockServer.httpsPort() :
+                "http://127.0.0.1:" + wireMockServer.port();
+
+        List<String> urls = newArrayList();
+        for (String stubType: stubTypes) {
+            if (!ALL_STUB_TYPES.contains(stubType)) {
+                throw new IllegalArgumentException("Unknown stub type " + stubType + ", expected one of " + ALL_STUB_TYPES);
+            }
+
+            for (int i = 0; i < stubCount; i++) {
+                String url = "/" + stubType + "/" + i;
+                if (stubType.equals("static")) {
+                    wireMockServer.stubFor(get(urlEqualTo(url)).willReturn(aResponse()
+                            .withHeader("Content-Type", "text/plain")
+                            .withBody(bodyContent)));
+                } else if (stubType.equals("delayed")) {
+                    wireMockServer.stubFor(get(urlEqualTo(url)).willReturn(aResponse()
+                            .withBody(bodyContent)
+                            .withFixedDelay((Integer) options.valueOf(DELAY))));
+                } else if (stubType.equals("proxied")) {
+                    wireMockServer.stubFor(get(urlEqualTo(url)).willReturn(aResponse()
+                            .proxiedFrom("http://127.0.0.1:" + origin.port())));
+                } else {
+                    String fileName = "body-" + i + ".txt";
+                    Files.write(bodyContent, new File(rootDir, "wiremock/__files/" + fileName), UTF_8);
+                    wireMockServer.stubFor(get(urlEqualTo(url)).willReturn(aResponse().withBodyFile(fileName)));
+                }
+
+                urls.add(baseUrl + url);
+            }
+        }
+
+        return urls;
+    }
+
+    private static HttpClient createHttpClient(int maxConnections) throws Exception {
+        return HttpClientBuilder.create()
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .disableRedirectHandling()
+                .disableContentCompression()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setHostnameVerifier(new AllowAllHostnameVerifier())
+                .setSslcontext(SSLContexts.custom().loadTrustMaterial(null, new TrustSelfSignedStrategy()).build())
+                .build();
+    }
+
+    private static void report(OpenLoopLoadGenerator.Result result, PrintStream out) {
+        Histogram latencies = result.getLatencies();
+        out.println(String.format("Requests sent: %d, completed: %d, errors: %d, throughput: %.1f requests/s",
+                result.getSent(), result.getCompleted(), result.getErrors(), result.getRequestsPerSecond()));
+        out.println(String.format("Latency (ms) p50: %.3f, p90: %.3f, p99: %.3f, p99.9: %.3f, max: %.3f",
+                latencies.getValueAtPercentile(50) / 1000.0,
+                latencies.getValueAtPercentile(90) / 1000.0,
+                latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getValueAtPercentile(99.9) / 1000.0,
+                latencies.getMaxValue() / 1000.0));
+        latencies.outputPercentileDistribution(out, 1000.0);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Sends requests at a fixed rate regardless of how quickly responses come back, and measures each latency from the
+ * time the request was due to be sent rather than when a worker got round to sending it. A server that falls behind
+ * therefore shows up in the latency percentiles instead of silently lowering the offered load.
+ */
+public class OpenLoopLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_MICROS = SECONDS.toMicros(60);
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final HttpClient httpClient;
+    private final List<String> urls;
+    private final int requestsPerSecond;
+    private final int workerThreads;
+
+    public OpenLoopLoadGenerator(HttpClient httpClient, List<String> urls, int requestsPerSecond, int workerThreads) {
+        this.httpClient = httpClient;
+        this.urls = urls;
+        this.requestsPerSecond = requestsPerSecond;
+        this.workerThreads = workerThreads;
+    }
+
+    public Result run(long duration, TimeUnit unit) throws InterruptedException {
+        final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_LATENCY_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(workerThreads);
+
+        long intervalNanos = SECONDS.toNanos(1) / requestsPerSecond;
+        long startTime = System.nanoTime();
+        long endTime = startTime + unit.toNanos(duration);
+        long sent = 0;
+        long intendedStartTime = startTime;
+        while (intendedStartTime < endTime) {
+            waitUntil(intendedStartTime);
+            final String url = urls.get((int) (sent % urls.size()));
+            final long scheduledTime = intendedStartTime;
+            workers.execute(new Runnable() {
+                public void run() {
+                    try {
+                        HttpResponse response = httpClient.execute(new HttpGet(url));
+                        EntityUtils.consume(response.getEntity());
+                        if (response.getStatusLine().getStatusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    recorder.recordValue(Math.min(
+                            NANOSECONDS.toMicros(System.nanoTime() - scheduledTime),
+                            HIGHEST_TRACKABLE_LATENCY_MICROS));
+                    completed.incrementAndGet();
+                }
+            });
+
+            sent++;
+            intendedStartTime = startTime + sent * intervalNanos;
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(DRAIN_TIMEOUT_SECONDS, SECONDS)) {
+            workers.shutdownNow();
+            throw new IllegalStateException(String.format(
+                    "%d of %d requests were still in flight %ds after the run ended; the results would be incomplete",
+                    sent - completed.get(), sent, DRAIN_TIMEOUT_SECONDS));
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        return new Result(recorder.getIntervalHistogram(), sent, completed.get(), errors.get(), elapsedNanos);
+    }
+
+    private static void waitUntil(long nanoTime) throws InterruptedException {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            if (remaining > TimeUnit.MILLISECONDS.toNanos(1)) {
+                NANOSECONDS.sleep(remaining / 2);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    public static class Result {
+
+        private final Histogram latencies;
+        private final long sent;
+        private final long completed;
+        private final long errors;
+        private final long elapsedNanos;
+
+        public Result(Histogram latencies, long sent, long completed, long errors, long elapsedNanos) {
+            this.latencies = latencies;
+            this.sent = sent;
+            this.completed = completed;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Histogram getLatencies() {
+            return latencies;
+        }
+
+        public long getSent() {
+            return sent;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getRequestsPerSecond() {
+            return completed / (elapsedNanos / (double) SECONDS.toNanos(1));
+        }
+    }
+}
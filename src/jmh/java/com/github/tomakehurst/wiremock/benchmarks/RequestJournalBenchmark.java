@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.benchmarks;
+
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.verification.InMemoryRequestJournal;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.google.common.base.Optional;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RequestJournalBenchmark {
+
+    @Param({"100", "10000"})
+    public int journalSize;
+
+    private InMemoryRequestJournal journal;
+    private Request request;
+    private RequestPattern countPattern;
+
+    @Setup
+    public void setup() {
+        journal = new InMemoryRequestJournal(Optional.of(journalSize));
+        for (int i = 0; i < journalSize; i++) {
+            journal.requestReceived(requestFor("/resources/" + i));
+        }
+
+        request = requestFor("/resources/recorded");
+        countPattern = new RequestPattern(POST);
+        countPattern.setUrlPattern("/resources/[0-9]*5");
+    }
+
+    @Benchmark
+    public void record() {
+        journal.requestReceived(request);
+    }
+
+    @Benchmark
+    public int countMatching() {
+        return journal.countRequestsMatching(countPattern);
+    }
+
+    private static Request requestFor(String url) {
+        return new LoggedRequest(url, "http://localhost" + url, POST,
+                new HttpHeaders(new HttpHeader("Content-Type", "application/json")),
+                "{\"id\":1}", false, new Date());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.benchmarks;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.matching.ValuePattern;
+import com.github.tomakehurst.wiremock.stubbing.InMemoryStubMappings;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+import static java.util.Arrays.asList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RequestMatchingBenchmark {
+
+    public enum PatternType { URL, URL_PATH, URL_REGEX, XML_BODY }
+
+    @Param({"10", "100", "1000"})
+    public int stubCount;
+
+    @Param({"URL", "URL_PATH", "URL_REGEX", "XML_BODY"})
+    public PatternType patternType;
+
+    private InMemoryStubMappings stubMappings;
+    private Request oldestStubRequest;
+    private Request unmatchedRequest;
+
+    @Setup
+    public void setup() {
+        WireMockServer.excludedNodes = Collections.emptyList();
+        stubMappings = new InMemoryStubMappings();
+        for (int i = 0; i < stubCount; i++) {
+            stubMappings.addMapping(new StubMapping(requestPatternFor(i), new ResponseDefinition(200, "Response " + i)));
+        }
+
+        // The most recently added stub is tried first, so the oldest one has to be reached through all the others
+        oldestStubRequest = requestFor(0);
+        unmatchedRequest = unmatchedRequest();
+    }
+
+    @Benchmark
+    public ResponseDefinition matchOldestStub() {
+        return stubMappings.serveFor(oldestStubRequest);
+    }
+
+    @Benchmark
+    public ResponseDefinition matchNoStub() {
+        return stubMappings.serveFor(unmatchedRequest);
+    }
+
+    private RequestPattern requestPatternFor(int index) {
+        switch (patternType) {
+            case URL_PATH:
+                RequestPattern urlPathPattern = new RequestPattern(GET);
+                urlPathPattern.setUrlPath("/resources/" + index);
+                return urlPathPattern;
+            case URL_REGEX:
+                RequestPattern urlRegexPattern = new RequestPattern(GET);
+                urlRegexPattern.setUrlPattern("/resources/" + index + "(\\?.*)?");
+                return urlRegexPattern;
+            case XML_BODY:
+                RequestPattern bodyPattern = new RequestPattern(POST, "/service");
+                bodyPattern.setBodyPatterns(asList(ValuePattern.equalTo(xmlBody(index))));
+                return bodyPattern;
+            default:
+                return new RequestPattern(GET, "/resources/" + index + "?page=1");
+        }
+    }
+
+    private Request requestFor(int index) {
+        if (patternType == PatternType.XML_BODY) {
+            return new LoggedRequest("/service", "http://localhost/service", POST,
+                    new HttpHeaders(), xmlBody(index), false, new Date());
+        }
+
+        String url = "/resources/" + index + "?page=1";
+        return new LoggedRequest(url, "http://localhost" + url, GET, new HttpHeaders(), "", false, new Date());
+    }
+
+    /**
+     * URL path patterns match by prefix, so e.g. /resources/100 would be matched by the stub for /resources/1. The
+     * request has to be under a path none of the stubs start with to miss them all.
+     */
+    private Request unmatchedRequest() {
+        if (patternType == PatternType.XML_BODY) {
+            return requestFor(stubCount);
+        }
+
+        String url = "/unmatched/" + stubCount + "?page=1";
+        return new LoggedRequest(url, "http://localhost" + url, GET, new HttpHeaders(), "", false, new Date());
+    }
+
+    private static String xmlBody(int index) {
+        return "<soap><arg0><id>" + index + "</id><name>resource-" + index + "</name></arg0></soap>";
+    }
+}
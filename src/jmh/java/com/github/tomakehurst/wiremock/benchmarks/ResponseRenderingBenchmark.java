@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.benchmarks;
+
+import com.github.tomakehurst.wiremock.global.GlobalSettingsHolder;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.ProxyResponseRenderer;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.http.StubResponseRenderer;
+import com.google.common.base.Strings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResponseRenderingBenchmark {
+
+    @Param({"0", "1024", "65536"})
+    public int bodySize;
+
+    @Param({"true", "false"})
+    public boolean prerendered;
+
+    private StubResponseRenderer renderer;
+    private ResponseDefinition responseDefinition;
+
+    @Setup
+    public void setup() {
+        renderer = new StubResponseRenderer(null, new GlobalSettingsHolder(), new ProxyResponseRenderer());
+        responseDefinition = new ResponseDefinition(200, Strings.repeat("x", bodySize));
+        responseDefinition.setHeaders(new HttpHeaders(
+                new HttpHeader("Content-Type", "text/plain; charset=utf-8"),
+                new HttpHeader("Cache-Control", "no-cache"),
+                new HttpHeader("X-Request-Id", "benchmark")));
+
+        if (prerendered) {
+            responseDefinition.setPrerenderedResponse(StubResponseRenderer.prerender(responseDefinition));
+        }
+    }
+
+    @Benchmark
+    public Response render() {
+        return renderer.render(ResponseDefinition.copyOf(responseDefinition));
+    }
+}
@@ -30,7 +30,9 @@ import com.github.tomakehurst.wiremock.common.TextFile;
 import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.core.Container;
 import com.github.tomakehurst.wiremock.core.Options;
+import com.github.tomakehurst.wiremock.core.SaveMappingsSpec;
 import com.github.tomakehurst.wiremock.core.WireMockApp;
+import com.github.tomakehurst.wiremock.extension.ListTransformerStatsResult;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.global.GlobalSettingsHolder;
@@ -39,25 +41,41 @@ import com.github.tomakehurst.wiremock.global.RequestDelaySpec;
 import com.github.tomakehurst.wiremock.global.ThreadSafeRequestDelayControl;
 import com.github.tomakehurst.wiremock.http.AdminRequestHandler;
 import com.github.tomakehurst.wiremock.http.BasicResponseRenderer;
+import com.github.tomakehurst.wiremock.http.ContainerStats;
+import com.github.tomakehurst.wiremock.http.ContainerStatsJmxExporter;
 import com.github.tomakehurst.wiremock.http.HttpServer;
 import com.github.tomakehurst.wiremock.http.HttpServerFactory;
 import com.github.tomakehurst.wiremock.http.ProxyResponseRenderer;
 import com.github.tomakehurst.wiremock.http.RequestListener;
+import com.github.tomakehurst.wiremock.http.StreamingBody;
 import com.github.tomakehurst.wiremock.http.StubRequestHandler;
 import com.github.tomakehurst.wiremock.http.StubResponseRenderer;
 import com.github.tomakehurst.wiremock.jetty6.Jetty6HttpServerFactory;
 import com.github.tomakehurst.wiremock.jetty6.LoggerAdapter;
 import com.github.tomakehurst.wiremock.junit.Stubbing;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.metrics.ListSlowRequestsResult;
+import com.github.tomakehurst.wiremock.metrics.MetricsSnapshot;
 import com.github.tomakehurst.wiremock.standalone.JsonFileMappingsLoader;
+import com.github.tomakehurst.wiremock.standalone.MappingsDirectoryWatcher;
+import com.github.tomakehurst.wiremock.standalone.MappingsWatchStats;
 import com.github.tomakehurst.wiremock.standalone.JsonFileMappingsSaver;
 import com.github.tomakehurst.wiremock.standalone.MappingsLoader;
+import com.github.tomakehurst.wiremock.stubbing.DeferredStubMappingRecorder;
 import com.github.tomakehurst.wiremock.stubbing.ListStubMappingsResult;
+import com.github.tomakehurst.wiremock.stubbing.RecordingSnapshotResult;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.stubbing.StubMappingJsonRecorder;
 import com.github.tomakehurst.wiremock.stubbing.StubMappings;
+import com.github.tomakehurst.wiremock.stubbing.StubMatchingStats;
+import com.github.tomakehurst.wiremock.verification.BatchCountResult;
+import com.github.tomakehurst.wiremock.verification.BatchCountSpec;
 import com.github.tomakehurst.wiremock.verification.FindRequestsResult;
+import com.github.tomakehurst.wiremock.verification.RequestAwaitSpec;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationResult;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationSpec;
+import com.github.tomakehurst.wiremock.verification.RequestExportSpec;
 import com.github.tomakehurst.wiremock.verification.VerificationResult;
 import com.google.common.base.Predicate;
 import org.mortbay.log.Log;
@@ -68,6 +86,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static com.google.common.base.Preconditions.checkState;
@@ -83,8 +102,12 @@ public class WireMockServer implements Container, Stubbing, Admin {
     private final StubRequestHandler stubRequestHandler;
 
     private final HttpServer httpServer;
+    private final ContainerStatsJmxExporter containerStatsJmxExporter;
     private final FileSource fileSource;
     private final Notifier notifier;
+    private final MappingsLoader defaultMappingsLoader;
+    private volatile MappingsDirectoryWatcher mappingsDirectoryWatcher;
+    private volatile DeferredStubMappingRecorder deferredRecorder;
 
     private final Options options;
 
@@ -98,7 +121,7 @@ public class WireMockServer implements Container, Stubbing, Admin {
         this.notifier = options.notifier();
 
         RequestDelayControl requestDelayControl = new ThreadSafeRequestDelayControl();
-        MappingsLoader defaultMappingsLoader = makeDefaultMappingsLoader();
+        defaultMappingsLoader = makeDefaultMappingsLoader();
         JsonFileMappingsSaver mappingsSaver = new JsonFileMappingsSaver(fileSource.child(MAPPINGS_ROOT));
 
         wireMockApp = new WireMockApp(
@@ -110,7 +133,9 @@ public class WireMockServer implements Container, Stubbing, Admin {
             options.maxRequestJournalEntries(),
             options.extensionsOfType(ResponseTransformer.class),
             fileSource,
-            this
+            this,
+            options.matchCacheSize(),
+            options.slowRequestThresholdMillis()
         );
 
         AdminRequestHandler adminRequestHandler = new AdminRequestHandler(
@@ -128,8 +153,14 @@ public class WireMockServer implements Container, Stubbing, Admin {
                     options.shouldPreserveHostHeader(),
                     options.proxyHostHeader()
                 )
-            )
+            ),
+            wireMockApp.getRequestMetrics(),
+            options.phaseTimingEnabled() || wireMockApp.getSlowRequestLog().isEnabled(),
+            options.phaseTimingEnabled()
         );
+        if (wireMockApp.getSlowRequestLog().isEnabled()) {
+            stubRequestHandler.addRequestListener(wireMockApp.getSlowRequestLog());
+        }
         HttpServerFactory httpServerFactory = new Jetty6HttpServerFactory();
         httpServer = httpServerFactory.buildHttpServer(
             options,
@@ -137,6 +168,7 @@ public class WireMockServer implements Container, Stubbing, Admin {
             stubRequestHandler,
             requestDelayControl
         );
+        containerStatsJmxExporter = new ContainerStatsJmxExporter(httpServer);
 
         Log.setLog(new LoggerAdapter(notifier));
 
@@ -196,7 +228,7 @@ public class WireMockServer implements Container, Stubbing, Admin {
     private MappingsLoader makeDefaultMappingsLoader() {
         FileSource mappingsFileSource = fileSource.child("mappings");
         if (mappingsFileSource.exists()) {
-            return new JsonFileMappingsLoader(mappingsFileSource);
+            return new JsonFileMappingsLoader(mappingsFileSource, notifier);
         } else {
             return new NoOpMappingsLoader();
         }
@@ -252,12 +284,27 @@ public class WireMockServer implements Container, Stubbing, Admin {
     }
 
     public void enableRecordMappings(FileSource mappingsFileSource, FileSource filesFileSource) {
-        addMockServiceRequestListener(
-            new StubMappingJsonRecorder(mappingsFileSource, filesFileSource, wireMockApp, options.matchingHeaders()));
+        StubMappingJsonRecorder recorder = new StubMappingJsonRecorder(mappingsFileSource, filesFileSource, options.matchingHeaders());
+        addMockServiceRequestListener(recorder);
+        wireMockApp.addResetListener(recorder);
         notifier.info("Recording mappings to " + mappingsFileSource.getPath());
     }
 
+    public void enableDeferredRecordMappings(FileSource mappingsFileSource, FileSource filesFileSource, int maxCapturedExchanges) {
+        StubMappingJsonRecorder recorder = new StubMappingJsonRecorder(mappingsFileSource, filesFileSource, options.matchingHeaders());
+        wireMockApp.addResetListener(recorder);
+        deferredRecorder = new DeferredStubMappingRecorder(recorder, maxCapturedExchanges);
+        addMockServiceRequestListener(deferredRecorder);
+        wireMockApp.addResetListener(deferredRecorder);
+        notifier.info("Capturing proxied responses to record to " + mappingsFileSource.getPath() + " on snapshot");
+    }
+
     public void stop() {
+        if (mappingsDirectoryWatcher != null) {
+            mappingsDirectoryWatcher.stop();
+            mappingsDirectoryWatcher = null;
+        }
+        containerStatsJmxExporter.unregister();
         httpServer.stop();
     }
 
@@ -272,11 +319,33 @@ public class WireMockServer implements Container, Stubbing, Admin {
             }
             notifier.debug("Registered excluded nodes: " + sb.toString());
             httpServer.start();
+            if (options.containerStatsEnabled()) {
+                containerStatsJmxExporter.register();
+            }
+            startWatchingMappingsIfEnabled();
         } catch (Exception e) {
             throw new FatalStartupException(e);
         }
     }
 
+    private void startWatchingMappingsIfEnabled() {
+        if (!options.mappingsWatchDebounceMillis().isPresent()) {
+            return;
+        }
+        if (!(defaultMappingsLoader instanceof JsonFileMappingsLoader)) {
+            notifier.error("Not watching for mapping changes as there is no " + MAPPINGS_ROOT + " directory");
+            return;
+        }
+
+        mappingsDirectoryWatcher = new MappingsDirectoryWatcher(
+            (JsonFileMappingsLoader) defaultMappingsLoader,
+            wireMockApp,
+            options.mappingsWatchDebounceMillis().get(),
+            notifier
+        );
+        mappingsDirectoryWatcher.start();
+    }
+
     /**
      * Gracefully shutdown the server.
      * <p>
@@ -362,6 +431,21 @@ public class WireMockServer implements Container, Stubbing, Admin {
         wireMockApp.addStubMapping(stubMapping);
     }
 
+    @Override
+    public void importStubMappings(List<StubMapping> stubMappings) {
+        wireMockApp.importStubMappings(stubMappings);
+    }
+
+    @Override
+    public void editStubMapping(StubMapping stubMapping) {
+        wireMockApp.editStubMapping(stubMapping);
+    }
+
+    @Override
+    public void removeStubMapping(UUID id) {
+        wireMockApp.removeStubMapping(id);
+    }
+
     @Override
     public ListStubMappingsResult listAllStubMappings() {
         return wireMockApp.listAllStubMappings();
@@ -372,6 +456,11 @@ public class WireMockServer implements Container, Stubbing, Admin {
         wireMockApp.saveMappings();
     }
 
+    @Override
+    public void saveMappings(SaveMappingsSpec spec) {
+        wireMockApp.saveMappings(spec);
+    }
+
     @Override
     public void resetMappings() {
         wireMockApp.resetMappings();
@@ -397,11 +486,68 @@ public class WireMockServer implements Container, Stubbing, Admin {
         return wireMockApp.countRequestsMatching(requestPattern);
     }
 
+    @Override
+    public BatchCountResult countRequestsMatchingEach(BatchCountSpec spec) {
+        return wireMockApp.countRequestsMatchingEach(spec);
+    }
+
+    @Override
+    public VerificationResult awaitRequestsMatching(RequestAwaitSpec spec) {
+        return wireMockApp.awaitRequestsMatching(spec);
+    }
+
     @Override
     public FindRequestsResult findRequestsMatching(RequestPattern requestPattern) {
         return wireMockApp.findRequestsMatching(requestPattern);
     }
 
+    @Override
+    public StreamingBody exportRequests(RequestExportSpec spec) {
+        return wireMockApp.exportRequests(spec);
+    }
+
+    @Override
+    public RequestAggregationResult aggregateRequests(RequestAggregationSpec spec) {
+        return wireMockApp.aggregateRequests(spec);
+    }
+
+    @Override
+    public StubMatchingStats getStubMatchingStats() {
+        return wireMockApp.getStubMatchingStats();
+    }
+
+    @Override
+    public ListTransformerStatsResult getTransformerStats() {
+        return wireMockApp.getTransformerStats();
+    }
+
+    @Override
+    public MetricsSnapshot getMetrics() {
+        return wireMockApp.getMetrics();
+    }
+
+    @Override
+    public ContainerStats getContainerStats() {
+        return httpServer.getContainerStats();
+    }
+
+    @Override
+    public MappingsWatchStats getMappingsWatchStats() {
+        MappingsDirectoryWatcher watcher = mappingsDirectoryWatcher;
+        return watcher != null ? watcher.getStats() : MappingsWatchStats.disabled();
+    }
+
+    @Override
+    public RecordingSnapshotResult snapshotRecording(RequestPattern filter) {
+        DeferredStubMappingRecorder recorder = deferredRecorder;
+        return recorder != null ? recorder.snapshot(filter) : RecordingSnapshotResult.disabled();
+    }
+
+    @Override
+    public ListSlowRequestsResult getSlowRequests() {
+        return wireMockApp.getSlowRequests();
+    }
+
     @Override
     public void updateGlobalSettings(GlobalSettings newSettings) {
         wireMockApp.updateGlobalSettings(newSettings);
@@ -32,12 +32,28 @@ public class AdminTasks {
                 .put(requestSpec(GET, ""), RootRedirectTask.class)
                 .put(requestSpec(POST, "/reset"), ResetTask.class)
                 .put(requestSpec(POST, "/mappings/new"), NewStubMappingTask.class)
+                .put(requestSpec(POST, "/mappings/import"), ImportStubMappingsTask.class)
+                .put(requestSpec(POST, "/mappings/edit"), EditStubMappingTask.class)
+                .put(requestSpec(POST, "/mappings/remove"), RemoveStubMappingTask.class)
                 .put(requestSpec(POST, "/scenarios/reset"), ResetScenariosTask.class)
                 .put(requestSpec(POST, "/mappings/save"), SaveMappingsTask.class)
+                .put(requestSpec(POST, "/mappings/save/bundle"), SaveMappingsBundleTask.class)
                 .put(requestSpec(POST, "/mappings/reset"), ResetToDefaultMappingsTask.class)
+                .put(requestSpec(GET, "/mappings/stats"), GetStubMatchingStatsTask.class)
+                .put(requestSpec(GET, "/mappings/watch/stats"), GetMappingsWatchStatsTask.class)
+                .put(requestSpec(POST, "/recordings/snapshot"), SnapshotRecordingTask.class)
+                .put(requestSpec(GET, "/transformers/stats"), GetTransformerStatsTask.class)
+                .put(requestSpec(GET, "/metrics"), GetMetricsTask.class)
+                .put(requestSpec(GET, "/metrics/prometheus"), GetPrometheusMetricsTask.class)
+                .put(requestSpec(GET, "/container/stats"), GetContainerStatsTask.class)
+                .put(requestSpec(GET, "/requests/slow"), GetSlowRequestsTask.class)
                 .put(requestSpec(POST, "/requests/reset"), ResetRequestsTask.class)
                 .put(requestSpec(POST, "/requests/count"), GetRequestCountTask.class)
+                .put(requestSpec(POST, "/requests/count/batch"), GetBatchRequestCountTask.class)
+                .put(requestSpec(POST, "/requests/await"), AwaitRequestCountTask.class)
                 .put(requestSpec(POST, "/requests/find"), FindRequestsTask.class)
+                .put(requestSpec(POST, "/requests/export"), ExportRequestsTask.class)
+                .put(requestSpec(POST, "/requests/aggregate"), AggregateRequestsTask.class)
                 .put(requestSpec(POST, "/socket-delay"), SocketDelayTask.class)
                 .put(requestSpec(POST, "/settings"), GlobalSettingsUpdateTask.class)
                 .put(requestSpec(POST, "/shutdown"), ShutdownServerTask.class)
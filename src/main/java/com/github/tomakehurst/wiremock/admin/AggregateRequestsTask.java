@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.admin;
+
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationResult;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationSpec;
+
+import static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder.jsonResponse;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+
+public class AggregateRequestsTask implements AdminTask {
+
+    @Override
+    public ResponseDefinition execute(Admin admin, Request request) {
+        RequestAggregationSpec spec = Json.read(request.getBodyAsString(), RequestAggregationSpec.class);
+        try {
+            spec.validate();
+        } catch (IllegalArgumentException e) {
+            return new ResponseDefinition(HTTP_BAD_REQUEST, e.getMessage());
+        }
+
+        RequestAggregationResult result = admin.aggregateRequests(spec);
+        return jsonResponse(result);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.admin;
+
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.core.SaveMappingsSpec;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.standalone.MappingsBundleExistsException;
+
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
+
+public class SaveMappingsBundleTask implements AdminTask {
+    @Override
+    public ResponseDefinition execute(Admin admin, Request request) {
+        SaveMappingsSpec spec = Json.read(request.getBodyAsString(), SaveMappingsSpec.class);
+        if (!spec.hasBundle()) {
+            return new ResponseDefinition(HTTP_BAD_REQUEST, "A bundle file name is required");
+        }
+
+        try {
+            admin.saveMappings(spec);
+        } catch (IllegalArgumentException e) {
+            return new ResponseDefinition(HTTP_BAD_REQUEST, e.getMessage());
+        } catch (MappingsBundleExistsException e) {
+            return new ResponseDefinition(HTTP_CONFLICT, e.getMessage());
+        }
+        return ResponseDefinition.ok();
+    }
+}
@@ -18,23 +18,53 @@ package com.github.tomakehurst.wiremock.client;
 import com.github.tomakehurst.wiremock.admin.*;
 import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.core.SaveMappingsSpec;
+import com.github.tomakehurst.wiremock.extension.ListTransformerStatsResult;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.global.RequestDelaySpec;
+import com.github.tomakehurst.wiremock.http.ContainerStats;
 import com.github.tomakehurst.wiremock.http.HttpClientFactory;
+import com.github.tomakehurst.wiremock.http.StreamingBody;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.metrics.ListSlowRequestsResult;
+import com.github.tomakehurst.wiremock.metrics.MetricsSnapshot;
+import com.github.tomakehurst.wiremock.standalone.MappingsWatchStats;
 import com.github.tomakehurst.wiremock.stubbing.ListStubMappingsResult;
+import com.github.tomakehurst.wiremock.stubbing.RecordingSnapshotResult;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.StubMappingNotFoundException;
+import com.github.tomakehurst.wiremock.stubbing.StubMatchingStats;
+import com.github.tomakehurst.wiremock.verification.BatchCountResult;
+import com.github.tomakehurst.wiremock.verification.BatchCountSpec;
 import com.github.tomakehurst.wiremock.verification.FindRequestsResult;
+import com.github.tomakehurst.wiremock.verification.RequestAwaitSpec;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationResult;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationSpec;
+import com.github.tomakehurst.wiremock.verification.RequestExportSpec;
+import com.github.tomakehurst.wiremock.verification.RequestJournalDisabledException;
 import com.github.tomakehurst.wiremock.verification.VerificationResult;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentProducer;
+import org.apache.http.entity.EntityTemplate;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
 
 import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
 import static com.github.tomakehurst.wiremock.common.HttpClientUtils.getEntityAsStringAndCloseStream;
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
 import static java.net.HttpURLConnection.HTTP_CREATED;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static org.apache.http.entity.ContentType.APPLICATION_JSON;
 
@@ -68,6 +98,51 @@ public class HttpAdminClient implements Admin {
                 HTTP_CREATED);
 	}
 
+    /**
+     * Sends all of the mappings in a single request, written to the connection as newline-delimited JSON.
+     */
+    @Override
+    public void importStubMappings(final List<StubMapping> stubMappings) {
+        String url = urlFor(ImportStubMappingsTask.class);
+        HttpPost post = new HttpPost(url);
+        post.setEntity(new EntityTemplate(new ContentProducer() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                ObjectWriter writer = new ObjectMapper()
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .writer();
+                for (StubMapping stubMapping: stubMappings) {
+                    writer.writeValue(out, stubMapping);
+                    out.write('\n');
+                }
+            }
+        }));
+
+        try {
+            HttpResponse response = httpClient.execute(post);
+            int statusCode = response.getStatusLine().getStatusCode();
+            getEntityAsStringAndCloseStream(response);
+            if (statusCode != HTTP_CREATED) {
+                throw new VerificationException(
+                        "Expected status " + HTTP_CREATED + " for " + url + " but was " + statusCode);
+            }
+        } catch (IOException e) {
+            throwUnchecked(e);
+        }
+    }
+
+    @Override
+    public void editStubMapping(StubMapping stubMapping) {
+        postStubMappingAndAssertFound(urlFor(EditStubMappingTask.class), stubMapping);
+    }
+
+    @Override
+    public void removeStubMapping(UUID id) {
+        StubMapping identifyingMapping = new StubMapping();
+        identifyingMapping.setId(id);
+        postStubMappingAndAssertFound(urlFor(RemoveStubMappingTask.class), identifyingMapping);
+    }
+
     @Override
     public ListStubMappingsResult listAllStubMappings() {
         String body = getJsonAssertOkAndReturnBody(
@@ -81,6 +156,16 @@ public class HttpAdminClient implements Admin {
         postJsonAssertOkAndReturnBody(urlFor(SaveMappingsTask.class), null, HTTP_OK);
     }
 
+    @Override
+    public void saveMappings(SaveMappingsSpec spec) {
+        if (!spec.hasBundle()) {
+            saveMappings();
+            return;
+        }
+
+        postJsonAssertOkAndReturnBody(urlFor(SaveMappingsBundleTask.class), Json.write(spec), HTTP_OK);
+    }
+
     @Override
 	public void resetMappings() {
 		postJsonAssertOkAndReturnBody(urlFor(ResetTask.class), null, HTTP_OK);
@@ -110,6 +195,24 @@ public class HttpAdminClient implements Admin {
 		return VerificationResult.from(body);
 	}
 
+    @Override
+    public BatchCountResult countRequestsMatchingEach(BatchCountSpec spec) {
+        String body = postJsonAssertOkAndReturnBody(
+                urlFor(GetBatchRequestCountTask.class),
+                Json.write(spec),
+                HTTP_OK);
+        return Json.read(body, BatchCountResult.class);
+    }
+
+    @Override
+    public VerificationResult awaitRequestsMatching(RequestAwaitSpec spec) {
+        String body = postJsonAssertOkAndReturnBody(
+                urlFor(AwaitRequestCountTask.class),
+                Json.write(spec),
+                HTTP_OK);
+        return VerificationResult.from(body);
+    }
+
     @Override
     public FindRequestsResult findRequestsMatching(RequestPattern requestPattern) {
         String body = postJsonAssertOkAndReturnBody(
@@ -119,6 +222,99 @@ public class HttpAdminClient implements Admin {
         return Json.read(body, FindRequestsResult.class);
     }
 
+    @Override
+    public StreamingBody exportRequests(final RequestExportSpec spec) {
+        final String url = urlFor(ExportRequestsTask.class);
+        return new StreamingBody() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                HttpPost post = new HttpPost(url);
+                post.setEntity(new StringEntity(Json.write(spec), APPLICATION_JSON));
+                HttpResponse response = httpClient.execute(post);
+                try {
+                    int statusCode = response.getStatusLine().getStatusCode();
+                    if (statusCode == HTTP_CONFLICT) {
+                        throw new RequestJournalDisabledException();
+                    }
+                    if (statusCode != HTTP_OK) {
+                        throw new VerificationException(
+                                "Expected status " + HTTP_OK + " for " + url + " but was " + statusCode);
+                    }
+
+                    response.getEntity().writeTo(out);
+                } finally {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                }
+            }
+        };
+    }
+
+    @Override
+    public RequestAggregationResult aggregateRequests(RequestAggregationSpec spec) {
+        String body = postJsonAssertOkAndReturnBody(
+                urlFor(AggregateRequestsTask.class),
+                Json.write(spec),
+                HTTP_OK);
+        return Json.read(body, RequestAggregationResult.class);
+    }
+
+    @Override
+    public StubMatchingStats getStubMatchingStats() {
+        String body = getJsonAssertOkAndReturnBody(
+                urlFor(GetStubMatchingStatsTask.class),
+                HTTP_OK);
+        return Json.read(body, StubMatchingStats.class);
+    }
+
+    @Override
+    public ListTransformerStatsResult getTransformerStats() {
+        String body = getJsonAssertOkAndReturnBody(
+                urlFor(GetTransformerStatsTask.class),
+                HTTP_OK);
+        return Json.read(body, ListTransformerStatsResult.class);
+    }
+
+    @Override
+    public MetricsSnapshot getMetrics() {
+        String body = getJsonAssertOkAndReturnBody(
+                urlFor(GetMetricsTask.class),
+                HTTP_OK);
+        return Json.read(body, MetricsSnapshot.class);
+    }
+
+    @Override
+    public ListSlowRequestsResult getSlowRequests() {
+        String body = getJsonAssertOkAndReturnBody(
+                urlFor(GetSlowRequestsTask.class),
+                HTTP_OK);
+        return Json.read(body, ListSlowRequestsResult.class);
+    }
+
+    @Override
+    public ContainerStats getContainerStats() {
+        String body = getJsonAssertOkAndReturnBody(
+                urlFor(GetContainerStatsTask.class),
+                HTTP_OK);
+        return Json.read(body, ContainerStats.class);
+    }
+
+    @Override
+    public MappingsWatchStats getMappingsWatchStats() {
+        String body = getJsonAssertOkAndReturnBody(
+                urlFor(GetMappingsWatchStatsTask.class),
+                HTTP_OK);
+        return Json.read(body, MappingsWatchStats.class);
+    }
+
+    @Override
+    public RecordingSnapshotResult snapshotRecording(RequestPattern filter) {
+        String body = postJsonAssertOkAndReturnBody(
+                urlFor(SnapshotRecordingTask.class),
+                Json.write(filter),
+                HTTP_OK);
+        return Json.read(body, RecordingSnapshotResult.class);
+    }
+
     @Override
 	public void updateGlobalSettings(GlobalSettings settings) {
         postJsonAssertOkAndReturnBody(
@@ -163,6 +359,25 @@ public class HttpAdminClient implements Admin {
         }
     }
 
+    private void postStubMappingAndAssertFound(String url, StubMapping stubMapping) {
+        HttpPost post = new HttpPost(url);
+        try {
+            post.setEntity(new StringEntity(Json.write(stubMapping), APPLICATION_JSON));
+            HttpResponse response = httpClient.execute(post);
+            int statusCode = response.getStatusLine().getStatusCode();
+            getEntityAsStringAndCloseStream(response);
+            if (statusCode == HTTP_NOT_FOUND) {
+                throw new StubMappingNotFoundException(stubMapping.getId());
+            }
+            if (statusCode != HTTP_OK) {
+                throw new VerificationException(
+                        "Expected status " + HTTP_OK + " for " + url + " but was " + statusCode);
+            }
+        } catch (Exception e) {
+            throwUnchecked(e);
+        }
+    }
+
     private String getJsonAssertOkAndReturnBody(String url, int expectedStatus) {
         HttpGet get = new HttpGet(url);
         try {
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.client;
+
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+import java.util.List;
+
+/**
+ * One expectation in a batch passed to {@link WireMock#verifyAll(RequestVerification...)}.
+ */
+public class RequestVerification {
+
+    private final RequestPattern requestPattern;
+    private final Integer expectedCount;
+
+    RequestVerification(RequestPattern requestPattern, Integer expectedCount) {
+        this.requestPattern = requestPattern;
+        this.expectedCount = expectedCount;
+    }
+
+    public RequestPattern getRequestPattern() {
+        return requestPattern;
+    }
+
+    boolean isSatisfiedBy(int count) {
+        return expectedCount == null ? count >= 1 : count == expectedCount;
+    }
+
+    VerificationException failure(List<LoggedRequest> requests) {
+        return expectedCount == null ?
+                new VerificationException(requestPattern, requests) :
+                new VerificationException(requestPattern, expectedCount, requests);
+    }
+}
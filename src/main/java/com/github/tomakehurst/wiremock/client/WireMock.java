@@ -15,19 +15,27 @@
  */
 package com.github.tomakehurst.wiremock.client;
 
+import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.core.SaveMappingsSpec;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.global.RequestDelaySpec;
 import com.github.tomakehurst.wiremock.http.RequestMethod;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.stubbing.ListStubMappingsResult;
+import com.github.tomakehurst.wiremock.stubbing.RecordingSnapshotResult;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.verification.BatchCountResult;
+import com.github.tomakehurst.wiremock.verification.BatchCountSpec;
 import com.github.tomakehurst.wiremock.verification.FindRequestsResult;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.github.tomakehurst.wiremock.verification.RequestAwaitSpec;
 import com.github.tomakehurst.wiremock.verification.VerificationResult;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import static com.github.tomakehurst.wiremock.client.RequestPatternBuilder.allRequests;
 
@@ -102,6 +110,14 @@ public class WireMock {
         defaultInstance.get().saveMappings();
     }
 
+    public void saveMappingsAsBundle(String fileName) {
+        admin.saveMappings(SaveMappingsSpec.asBundle(fileName));
+    }
+
+    public static void saveAllMappingsAsBundle(String fileName) {
+        defaultInstance.get().saveMappingsAsBundle(fileName);
+    }
+
 	public void resetMappings() {
 		admin.resetMappings();
 	}
@@ -143,6 +159,22 @@ public class WireMock {
         admin.addStubMapping(mapping);
     }
 
+    public void editStubMapping(MappingBuilder mappingBuilder) {
+        admin.editStubMapping(mappingBuilder.build());
+    }
+
+    public static void editStub(MappingBuilder mappingBuilder) {
+        defaultInstance.get().editStubMapping(mappingBuilder);
+    }
+
+    public void removeStubMapping(UUID id) {
+        admin.removeStubMapping(id);
+    }
+
+    public static void removeStub(UUID id) {
+        defaultInstance.get().removeStubMapping(id);
+    }
+
     public ListStubMappingsResult allStubMappings() {
         return admin.listAllStubMappings();
     }
@@ -298,6 +330,74 @@ public class WireMock {
 		defaultInstance.get().verifyThat(count, requestPatternBuilder);
 	}
 
+	/**
+	 * Waits on the server until at least {@code count} matching requests have been received, failing if that
+	 * has not happened within the timeout.
+	 */
+	public void verifyThatEventually(int count, RequestPatternBuilder requestPatternBuilder, int timeoutMillis) {
+		RequestPattern requestPattern = requestPatternBuilder.build();
+		VerificationResult result = admin.awaitRequestsMatching(new RequestAwaitSpec(requestPattern, count, timeoutMillis));
+		result.assertRequestJournalEnabled();
+
+		if (result.getCount() < count) {
+			throw new VerificationException(String.format(
+					"Expected at least %d requests matching: %s within %dms but received %d\nRequests received: %s",
+					count, requestPattern, timeoutMillis, result.getCount(), Json.write(find(allRequests()))));
+		}
+	}
+
+	public static void verifyEventually(RequestPatternBuilder requestPatternBuilder, int timeoutMillis) {
+		defaultInstance.get().verifyThatEventually(1, requestPatternBuilder, timeoutMillis);
+	}
+
+	public static void verifyEventually(int count, RequestPatternBuilder requestPatternBuilder, int timeoutMillis) {
+		defaultInstance.get().verifyThatEventually(count, requestPatternBuilder, timeoutMillis);
+	}
+
+	public static RequestVerification requested(RequestPatternBuilder requestPatternBuilder) {
+		return new RequestVerification(requestPatternBuilder.build(), null);
+	}
+
+	public static RequestVerification requested(int count, RequestPatternBuilder requestPatternBuilder) {
+		return new RequestVerification(requestPatternBuilder.build(), count);
+	}
+
+	public void verifyThatAll(RequestVerification... verifications) {
+		List<RequestPattern> requestPatterns = new ArrayList<RequestPattern>();
+		for (RequestVerification verification: verifications) {
+			requestPatterns.add(verification.getRequestPattern());
+		}
+		List<Integer> counts = countEach(requestPatterns);
+
+		for (int i = 0; i < verifications.length; i++) {
+			if (!verifications[i].isSatisfiedBy(counts.get(i))) {
+				throw verifications[i].failure(find(allRequests()));
+			}
+		}
+	}
+
+	public static void verifyAll(RequestVerification... verifications) {
+		defaultInstance.get().verifyThatAll(verifications);
+	}
+
+	public List<Integer> countEach(RequestPatternBuilder... requestPatternBuilders) {
+		List<RequestPattern> requestPatterns = new ArrayList<RequestPattern>();
+		for (RequestPatternBuilder builder: requestPatternBuilders) {
+			requestPatterns.add(builder.build());
+		}
+		return countEach(requestPatterns);
+	}
+
+	public static List<Integer> countAll(RequestPatternBuilder... requestPatternBuilders) {
+		return defaultInstance.get().countEach(requestPatternBuilders);
+	}
+
+	private List<Integer> countEach(List<RequestPattern> requestPatterns) {
+		BatchCountResult result = admin.countRequestsMatchingEach(new BatchCountSpec(requestPatterns));
+		result.assertRequestJournalEnabled();
+		return result.getCounts();
+	}
+
     public List<LoggedRequest> find(RequestPatternBuilder requestPatternBuilder) {
         FindRequestsResult result = admin.findRequestsMatching(requestPatternBuilder.build());
         result.assertRequestJournalEnabled();
@@ -308,6 +408,22 @@ public class WireMock {
         return defaultInstance.get().find(requestPatternBuilder);
     }
 
+    public RecordingSnapshotResult snapshotRecording() {
+        return admin.snapshotRecording(RequestPattern.everything());
+    }
+
+    public RecordingSnapshotResult snapshotRecording(RequestPatternBuilder requestPatternBuilder) {
+        return admin.snapshotRecording(requestPatternBuilder.build());
+    }
+
+    public static RecordingSnapshotResult recordSnapshot() {
+        return defaultInstance.get().snapshotRecording();
+    }
+
+    public static RecordingSnapshotResult recordSnapshot(RequestPatternBuilder requestPatternBuilder) {
+        return defaultInstance.get().snapshotRecording(requestPatternBuilder);
+    }
+
 	public static RequestPatternBuilder getRequestedFor(UrlMatchingStrategy urlMatchingStrategy) {
 		return new RequestPatternBuilder(RequestMethod.GET, urlMatchingStrategy);
 	}
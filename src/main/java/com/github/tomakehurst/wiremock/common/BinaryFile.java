@@ -17,6 +17,7 @@ package com.github.tomakehurst.wiremock.common;
 
 import com.google.common.io.ByteStreams;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -29,6 +30,14 @@ public class BinaryFile {
 		this.uri = uri;
 	}
 
+	public InputStream getStream() {
+		try {
+			return uri.toURL().openStream();
+		} catch (final IOException ioe) {
+			throw new RuntimeException(ioe);
+		}
+	}
+
 	public byte[] readContents() {
 		InputStream stream = null;
 		try {
@@ -41,6 +50,24 @@ public class BinaryFile {
 		}
 	}
 
+	/**
+	 * @return When the file was last modified, or 0 if that can't be told, e.g. for a file inside a jar.
+	 */
+	public long lastModified() {
+		return isLocalFile() ? new File(uri).lastModified() : 0;
+	}
+
+	/**
+	 * @return The file's length in bytes, or 0 if that can't be told without reading it.
+	 */
+	public long length() {
+		return isLocalFile() ? new File(uri).length() : 0;
+	}
+
+	private boolean isLocalFile() {
+		return "file".equals(uri.getScheme());
+	}
+
 	/**
 	 * @param stream Stream to close, may be null
 	 */
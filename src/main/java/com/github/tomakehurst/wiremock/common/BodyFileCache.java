@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+import static com.github.tomakehurst.wiremock.common.ContentHashFilenameGenerator.isContentHashFilename;
+
+/**
+ * Holds the contents of body files named by {@link ContentHashFilenameGenerator} in memory, bounded by total size, so
+ * the many stubs a recording points at the same body share a single copy. Such a file can still be edited by hand,
+ * so each entry remembers the file's last modified time and length, and is read again once either has changed. Any
+ * other file is read from disk on every call.
+ */
+public class BodyFileCache {
+
+    public static final long DEFAULT_MAXIMUM_BYTES = 32 * 1024 * 1024;
+
+    private final FileSource fileSource;
+    private final Cache<String, Entry> cache;
+
+    public BodyFileCache(FileSource fileSource) {
+        this(fileSource, DEFAULT_MAXIMUM_BYTES);
+    }
+
+    public BodyFileCache(FileSource fileSource, long maximumBytes) {
+        this.fileSource = fileSource;
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher(new Weigher<String, Entry>() {
+                    public int weigh(String fileName, Entry entry) {
+                        return entry.contents.length;
+                    }
+                })
+                .build();
+    }
+
+    public byte[] read(String fileName) {
+        BinaryFile file = fileSource.getBinaryFileNamed(fileName);
+        if (!isContentHashFilename(fileName)) {
+            return file.readContents();
+        }
+
+        long lastModified = file.lastModified();
+        long length = file.length();
+        Entry entry = cache.getIfPresent(fileName);
+        if (entry == null || entry.lastModified != lastModified || entry.length != length) {
+            entry = new Entry(lastModified, length, file.readContents());
+            cache.put(fileName, entry);
+        }
+
+        return entry.contents;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static class Entry {
+
+        final long lastModified;
+        final long length;
+        final byte[] contents;
+
+        Entry(long lastModified, long length, byte[] contents) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.contents = contents;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import java.util.regex.Pattern;
+
+import static com.google.common.hash.Hashing.sha1;
+
+/**
+ * Names files after a hash of their contents, so identical contents always share one file. Nothing stops the file
+ * being edited afterwards, so its name doesn't guarantee its contents still match the hash.
+ */
+public class ContentHashFilenameGenerator {
+
+    private static final Pattern CONTENT_HASH_FILENAME = Pattern.compile("(.*/)?[^/]+-[0-9a-f]{40}\\.json");
+
+    public static String generate(String prefix, byte[] contents) {
+        return new StringBuilder(prefix)
+                .append("-")
+                .append(sha1().hashBytes(contents).toString())
+                .append(".json")
+                .toString();
+    }
+
+    public static boolean isContentHashFilename(String fileName) {
+        return CONTENT_HASH_FILENAME.matcher(fileName).matches();
+    }
+}
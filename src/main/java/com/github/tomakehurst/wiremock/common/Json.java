@@ -16,13 +16,30 @@
 package com.github.tomakehurst.wiremock.common;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.base.Optional;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 public final class Json {
 	
+	private static final ObjectReader STREAM_READER = new ObjectMapper()
+			.configure(JsonParser.Feature.ALLOW_COMMENTS, true)
+			.configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true)
+			.reader();
+
+	private static final ObjectWriter SORTED_KEYS_WRITER = new ObjectMapper()
+			.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+			.writer();
+
 	private Json() {}
 
     public static <T> T read(String json, Class<T> clazz) {
@@ -36,6 +53,22 @@ public final class Json {
 		}
 	}
 	
+	/**
+	 * Reads a stream of values, either a JSON array or whitespace/newline-delimited documents, one element at a time.
+	 */
+	public static <T> List<T> readAll(InputStream in, Class<T> clazz) {
+		try {
+			MappingIterator<T> values = STREAM_READER.forType(clazz).readValues(in);
+			List<T> result = new ArrayList<T>();
+			while (values.hasNextValue()) {
+				result.add(values.nextValue());
+			}
+			return result;
+		} catch (IOException ioe) {
+			throw new RuntimeException("Unable to bind JSON stream to objects. Reason: " + ioe.getMessage(), ioe);
+		}
+	}
+
 	public static <T> String write(T object) {
 		try {
 			ObjectMapper mapper = new ObjectMapper();
@@ -45,6 +78,18 @@ public final class Json {
 		}
 	}
 
+	/**
+	 * Returns the JSON compacted and with the keys of every object sorted, so that documents differing only in
+	 * whitespace or key order come out the same, or absent if it isn't valid JSON.
+	 */
+	public static Optional<String> normalise(String json) {
+		try {
+			return Optional.of(SORTED_KEYS_WRITER.writeValueAsString(new ObjectMapper().readValue(json, Object.class)));
+		} catch (IOException ioe) {
+			return Optional.absent();
+		}
+	}
+
 	public static byte[] toByteArray(Object object) {
 		try {
 			ObjectMapper mapper = new ObjectMapper();
@@ -15,25 +15,57 @@
  */
 package com.github.tomakehurst.wiremock.core;
 
+import com.github.tomakehurst.wiremock.extension.ListTransformerStatsResult;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.global.RequestDelaySpec;
+import com.github.tomakehurst.wiremock.http.ContainerStats;
+import com.github.tomakehurst.wiremock.http.StreamingBody;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.metrics.ListSlowRequestsResult;
+import com.github.tomakehurst.wiremock.metrics.MetricsSnapshot;
+import com.github.tomakehurst.wiremock.standalone.MappingsWatchStats;
 import com.github.tomakehurst.wiremock.stubbing.ListStubMappingsResult;
+import com.github.tomakehurst.wiremock.stubbing.RecordingSnapshotResult;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.StubMatchingStats;
+import com.github.tomakehurst.wiremock.verification.BatchCountResult;
+import com.github.tomakehurst.wiremock.verification.BatchCountSpec;
 import com.github.tomakehurst.wiremock.verification.FindRequestsResult;
+import com.github.tomakehurst.wiremock.verification.RequestAwaitSpec;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationResult;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationSpec;
+import com.github.tomakehurst.wiremock.verification.RequestExportSpec;
 import com.github.tomakehurst.wiremock.verification.VerificationResult;
 
+import java.util.List;
+import java.util.UUID;
+
 public interface Admin {
 
 	void addStubMapping(StubMapping stubMapping);
+    void importStubMappings(List<StubMapping> stubMappings);
+    void editStubMapping(StubMapping stubMapping);
+    void removeStubMapping(UUID id);
     ListStubMappingsResult listAllStubMappings();
     void saveMappings();
+    void saveMappings(SaveMappingsSpec spec);
 	void resetMappings();
 	void resetRequests();
 	void resetScenarios();
     void resetToDefaultMappings();
 	VerificationResult countRequestsMatching(RequestPattern requestPattern);
+    BatchCountResult countRequestsMatchingEach(BatchCountSpec spec);
+    VerificationResult awaitRequestsMatching(RequestAwaitSpec spec);
     FindRequestsResult findRequestsMatching(RequestPattern requestPattern);
+    StreamingBody exportRequests(RequestExportSpec spec);
+    RequestAggregationResult aggregateRequests(RequestAggregationSpec spec);
+    StubMatchingStats getStubMatchingStats();
+    ListTransformerStatsResult getTransformerStats();
+    MetricsSnapshot getMetrics();
+    ContainerStats getContainerStats();
+    MappingsWatchStats getMappingsWatchStats();
+    RecordingSnapshotResult snapshotRecording(RequestPattern filter);
+    ListSlowRequestsResult getSlowRequests();
 	void updateGlobalSettings(GlobalSettings settings);
     void addSocketAcceptDelay(RequestDelaySpec spec);
     void shutdownServer();
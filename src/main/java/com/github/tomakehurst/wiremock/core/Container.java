@@ -15,6 +15,11 @@
  */
 package com.github.tomakehurst.wiremock.core;
 
+import com.github.tomakehurst.wiremock.http.ContainerStats;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.standalone.MappingsWatchStats;
+import com.github.tomakehurst.wiremock.stubbing.RecordingSnapshotResult;
+
 /**
  * A container of a WireMockApp instance
  */
@@ -22,6 +27,12 @@ public interface Container {
 
     int port();
 
+    ContainerStats getContainerStats();
+
+    MappingsWatchStats getMappingsWatchStats();
+
+    RecordingSnapshotResult snapshotRecording(RequestPattern filter);
+
     /**
      * Shuts down the container, stopping execution of WireMock, gracefully if possible.
      */
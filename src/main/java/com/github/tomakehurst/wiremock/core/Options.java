@@ -29,6 +29,8 @@ public interface Options {
     public static final int DYNAMIC_PORT = 0;
     public static final int DEFAULT_CONTAINER_THREADS = 200;
     public static final String DEFAULT_BIND_ADDRESS = "0.0.0.0";
+    public static final int DEFAULT_MATCH_CACHE_SIZE = 0;
+    public static final int DEFAULT_MAPPINGS_WATCH_DEBOUNCE_MILLIS = 500;
 
     int portNumber();
     HttpsSettings httpsSettings();
@@ -45,4 +47,9 @@ public interface Options {
     public boolean shouldPreserveHostHeader();
     String proxyHostHeader();
     <T extends Extension> Map<String, T> extensionsOfType(Class<T> extensionType);
+    int matchCacheSize();
+    boolean phaseTimingEnabled();
+    Optional<Integer> slowRequestThresholdMillis();
+    Optional<Integer> mappingsWatchDebounceMillis();
+    boolean containerStatsEnabled();
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.core;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize.Inclusion;
+
+/**
+ * How unsaved stub mappings are written: one file per mapping by default, or all of them in a single bundle file.
+ * A bundle named <code>*.ndjson</code> holds one mapping per line and one named <code>*.json</code> holds a JSON array.
+ */
+@JsonSerialize(include = Inclusion.NON_NULL)
+public class SaveMappingsSpec {
+
+    private String bundle;
+
+    public static SaveMappingsSpec oneFilePerMapping() {
+        return new SaveMappingsSpec();
+    }
+
+    public static SaveMappingsSpec asBundle(String fileName) {
+        SaveMappingsSpec spec = new SaveMappingsSpec();
+        spec.setBundle(fileName);
+        return spec;
+    }
+
+    public String getBundle() {
+        return bundle;
+    }
+
+    public void setBundle(String bundle) {
+        this.bundle = bundle;
+    }
+
+    public boolean hasBundle() {
+        return bundle != null;
+    }
+}
@@ -16,25 +16,41 @@
 package com.github.tomakehurst.wiremock.core;
 
 import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.ListTransformerStatsResult;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformerChain;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformerRegistry;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.global.GlobalSettingsHolder;
 import com.github.tomakehurst.wiremock.global.RequestDelayControl;
 import com.github.tomakehurst.wiremock.global.RequestDelaySpec;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.http.StreamingBody;
+import com.github.tomakehurst.wiremock.http.ContainerStats;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.metrics.ListSlowRequestsResult;
+import com.github.tomakehurst.wiremock.metrics.MetricsSnapshot;
+import com.github.tomakehurst.wiremock.metrics.PhaseTimings;
+import com.github.tomakehurst.wiremock.metrics.RequestMetrics;
+import com.github.tomakehurst.wiremock.metrics.SlowRequestLog;
 import com.github.tomakehurst.wiremock.standalone.MappingsLoader;
+import com.github.tomakehurst.wiremock.standalone.MappingsWatchStats;
 import com.github.tomakehurst.wiremock.stubbing.InMemoryStubMappings;
 import com.github.tomakehurst.wiremock.stubbing.ListStubMappingsResult;
+import com.github.tomakehurst.wiremock.stubbing.RecordingSnapshotResult;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.StubMappingNotFoundException;
+import com.github.tomakehurst.wiremock.stubbing.StubMatchingStats;
 import com.github.tomakehurst.wiremock.stubbing.StubMappings;
 import com.github.tomakehurst.wiremock.verification.*;
-import com.google.common.collect.ImmutableList;
 import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class WireMockApp implements StubServer, Admin {
     
@@ -49,8 +65,10 @@ public class WireMockApp implements StubServer, Admin {
     private final MappingsLoader defaultMappingsLoader;
     private final Container container;
     private final MappingsSaver mappingsSaver;
-    private final Map<String, ResponseTransformer> transformers;
-    private final FileSource rootFileSource;
+    private final ResponseTransformerRegistry transformerRegistry;
+    private final RequestMetrics requestMetrics = new RequestMetrics();
+    private final SlowRequestLog slowRequestLog;
+    private final List<ResetListener> resetListeners = new CopyOnWriteArrayList<ResetListener>();
 
     public WireMockApp(
             RequestDelayControl requestDelayControl,
@@ -61,24 +79,62 @@ public class WireMockApp implements StubServer, Admin {
             Optional<Integer> maxRequestJournalEntries,
             Map<String, ResponseTransformer> transformers,
             FileSource rootFileSource,
-            Container container) {
+            Container container,
+            int matchCacheSize,
+            Optional<Integer> slowRequestThresholdMillis) {
         this.requestDelayControl = requestDelayControl;
         this.browserProxyingEnabled = browserProxyingEnabled;
         this.defaultMappingsLoader = defaultMappingsLoader;
         this.mappingsSaver = mappingsSaver;
         globalSettingsHolder = new GlobalSettingsHolder();
-        stubMappings = new InMemoryStubMappings();
+        transformerRegistry = new ResponseTransformerRegistry(transformers, rootFileSource.child(FILES_ROOT));
+        stubMappings = new InMemoryStubMappings(matchCacheSize, transformerRegistry);
         requestJournal = requestJournalDisabled ? new DisabledRequestJournal() : new InMemoryRequestJournal(maxRequestJournalEntries);
-        this.transformers = transformers;
-        this.rootFileSource = rootFileSource;
         this.container = container;
+        slowRequestLog = SlowRequestLog.withThreshold(slowRequestThresholdMillis);
         loadDefaultMappings();
     }
 
+    public WireMockApp(
+            RequestDelayControl requestDelayControl,
+            boolean browserProxyingEnabled,
+            MappingsLoader defaultMappingsLoader,
+            MappingsSaver mappingsSaver,
+            boolean requestJournalDisabled,
+            Optional<Integer> maxRequestJournalEntries,
+            Map<String, ResponseTransformer> transformers,
+            FileSource rootFileSource,
+            Container container,
+            int matchCacheSize) {
+        this(requestDelayControl,
+                browserProxyingEnabled,
+                defaultMappingsLoader,
+                mappingsSaver,
+                requestJournalDisabled,
+                maxRequestJournalEntries,
+                transformers,
+                rootFileSource,
+                container,
+                matchCacheSize,
+                Optional.<Integer>absent());
+    }
+
     public GlobalSettingsHolder getGlobalSettingsHolder() {
         return globalSettingsHolder;
     }
 
+    public RequestMetrics getRequestMetrics() {
+        return requestMetrics;
+    }
+
+    public SlowRequestLog getSlowRequestLog() {
+        return slowRequestLog;
+    }
+
+    public void addResetListener(ResetListener listener) {
+        resetListeners.add(listener);
+    }
+
     private void loadDefaultMappings() {
         loadMappingsUsing(defaultMappingsLoader);
     }
@@ -89,12 +145,26 @@ public class WireMockApp implements StubServer, Admin {
     
     @Override
     public ResponseDefinition serveStubFor(Request request) {
+        PhaseTimings timings = PhaseTimings.current();
+        long matchStart = System.nanoTime();
         ResponseDefinition baseResponseDefinition = stubMappings.serveFor(request);
-        requestJournal.requestReceived(request);
+        long matchNanos = System.nanoTime() - matchStart;
+        requestMetrics.recordMatch(matchNanos);
+        timings.record(PhaseTimings.MATCH, matchNanos);
+        requestMetrics.requestServed(baseResponseDefinition.wasConfigured());
+        requestJournal.requestReceived(request, baseResponseDefinition);
 
-        ResponseDefinition responseDefinition = applyTransformations(request,
-                                                                     baseResponseDefinition,
-                                                                     ImmutableList.copyOf(transformers.values()));
+        ResponseTransformerChain transformerChain = baseResponseDefinition.getTransformerChain() != null ?
+                baseResponseDefinition.getTransformerChain() :
+                transformerRegistry.globalChain();
+        ResponseDefinition responseDefinition = baseResponseDefinition;
+        if (!transformerChain.isEmpty()) {
+            long transformStart = System.nanoTime();
+            responseDefinition = transformerChain.apply(request, baseResponseDefinition);
+            long transformNanos = System.nanoTime() - transformStart;
+            requestMetrics.recordTransform(transformNanos);
+            timings.record(PhaseTimings.TRANSFORM, transformNanos);
+        }
 
         if (!responseDefinition.wasConfigured() && request.isBrowserProxyRequest() && browserProxyingEnabled) {
             return ResponseDefinition.browserProxy(request);
@@ -103,25 +173,28 @@ public class WireMockApp implements StubServer, Admin {
         return responseDefinition;
     }
 
-    private ResponseDefinition applyTransformations(Request request,
-                                                    ResponseDefinition responseDefinition,
-                                                    List<ResponseTransformer> transformers) {
-        if (transformers.isEmpty()) {
-            return responseDefinition;
-        }
+    @Override
+    public void addStubMapping(StubMapping stubMapping) {
+        stubMappings.addMapping(stubMapping);
+    }
 
-        ResponseTransformer transformer = transformers.get(0);
-        ResponseDefinition newResponseDef =
-                transformer.applyGlobally() || responseDefinition.hasTransformer(transformer) ?
-                transformer.transform(request, responseDefinition, rootFileSource.child(FILES_ROOT)) :
-                responseDefinition;
+    @Override
+    public void importStubMappings(List<StubMapping> newStubMappings) {
+        stubMappings.addMappings(newStubMappings);
+    }
 
-        return applyTransformations(request, newResponseDef, transformers.subList(1, transformers.size()));
+    @Override
+    public void editStubMapping(StubMapping stubMapping) {
+        if (!stubMappings.editMapping(stubMapping)) {
+            throw new StubMappingNotFoundException(stubMapping.getId());
+        }
     }
 
     @Override
-    public void addStubMapping(StubMapping stubMapping) {
-        stubMappings.addMapping(stubMapping);
+    public void removeStubMapping(UUID id) {
+        if (!stubMappings.removeMapping(id)) {
+            throw new StubMappingNotFoundException(id);
+        }
     }
 
     @Override
@@ -131,25 +204,43 @@ public class WireMockApp implements StubServer, Admin {
 
     @Override
     public void saveMappings() {
-        mappingsSaver.saveMappings(stubMappings);
+        saveMappings(SaveMappingsSpec.oneFilePerMapping());
+    }
+
+    @Override
+    public void saveMappings(SaveMappingsSpec spec) {
+        mappingsSaver.saveMappings(stubMappings, spec);
     }
 
     @Override
     public void resetMappings() {
         stubMappings.reset();
-        requestJournal.reset();
+        resetRequestJournal();
         requestDelayControl.clearDelay();
     }
 
     @Override
     public void resetRequests() {
-        requestJournal.reset();
+        resetRequestJournal();
     }
 
     @Override
     public void resetToDefaultMappings() {
-        resetMappings();
-        loadDefaultMappings();
+        InMemoryStubMappings defaultMappings = new InMemoryStubMappings();
+        defaultMappingsLoader.loadMappingsInto(defaultMappings);
+
+        // getAll() lists newest first within a priority, so reverse to keep the loaded order on re-insertion.
+        stubMappings.replaceAll(Lists.reverse(defaultMappings.getAll()));
+        resetRequestJournal();
+        requestDelayControl.clearDelay();
+    }
+
+    private void resetRequestJournal() {
+        requestJournal.reset();
+        slowRequestLog.reset();
+        for (ResetListener listener: resetListeners) {
+            listener.reset();
+        }
     }
 
     @Override
@@ -166,6 +257,25 @@ public class WireMockApp implements StubServer, Admin {
         }
     }
     
+    @Override
+    public BatchCountResult countRequestsMatchingEach(BatchCountSpec spec) {
+        try {
+            return BatchCountResult.withCounts(requestJournal.countRequestsMatchingEach(spec.getRequestPatterns()));
+        } catch (RequestJournalDisabledException e) {
+            return BatchCountResult.withRequestJournalDisabled();
+        }
+    }
+
+    @Override
+    public VerificationResult awaitRequestsMatching(RequestAwaitSpec spec) {
+        try {
+            return VerificationResult.withCount(requestJournal.awaitRequestsMatching(
+                    spec.getRequestPattern(), spec.expectedCount(), spec.effectiveTimeoutMillis()));
+        } catch (RequestJournalDisabledException e) {
+            return VerificationResult.withRequestJournalDisabled();
+        }
+    }
+
     @Override
     public FindRequestsResult findRequestsMatching(RequestPattern requestPattern) {
         try {
@@ -176,6 +286,55 @@ public class WireMockApp implements StubServer, Admin {
         }
     }
 
+    @Override
+    public StreamingBody exportRequests(RequestExportSpec spec) {
+        return new RequestJournalExporter(requestJournal.getAllRequests(), spec);
+    }
+
+    @Override
+    public RequestAggregationResult aggregateRequests(RequestAggregationSpec spec) {
+        try {
+            return new RequestAggregator(spec).aggregate(requestJournal.getAllRequests());
+        } catch (RequestJournalDisabledException e) {
+            return RequestAggregationResult.withRequestJournalDisabled();
+        }
+    }
+
+    @Override
+    public StubMatchingStats getStubMatchingStats() {
+        return stubMappings.getMatchingStats();
+    }
+
+    @Override
+    public ListTransformerStatsResult getTransformerStats() {
+        return transformerRegistry.getStats();
+    }
+
+    @Override
+    public MetricsSnapshot getMetrics() {
+        return requestMetrics.snapshot(stubMappings.getAll());
+    }
+
+    @Override
+    public ListSlowRequestsResult getSlowRequests() {
+        return slowRequestLog.getSlowRequests();
+    }
+
+    @Override
+    public ContainerStats getContainerStats() {
+        return container.getContainerStats();
+    }
+
+    @Override
+    public MappingsWatchStats getMappingsWatchStats() {
+        return container.getMappingsWatchStats();
+    }
+
+    @Override
+    public RecordingSnapshotResult snapshotRecording(RequestPattern filter) {
+        return container.snapshotRecording(filter);
+    }
+
     @Override
     public void updateGlobalSettings(GlobalSettings newSettings) {
         globalSettingsHolder.replaceWith(newSettings);
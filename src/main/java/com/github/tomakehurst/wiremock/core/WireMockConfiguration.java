@@ -62,6 +62,16 @@ public class WireMockConfiguration implements Options {
 
     private Map<String, Extension> extensions = newLinkedHashMap();
 
+    private int matchCacheSize = DEFAULT_MATCH_CACHE_SIZE;
+
+    private boolean phaseTimingEnabled = false;
+
+    private boolean containerStatsEnabled = false;
+
+    private Optional<Integer> slowRequestThresholdMillis = Optional.absent();
+
+    private Optional<Integer> mappingsWatchDebounceMillis = Optional.absent();
+
     public static WireMockConfiguration wireMockConfig() {
         return new WireMockConfiguration();
     }
@@ -215,6 +225,35 @@ public class WireMockConfiguration implements Options {
         return this;
     }
 
+    public WireMockConfiguration matchCacheSize(int matchCacheSize) {
+        this.matchCacheSize = matchCacheSize;
+        return this;
+    }
+
+    public WireMockConfiguration enablePhaseTiming(boolean enabled) {
+        this.phaseTimingEnabled = enabled;
+        return this;
+    }
+
+    public WireMockConfiguration enableContainerStats(boolean enabled) {
+        this.containerStatsEnabled = enabled;
+        return this;
+    }
+
+    public WireMockConfiguration slowRequestThreshold(int milliseconds) {
+        this.slowRequestThresholdMillis = Optional.of(milliseconds);
+        return this;
+    }
+
+    public WireMockConfiguration watchMappings() {
+        return watchMappings(DEFAULT_MAPPINGS_WATCH_DEBOUNCE_MILLIS);
+    }
+
+    public WireMockConfiguration watchMappings(int debounceMillis) {
+        this.mappingsWatchDebounceMillis = Optional.of(debounceMillis);
+        return this;
+    }
+
     @Override
     public int portNumber() {
         return portNumber;
@@ -305,4 +344,29 @@ public class WireMockConfiguration implements Options {
             }
         });
     }
+
+    @Override
+    public int matchCacheSize() {
+        return matchCacheSize;
+    }
+
+    @Override
+    public boolean phaseTimingEnabled() {
+        return phaseTimingEnabled;
+    }
+
+    @Override
+    public Optional<Integer> slowRequestThresholdMillis() {
+        return slowRequestThresholdMillis;
+    }
+
+    @Override
+    public Optional<Integer> mappingsWatchDebounceMillis() {
+        return mappingsWatchDebounceMillis;
+    }
+
+    @Override
+    public boolean containerStatsEnabled() {
+        return containerStatsEnabled;
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.extension;
+
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+/**
+ * The transformers that apply to a stub, resolved once when the stub is added and then run in order on each request.
+ */
+public class ResponseTransformerChain {
+
+    private final ResponseTransformer[] transformers;
+    private final TransformerMetrics[] metrics;
+    private final FileSource files;
+
+    public ResponseTransformerChain(ResponseTransformer[] transformers, TransformerMetrics[] metrics, FileSource files) {
+        this.transformers = transformers;
+        this.metrics = metrics;
+        this.files = files;
+    }
+
+    public ResponseDefinition apply(Request request, ResponseDefinition responseDefinition) {
+        ResponseDefinition transformed = responseDefinition;
+        for (int i = 0; i < transformers.length; i++) {
+            long start = System.nanoTime();
+            transformed = transformers[i].transform(request, transformed, files);
+            metrics[i].recordInvocation(System.nanoTime() - start);
+        }
+
+        return transformed;
+    }
+
+    public boolean isEmpty() {
+        return transformers.length == 0;
+    }
+
+    public int size() {
+        return transformers.length;
+    }
+}
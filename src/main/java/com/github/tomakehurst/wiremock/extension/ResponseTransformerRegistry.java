@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.extension;
+
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+/**
+ * Holds the loaded transformers and their metrics, and resolves which of them apply to a given response.
+ */
+public class ResponseTransformerRegistry {
+
+    private final List<ResponseTransformer> transformers;
+    private final List<TransformerMetrics> metrics;
+    private final FileSource files;
+    private final ResponseTransformerChain globalChain;
+
+    public ResponseTransformerRegistry(Map<String, ResponseTransformer> transformers, FileSource files) {
+        this.transformers = ImmutableList.copyOf(transformers.values());
+        ImmutableList.Builder<TransformerMetrics> metricsBuilder = ImmutableList.builder();
+        for (ResponseTransformer transformer: this.transformers) {
+            metricsBuilder.add(new TransformerMetrics(transformer.name()));
+        }
+        this.metrics = metricsBuilder.build();
+        this.files = files;
+        this.globalChain = chainFor(null);
+    }
+
+    public static ResponseTransformerRegistry none() {
+        return new ResponseTransformerRegistry(ImmutableMap.<String, ResponseTransformer>of(), null);
+    }
+
+    public ResponseTransformerChain chainFor(ResponseDefinition responseDefinition) {
+        List<ResponseTransformer> applicableTransformers = newArrayList();
+        List<TransformerMetrics> applicableMetrics = newArrayList();
+        for (int i = 0; i < transformers.size(); i++) {
+            ResponseTransformer transformer = transformers.get(i);
+            if (transformer.applyGlobally() ||
+                    (responseDefinition != null && responseDefinition.hasTransformer(transformer))) {
+                applicableTransformers.add(transformer);
+                applicableMetrics.add(metrics.get(i));
+            }
+        }
+
+        return new ResponseTransformerChain(
+                applicableTransformers.toArray(new ResponseTransformer[applicableTransformers.size()]),
+                applicableMetrics.toArray(new TransformerMetrics[applicableMetrics.size()]),
+                files);
+    }
+
+    public ResponseTransformerChain globalChain() {
+        return globalChain;
+    }
+
+    public ListTransformerStatsResult getStats() {
+        List<TransformerStats> stats = newArrayList();
+        for (TransformerMetrics transformerMetrics: metrics) {
+            stats.add(transformerMetrics.toStats());
+        }
+
+        return new ListTransformerStatsResult(stats);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.extension;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TransformerMetrics {
+
+    private final String name;
+    private final AtomicLong invocations = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    public TransformerMetrics(String name) {
+        this.name = name;
+    }
+
+    public void recordInvocation(long nanos) {
+        invocations.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+    }
+
+    public TransformerStats toStats() {
+        return new TransformerStats(name, invocations.get(), totalNanos.get());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.extension;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class TransformerStats {
+
+    private final String name;
+    private final long invocations;
+    private final long totalNanos;
+
+    @JsonCreator
+    public TransformerStats(@JsonProperty("name") String name,
+                            @JsonProperty("invocations") long invocations,
+                            @JsonProperty("totalNanos") long totalNanos) {
+        this.name = name;
+        this.invocations = invocations;
+        this.totalNanos = totalNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getInvocations() {
+        return invocations;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @JsonIgnore
+    public long getTotalMillis() {
+        return NANOSECONDS.toMillis(totalNanos);
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.github.tomakehurst.wiremock.http;
 
+import com.github.tomakehurst.wiremock.metrics.RequestMetrics;
+
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -23,9 +25,19 @@ public abstract class AbstractRequestHandler implements RequestHandler, RequestE
 
 	protected List<RequestListener> listeners = newArrayList();
 	protected final ResponseRenderer responseRenderer;
-	
-	public AbstractRequestHandler(ResponseRenderer responseRenderer) {
+	protected final RequestMetrics requestMetrics;
+
+	public AbstractRequestHandler(ResponseRenderer responseRenderer, RequestMetrics requestMetrics) {
 		this.responseRenderer = responseRenderer;
+		this.requestMetrics = requestMetrics;
+	}
+
+	public AbstractRequestHandler(ResponseRenderer responseRenderer) {
+		this(responseRenderer, new RequestMetrics());
+	}
+
+	public RequestMetrics getRequestMetrics() {
+		return requestMetrics;
 	}
 
 	@Override
@@ -36,8 +48,13 @@ public abstract class AbstractRequestHandler implements RequestHandler, RequestE
 	@Override
 	public Response handle(Request request) {
 		ResponseDefinition responseDefinition = handleRequest(request);
-		responseDefinition.setOriginalRequest(request);
+		if (responseDefinition.getPrerenderedResponse() == null) {
+			// Pre-rendered definitions are shared between requests and never need the request to render
+			responseDefinition.setOriginalRequest(request);
+		}
+		long renderStart = System.nanoTime();
 		Response response = responseRenderer.render(responseDefinition);
+		requestMetrics.recordRender(System.nanoTime() - renderStart);
 		for (RequestListener listener: listeners) {
 			listener.requestReceived(request, response);
 		}
@@ -38,6 +38,7 @@ public class BasicResponseRenderer implements ResponseRenderer {
                 .status(responseDefinition.getStatus())
                 .headers(httpHeaders)
                 .body(responseDefinition.getBody())
+                .streamingBody(responseDefinition.getStreamingBody())
                 .build();
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class ConnectorStats {
+
+    private final String name;
+    private final int port;
+    private final int acceptors;
+    private final int connections;
+    private final int connectionsOpen;
+    private final int connectionsOpenMax;
+    private final long connectionDurationAverageMillis;
+    private final long connectionDurationMaxMillis;
+    private final int requests;
+    private final int requestsPerConnectionAverage;
+    private final int requestsPerConnectionMax;
+
+    @JsonCreator
+    public ConnectorStats(@JsonProperty("name") String name,
+                          @JsonProperty("port") int port,
+                          @JsonProperty("acceptors") int acceptors,
+                          @JsonProperty("connections") int connections,
+                          @JsonProperty("connectionsOpen") int connectionsOpen,
+                          @JsonProperty("connectionsOpenMax") int connectionsOpenMax,
+                          @JsonProperty("connectionDurationAverageMillis") long connectionDurationAverageMillis,
+                          @JsonProperty("connectionDurationMaxMillis") long connectionDurationMaxMillis,
+                          @JsonProperty("requests") int requests,
+                          @JsonProperty("requestsPerConnectionAverage") int requestsPerConnectionAverage,
+                          @JsonProperty("requestsPerConnectionMax") int requestsPerConnectionMax) {
+        this.name = name;
+        this.port = port;
+        this.acceptors = acceptors;
+        this.connections = connections;
+        this.connectionsOpen = connectionsOpen;
+        this.connectionsOpenMax = connectionsOpenMax;
+        this.connectionDurationAverageMillis = connectionDurationAverageMillis;
+        this.connectionDurationMaxMillis = connectionDurationMaxMillis;
+        this.requests = requests;
+        this.requestsPerConnectionAverage = requestsPerConnectionAverage;
+        this.requestsPerConnectionMax = requestsPerConnectionMax;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public int getConnectionsOpen() {
+        return connectionsOpen;
+    }
+
+    public int getConnectionsOpenMax() {
+        return connectionsOpenMax;
+    }
+
+    public long getConnectionDurationAverageMillis() {
+        return connectionDurationAverageMillis;
+    }
+
+    public long getConnectionDurationMaxMillis() {
+        return connectionDurationMaxMillis;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public int getRequestsPerConnectionAverage() {
+        return requestsPerConnectionAverage;
+    }
+
+    public int getRequestsPerConnectionMax() {
+        return requestsPerConnectionMax;
+    }
+}
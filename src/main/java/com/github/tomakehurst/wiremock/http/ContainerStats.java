@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * A point-in-time view of the servlet container's request threads and connectors, used to check whether WireMock
+ * itself is the bottleneck under load.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ContainerStats {
+
+    private final int threads;
+    private final int idleThreads;
+    private final int minThreads;
+    private final int maxThreads;
+    private final int queueSize;
+    private final boolean lowOnThreads;
+    private final List<ConnectorStats> connectors;
+
+    @JsonCreator
+    public ContainerStats(@JsonProperty("threads") int threads,
+                          @JsonProperty("idleThreads") int idleThreads,
+                          @JsonProperty("minThreads") int minThreads,
+                          @JsonProperty("maxThreads") int maxThreads,
+                          @JsonProperty("queueSize") int queueSize,
+                          @JsonProperty("lowOnThreads") boolean lowOnThreads,
+                          @JsonProperty("connectors") List<ConnectorStats> connectors) {
+        this.threads = threads;
+        this.idleThreads = idleThreads;
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.queueSize = queueSize;
+        this.lowOnThreads = lowOnThreads;
+        this.connectors = connectors;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getIdleThreads() {
+        return idleThreads;
+    }
+
+    public int getBusyThreads() {
+        return threads - idleThreads;
+    }
+
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public boolean isLowOnThreads() {
+        return lowOnThreads;
+    }
+
+    public List<ConnectorStats> getConnectors() {
+        return connectors;
+    }
+}
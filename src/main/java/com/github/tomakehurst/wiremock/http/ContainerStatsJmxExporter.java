@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.common.LocalNotifier.notifier;
+
+/**
+ * Publishes the live container statistics of an {@link HttpServer} as a JMX MXBean named
+ * {@code com.github.tomakehurst.wiremock:type=ContainerStats,port=<port>}.
+ */
+public class ContainerStatsJmxExporter implements ContainerStatsMXBean {
+
+    private final HttpServer httpServer;
+    private ObjectName objectName;
+
+    public ContainerStatsJmxExporter(HttpServer httpServer) {
+        this.httpServer = httpServer;
+    }
+
+    public synchronized void register() {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            objectName = new ObjectName("com.github.tomakehurst.wiremock:type=ContainerStats,port=" + httpServer.port());
+            mBeanServer.registerMBean(this, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            notifier().info("Container statistics are already registered as " + objectName);
+            objectName = null;
+        } catch (JMException e) {
+            notifier().error("Could not register container statistics with JMX", e);
+            objectName = null;
+        }
+    }
+
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            notifier().error("Could not unregister container statistics from JMX", e);
+        }
+        objectName = null;
+    }
+
+    @Override
+    public int getThreads() {
+        return httpServer.getContainerStats().getThreads();
+    }
+
+    @Override
+    public int getIdleThreads() {
+        return httpServer.getContainerStats().getIdleThreads();
+    }
+
+    @Override
+    public int getBusyThreads() {
+        return httpServer.getContainerStats().getBusyThreads();
+    }
+
+    @Override
+    public int getMaxThreads() {
+        return httpServer.getContainerStats().getMaxThreads();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return httpServer.getContainerStats().getQueueSize();
+    }
+
+    @Override
+    public boolean isLowOnThreads() {
+        return httpServer.getContainerStats().isLowOnThreads();
+    }
+
+    @Override
+    public List<ConnectorStats> getConnectors() {
+        return httpServer.getContainerStats().getConnectors();
+    }
+}
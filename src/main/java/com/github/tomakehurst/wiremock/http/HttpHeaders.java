@@ -24,12 +24,10 @@ import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Set;
 
 import static com.google.common.base.Functions.toStringFunction;
 import static com.google.common.collect.Iterables.transform;
-import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
 import static java.util.Arrays.asList;
 
@@ -38,6 +36,7 @@ import static java.util.Arrays.asList;
 public class HttpHeaders {
 
     private final Multimap<CaseInsensitiveKey, String> headers;
+    private volatile ImmutableList<HttpHeader> allHeaders;
 
     public HttpHeaders() {
         headers = ImmutableMultimap.of();
@@ -83,9 +82,15 @@ public class HttpHeaders {
     }
 
     public Collection<HttpHeader> all() {
-        List<HttpHeader> httpHeaderList = newArrayList();
-        for (CaseInsensitiveKey key: headers.keySet()) {
-            httpHeaderList.add(new HttpHeader(key.value(), headers.get(key)));
+        ImmutableList<HttpHeader> httpHeaderList = allHeaders;
+        if (httpHeaderList == null) {
+            ImmutableList.Builder<HttpHeader> builder = ImmutableList.builder();
+            for (CaseInsensitiveKey key: headers.keySet()) {
+                builder.add(new HttpHeader(key.value(), headers.get(key)));
+            }
+
+            httpHeaderList = builder.build();
+            allHeaders = httpHeaderList;
         }
 
         return httpHeaderList;
@@ -21,4 +21,5 @@ public interface HttpServer {
     boolean isRunning();
     int port();
     int httpsPort();
+    ContainerStats getContainerStats();
 }
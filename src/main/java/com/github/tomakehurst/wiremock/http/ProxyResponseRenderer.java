@@ -17,6 +17,8 @@ package com.github.tomakehurst.wiremock.http;
 
 import com.github.tomakehurst.wiremock.common.KeyStoreSettings;
 import com.github.tomakehurst.wiremock.common.ProxySettings;
+import com.github.tomakehurst.wiremock.metrics.FlightRecorderEvents;
+import com.github.tomakehurst.wiremock.metrics.PhaseTimings;
 import com.google.common.collect.ImmutableList;
 import org.apache.http.*;
 import org.apache.http.client.HttpClient;
@@ -71,9 +73,13 @@ public class ProxyResponseRenderer implements ResponseRenderer {
 		HttpUriRequest httpRequest = getHttpRequestFor(responseDefinition);
         addRequestHeaders(httpRequest, responseDefinition);
 
+		PhaseTimings timings = PhaseTimings.current();
+		long proxyStart = timings.mark();
+		FlightRecorderEvents.Event event = FlightRecorderEvents.PROXY.begin();
 		try {
 			addBodyIfPostPutOrPatch(httpRequest, responseDefinition);
 			HttpResponse httpResponse = client.execute(httpRequest);
+			event.set(2, httpResponse.getStatusLine().getStatusCode());
 
             return response()
                     .status(httpResponse.getStatusLine().getStatusCode())
@@ -83,6 +89,9 @@ public class ProxyResponseRenderer implements ResponseRenderer {
                     .build();
 		} catch (IOException e) {
 			throw new RuntimeException(e);
+		} finally {
+			timings.recordSince(PhaseTimings.PROXY, proxyStart);
+			event.set(0, httpRequest.getMethod()).set(1, responseDefinition.getProxyUrl()).commit();
 		}
 	}
 
@@ -31,6 +31,7 @@ public class Response {
 	private final boolean configured;
 	private final Fault fault;
 	private final boolean fromProxy;
+	private final StreamingBody streamingBody;
 	
 	public static Response notConfigured() {
         Response response = new Response(HTTP_NOT_FOUND,
@@ -47,12 +48,17 @@ public class Response {
     }
 
 	public Response(int status, byte[] body, HttpHeaders headers, boolean configured, Fault fault, boolean fromProxy) {
+		this(status, body, headers, configured, fault, fromProxy, null);
+	}
+
+	public Response(int status, byte[] body, HttpHeaders headers, boolean configured, Fault fault, boolean fromProxy, StreamingBody streamingBody) {
 		this.status = status;
         this.body = body;
         this.headers = headers;
         this.configured = configured;
         this.fault = fault;
         this.fromProxy = fromProxy;
+        this.streamingBody = streamingBody;
 	}
 
     public Response(int status, String body, HttpHeaders headers, boolean configured, Fault fault, boolean fromProxy) {
@@ -62,6 +68,7 @@ public class Response {
         this.configured = configured;
         this.fault = fault;
         this.fromProxy = fromProxy;
+        this.streamingBody = null;
     }
 
 	public int getStatus() {
@@ -84,6 +91,10 @@ public class Response {
         return fault;
     }
 
+    public StreamingBody getStreamingBody() {
+        return streamingBody;
+    }
+
     private Charset encodingFromContentTypeHeaderOrUtf8() {
         ContentTypeHeader contentTypeHeader = headers.getContentTypeHeader();
         if (contentTypeHeader.isPresent() && contentTypeHeader.encodingPart().isPresent()) {
@@ -115,6 +126,7 @@ public class Response {
         private boolean configured = true;
         private Fault fault;
         private boolean fromProxy;
+        private StreamingBody streamingBody;
 
         public Builder status(int status) {
             this.status = status;
@@ -159,8 +171,15 @@ public class Response {
             return this;
         }
 
+        public Builder streamingBody(StreamingBody streamingBody) {
+            this.streamingBody = streamingBody;
+            return this;
+        }
+
         public Response build() {
-            if (body != null) {
+            if (streamingBody != null) {
+                return new Response(status, new byte[0], headers, configured, fault, fromProxy, streamingBody);
+            } else if (body != null) {
                 return new Response(status, body, headers, configured, fault, fromProxy);
             } else if (bodyString != null) {
                 return new Response(status, bodyString, headers, configured, fault, fromProxy);
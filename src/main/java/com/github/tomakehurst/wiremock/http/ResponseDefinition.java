@@ -23,6 +23,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize.Inclusion;
 import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
 import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformerChain;
 
 import java.nio.charset.Charset;
 import java.util.Arrays;
@@ -33,6 +34,12 @@ import static java.net.HttpURLConnection.*;
 import static javax.xml.bind.DatatypeConverter.parseBase64Binary;
 import static javax.xml.bind.DatatypeConverter.printBase64Binary;
 
+/**
+ * The response a stub gives. Stubs are normally served a copy of this, which the request handler and renderers are
+ * free to change. A definition with a pre-rendered response is the exception: it is the stub's own instance, shared by
+ * every request matching that stub, so once {@link #getPrerenderedResponse()} is set nothing serving a request may
+ * call any of its setters.
+ */
 @JsonSerialize(include=Inclusion.NON_NULL)
 public class ResponseDefinition {
 
@@ -50,6 +57,10 @@ public class ResponseDefinition {
 	private boolean wasConfigured = true;
 	private Request originalRequest;
 	private List<String> transformers;
+	private Response prerenderedResponse;
+	private ResponseTransformerChain transformerChain;
+	private StreamingBody streamingBody;
+	private String matchedStub;
 
 	public static ResponseDefinition copyOf(ResponseDefinition original) {
 	    ResponseDefinition newResponseDef = new ResponseDefinition();
@@ -64,6 +75,10 @@ public class ResponseDefinition {
 	    newResponseDef.fault = original.fault;
 	    newResponseDef.wasConfigured = original.wasConfigured;
 		newResponseDef.transformers = original.transformers;
+		newResponseDef.prerenderedResponse = original.prerenderedResponse;
+		newResponseDef.transformerChain = original.transformerChain;
+		newResponseDef.streamingBody = original.streamingBody;
+		newResponseDef.matchedStub = original.matchedStub;
 	    return newResponseDef;
 	}
 	
@@ -267,6 +282,63 @@ public class ResponseDefinition {
 		return transformers != null && transformers.contains(transformer.name());
 	}
 
+	/**
+	 * True when the response is fully determined by the stub itself and so can be rendered once up front
+	 */
+	@JsonIgnore
+	public boolean isStatic() {
+		return wasConfigured &&
+				!isProxyResponse() &&
+				!specifiesBodyFile() &&
+				fault == null &&
+				fixedDelayMilliseconds == null &&
+				(transformers == null || transformers.isEmpty());
+	}
+
+	/**
+	 * The response rendered up front for a static stub, or null. When set, this definition is shared rather than
+	 * copied per request and must be treated as read-only while serving.
+	 */
+	@JsonIgnore
+	public Response getPrerenderedResponse() {
+		return prerenderedResponse;
+	}
+
+	@JsonIgnore
+	public void setPrerenderedResponse(Response prerenderedResponse) {
+		this.prerenderedResponse = prerenderedResponse;
+	}
+
+	@JsonIgnore
+	public ResponseTransformerChain getTransformerChain() {
+		return transformerChain;
+	}
+
+	@JsonIgnore
+	public void setTransformerChain(ResponseTransformerChain transformerChain) {
+		this.transformerChain = transformerChain;
+	}
+
+	@JsonIgnore
+	public String getMatchedStub() {
+		return matchedStub;
+	}
+
+	@JsonIgnore
+	public void setMatchedStub(String matchedStub) {
+		this.matchedStub = matchedStub;
+	}
+
+	@JsonIgnore
+	public StreamingBody getStreamingBody() {
+		return streamingBody;
+	}
+
+	@JsonIgnore
+	public void setStreamingBody(StreamingBody streamingBody) {
+		this.streamingBody = streamingBody;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -16,16 +16,45 @@
 package com.github.tomakehurst.wiremock.http;
 
 import com.github.tomakehurst.wiremock.core.StubServer;
+import com.github.tomakehurst.wiremock.metrics.PhaseTimings;
+import com.github.tomakehurst.wiremock.metrics.RequestMetrics;
 
 import static com.github.tomakehurst.wiremock.common.LocalNotifier.notifier;
 
 public class StubRequestHandler extends AbstractRequestHandler {
 	
 	private final StubServer stubServer;
+	private final boolean phaseTimingEnabled;
+	private final boolean serverTimingHeaderEnabled;
 
-	public StubRequestHandler(StubServer stubServer, ResponseRenderer responseRenderer) {
-		super(responseRenderer);
+	public StubRequestHandler(StubServer stubServer,
+							  ResponseRenderer responseRenderer,
+							  RequestMetrics requestMetrics,
+							  boolean phaseTimingEnabled,
+							  boolean serverTimingHeaderEnabled) {
+		super(responseRenderer, requestMetrics);
 		this.stubServer = stubServer;
+		this.phaseTimingEnabled = phaseTimingEnabled;
+		this.serverTimingHeaderEnabled = serverTimingHeaderEnabled;
+	}
+
+	public StubRequestHandler(StubServer stubServer, ResponseRenderer responseRenderer, RequestMetrics requestMetrics) {
+		this(stubServer, responseRenderer, requestMetrics, false, false);
+	}
+
+	public StubRequestHandler(StubServer stubServer, ResponseRenderer responseRenderer) {
+		this(stubServer, responseRenderer, new RequestMetrics());
+	}
+
+	@Override
+	public Response handle(Request request) {
+		if (!phaseTimingEnabled) {
+			return super.handle(request);
+		}
+
+		PhaseTimings timings = PhaseTimings.start();
+		Response response = super.handle(request);
+		return serverTimingHeaderEnabled ? timings.addServerTimingHeaderTo(response) : response;
 	}
 	
 	@Override
@@ -15,23 +15,25 @@
  */
 package com.github.tomakehurst.wiremock.http;
 
-import com.github.tomakehurst.wiremock.common.BinaryFile;
+import com.github.tomakehurst.wiremock.common.BodyFileCache;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.global.GlobalSettingsHolder;
+import com.github.tomakehurst.wiremock.metrics.FlightRecorderEvents;
+import com.github.tomakehurst.wiremock.metrics.PhaseTimings;
 import com.google.common.base.Optional;
 
 import static com.github.tomakehurst.wiremock.http.Response.response;
 
 public class StubResponseRenderer implements ResponseRenderer {
 	
-	private final FileSource fileSource;
+	private final BodyFileCache bodyFileCache;
 	private final GlobalSettingsHolder globalSettingsHolder;
 	private final ProxyResponseRenderer proxyResponseRenderer;
 
     public StubResponseRenderer(FileSource fileSource,
                                 GlobalSettingsHolder globalSettingsHolder,
                                 ProxyResponseRenderer proxyResponseRenderer) {
-        this.fileSource = fileSource;
+        this.bodyFileCache = new BodyFileCache(fileSource);
         this.globalSettingsHolder = globalSettingsHolder;
         this.proxyResponseRenderer = proxyResponseRenderer;
     }
@@ -43,13 +45,37 @@ public class StubResponseRenderer implements ResponseRenderer {
 		}
 		
 		addDelayIfSpecifiedGloballyOrIn(responseDefinition);
-		if (responseDefinition.isProxyResponse()) {
+		if (responseDefinition.getPrerenderedResponse() != null) {
+			return responseDefinition.getPrerenderedResponse();
+		} else if (responseDefinition.isProxyResponse()) {
 	    	return proxyResponseRenderer.render(responseDefinition);
 	    } else {
-	    	return renderDirectly(responseDefinition);
+			PhaseTimings timings = PhaseTimings.current();
+			long renderStart = timings.mark();
+			Response response = renderDirectly(responseDefinition);
+			timings.recordSince(PhaseTimings.RENDER, renderStart);
+			return response;
 	    }
 	}
 	
+	/**
+	 * Renders a response that doesn't depend on the request, files or settings, so the result can be shared
+	 * between requests.
+	 */
+	public static Response prerender(ResponseDefinition responseDefinition) {
+		Response.Builder responseBuilder = response()
+				.status(responseDefinition.getStatus())
+				.headers(responseDefinition.getHeaders());
+
+		if (responseDefinition.specifiesBinaryBodyContent()) {
+			responseBuilder.body(responseDefinition.getByteBody());
+		} else if (responseDefinition.specifiesBodyContent()) {
+			responseBuilder.body(responseDefinition.getBody());
+		}
+
+		return responseBuilder.build();
+	}
+
 	private Response renderDirectly(ResponseDefinition responseDefinition) {
         Response.Builder responseBuilder = response()
                 .status(responseDefinition.getStatus())
@@ -57,8 +83,12 @@ public class StubResponseRenderer implements ResponseRenderer {
                 .fault(responseDefinition.getFault());
 
 		if (responseDefinition.specifiesBodyFile()) {
-			BinaryFile bodyFile = fileSource.getBinaryFileNamed(responseDefinition.getBodyFileName());
-            responseBuilder.body(bodyFile.readContents());
+			FlightRecorderEvents.Event event = FlightRecorderEvents.BODY_FILE_READ.begin();
+			byte[] body = bodyFileCache.read(responseDefinition.getBodyFileName());
+			if (event.isRecording()) {
+				event.set(0, responseDefinition.getBodyFileName()).set(1, body.length).commit();
+			}
+            responseBuilder.body(body);
 		} else if (responseDefinition.specifiesBodyContent()) {
             if(responseDefinition.specifiesBinaryBodyContent()) {
                 responseBuilder.body(responseDefinition.getByteBody());
@@ -73,11 +103,16 @@ public class StubResponseRenderer implements ResponseRenderer {
     private void addDelayIfSpecifiedGloballyOrIn(ResponseDefinition response) {
     	Optional<Integer> optionalDelay = getDelayFromResponseOrGlobalSetting(response);
         if (optionalDelay.isPresent()) {
+			PhaseTimings timings = PhaseTimings.current();
+			long delayStart = timings.mark();
+			FlightRecorderEvents.Event event = FlightRecorderEvents.DELAY.begin();
 	        try {
 	            Thread.sleep(optionalDelay.get());
 	        } catch (InterruptedException e) {
 	            Thread.currentThread().interrupt();
 	        }
+			event.set(0, optionalDelay.get()).commit();
+			timings.recordSince(PhaseTimings.DELAY, delayStart);
 	    }
     }
     
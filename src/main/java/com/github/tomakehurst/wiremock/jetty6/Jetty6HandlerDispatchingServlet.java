@@ -22,6 +22,9 @@ import com.github.tomakehurst.wiremock.http.HttpHeader;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.RequestHandler;
 import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.http.StreamingBody;
+import com.github.tomakehurst.wiremock.metrics.PhaseTimings;
+import com.github.tomakehurst.wiremock.metrics.RequestMetrics;
 
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletConfig;
@@ -48,6 +51,7 @@ public class Jetty6HandlerDispatchingServlet extends HttpServlet {
 	private RequestHandler requestHandler;
 	private String mappedUnder;
 	private Notifier notifier;
+	private RequestMetrics requestMetrics;
 	private String wiremockFileSourceRoot = "/";
 	private boolean shouldForwardToFilesContext;
 	
@@ -66,6 +70,7 @@ public class Jetty6HandlerDispatchingServlet extends HttpServlet {
 			". Normlized mapped under returned '" + mappedUnder + "'");
 		requestHandler = (RequestHandler) context.getAttribute(handlerClassName);
 		notifier = (Notifier) context.getAttribute(Notifier.KEY);
+		requestMetrics = (RequestMetrics) context.getAttribute(RequestMetrics.KEY);
 	}
 	
 	/**
@@ -95,16 +100,26 @@ public class Jetty6HandlerDispatchingServlet extends HttpServlet {
 		Request request = new Jetty6HttpServletRequestAdapter(httpServletRequest, mappedUnder);
         notifier.info("Received request: " + httpServletRequest.toString());
 
-		Response response = requestHandler.handle(request);
-        if (Thread.currentThread().isInterrupted()) {
-            return;
-        }
-		if (response.wasConfigured()) {
-		    applyResponse(response, httpServletResponse);
-		} else if (request.getMethod().equals(GET) && shouldForwardToFilesContext) {
-		    forwardToFilesContext(httpServletRequest, httpServletResponse, request);
-		} else {
-			httpServletResponse.sendError(HTTP_NOT_FOUND);
+		try {
+			Response response = requestHandler.handle(request);
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+			if (response.wasConfigured()) {
+				long writeStart = System.nanoTime();
+				applyResponse(response, httpServletResponse);
+				long writeNanos = System.nanoTime() - writeStart;
+				if (requestMetrics != null) {
+					requestMetrics.recordWrite(writeNanos);
+				}
+				PhaseTimings.current().record(PhaseTimings.WRITE, writeNanos);
+			} else if (request.getMethod().equals(GET) && shouldForwardToFilesContext) {
+				forwardToFilesContext(httpServletRequest, httpServletResponse, request);
+			} else {
+				httpServletResponse.sendError(HTTP_NOT_FOUND);
+			}
+		} finally {
+			PhaseTimings.clear();
 		}
 	}
 
@@ -121,7 +136,22 @@ public class Jetty6HandlerDispatchingServlet extends HttpServlet {
             }
         }
 
-        writeAndTranslateExceptions(httpServletResponse, response.getBody());
+        if (response.getStreamingBody() != null) {
+            streamAndTranslateExceptions(httpServletResponse, response.getStreamingBody());
+        } else {
+            writeAndTranslateExceptions(httpServletResponse, response.getBody());
+        }
+    }
+
+    private static void streamAndTranslateExceptions(HttpServletResponse httpServletResponse, StreamingBody streamingBody) {
+        try {
+            ServletOutputStream out = httpServletResponse.getOutputStream();
+            streamingBody.writeTo(out);
+            out.flush();
+            out.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     private static void writeAndTranslateExceptions(HttpServletResponse httpServletResponse, byte[] content) {
@@ -25,11 +25,15 @@ import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.core.Options;
 import com.github.tomakehurst.wiremock.global.RequestDelayControl;
 import com.github.tomakehurst.wiremock.http.AdminRequestHandler;
+import com.github.tomakehurst.wiremock.http.ConnectorStats;
+import com.github.tomakehurst.wiremock.http.ContainerStats;
 import com.github.tomakehurst.wiremock.http.HttpServer;
 import com.github.tomakehurst.wiremock.http.RequestHandler;
 import com.github.tomakehurst.wiremock.http.StubRequestHandler;
+import com.github.tomakehurst.wiremock.metrics.RequestMetrics;
 import com.github.tomakehurst.wiremock.servlet.ContentTypeSettingFilter;
 import com.github.tomakehurst.wiremock.servlet.TrailingSlashFilter;
+import com.google.common.collect.ImmutableList;
 import org.mortbay.jetty.Handler;
 import org.mortbay.jetty.MimeTypes;
 import org.mortbay.jetty.Server;
@@ -48,8 +52,10 @@ class Jetty6HttpServer implements HttpServer {
     private static final String FILES_URL_MATCH = String.format("/%s/*", WireMockServer.FILES_ROOT);
 
     private final Server jettyServer;
+    private final QueuedThreadPool threadPool;
     private final DelayableSocketConnector httpConnector;
     private final DelayableSslSocketConnector httpsConnector;
+    private final boolean connectorStatsEnabled;
 
     Jetty6HttpServer(
             Options options,
@@ -59,8 +65,9 @@ class Jetty6HttpServer implements HttpServer {
     ) {
 
         jettyServer = new Server();
+        connectorStatsEnabled = options.containerStatsEnabled();
 
-        QueuedThreadPool threadPool = new QueuedThreadPool(options.containerThreads());
+        threadPool = new QueuedThreadPool(options.containerThreads());
         jettyServer.setThreadPool(threadPool);
 
         httpConnector = createHttpConnector(
@@ -138,6 +145,45 @@ class Jetty6HttpServer implements HttpServer {
         return httpsConnector.getLocalPort();
     }
 
+    /**
+     * Connector figures are only collected, and so only reported, when container stats are enabled, as counting them
+     * takes a lock on every connection and request.
+     */
+    @Override
+    public ContainerStats getContainerStats() {
+        ImmutableList.Builder<ConnectorStats> connectors = ImmutableList.builder();
+        if (connectorStatsEnabled) {
+            connectors.add(statsFor("http", httpConnector));
+            if (httpsConnector != null) {
+                connectors.add(statsFor("https", httpsConnector));
+            }
+        }
+
+        return new ContainerStats(
+                threadPool.getThreads(),
+                threadPool.getIdleThreads(),
+                threadPool.getMinThreads(),
+                threadPool.getMaxThreads(),
+                threadPool.getQueueSize(),
+                threadPool.isLowOnThreads(),
+                connectors.build());
+    }
+
+    private static ConnectorStats statsFor(String name, SocketConnector connector) {
+        return new ConnectorStats(
+                name,
+                connector.getLocalPort(),
+                connector.getAcceptors(),
+                connector.getConnections(),
+                connector.getConnectionsOpen(),
+                connector.getConnectionsOpenMax(),
+                connector.getConnectionsDurationAve(),
+                connector.getConnectionsDurationMax(),
+                connector.getRequests(),
+                connector.getConnectionsRequestsAve(),
+                connector.getConnectionsRequestsMax());
+    }
+
     private DelayableSocketConnector createHttpConnector(
             RequestDelayControl requestDelayControl,
             String bindAddress,
@@ -183,6 +229,7 @@ class Jetty6HttpServer implements HttpServer {
             headerBufferSize = jettySettings.getRequestHeaderSize().get();
         }
         connector.setHeaderBufferSize(headerBufferSize);
+        connector.setStatsOn(connectorStatsEnabled);
     }
 
     @SuppressWarnings({"rawtypes", "unchecked" })
@@ -203,6 +250,7 @@ class Jetty6HttpServer implements HttpServer {
 
         mockServiceContext.setAttribute(StubRequestHandler.class.getName(), stubRequestHandler);
         mockServiceContext.setAttribute(Notifier.KEY, notifier);
+        mockServiceContext.setAttribute(RequestMetrics.KEY, stubRequestHandler.getRequestMetrics());
         ServletHolder servletHolder = mockServiceContext.addServlet(Jetty6HandlerDispatchingServlet.class, "/");
         servletHolder.setInitParameter(RequestHandler.HANDLER_CLASS_KEY, StubRequestHandler.class.getName());
         servletHolder.setInitParameter(SHOULD_FORWARD_TO_FILES_CONTEXT, "true");
@@ -15,6 +15,7 @@
  */
 package com.github.tomakehurst.wiremock.matching;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize.Inclusion;
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -41,6 +42,7 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -144,7 +146,7 @@ public class RequestPattern {
     private boolean requiredAbsentHeadersAreNotPresentIn(final Request request) {
         return !any(requiredAbsentHeaderKeys(), new Predicate<String>() {
             public boolean apply(String key) {
-                return request.getAllHeaderKeys().contains(key);
+                return request.header(key).isPresent();
             }
         });
     }
@@ -185,128 +187,20 @@ public class RequestPattern {
         }
 
         String requestString = request.getBodyAsString();
-        String patternString = bodyPatterns.get(0).getEqualTo();
-
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        DocumentBuilder db = null;
-        InputSource isRequest = new InputSource();
-
-        isRequest.setCharacterStream(new StringReader(requestString));
-
+        // Patterns are shared between threads matching concurrently, so the normalised pattern is only used locally
+        List<ValuePattern> patterns = bodyPatterns;
 
         try {
-            db = dbf.newDocumentBuilder();
-            Document docRequest = db.parse(isRequest);
-
-//            NodeList nodesReqSeq = docRequest.getElementsByTagName("sequential");
-//            NodeList nodesReqDate = docRequest.getElementsByTagName("dateAndTime");
-//            NodeList nodesReqIp = docRequest.getElementsByTagName("ipAddress");
-//            NodeList nodesReqTx = docRequest.getElementsByTagName("transactionID");
-//            NodeList nodeLogHashParam = docRequest.getElementsByTagName("logHashParams");
-//            if (nodesReqSeq.getLength() > 0) {
-//                docRequest.getElementsByTagName("arg0").item(0).removeChild(nodesReqSeq.item(0));
-//            }
-
-//            if (nodesReqDate.getLength() > 0) {
-//                docRequest.getElementsByTagName("arg0").item(0).removeChild(nodesReqDate.item(0));
-//            }
-
-//            if (nodesReqIp.getLength() > 0) {
-//                docRequest.getElementsByTagName("arg0").item(0).removeChild(nodesReqIp.item(0));
-//            }
-
-//            if (nodesReqTx.getLength() > 0) {
-//                docRequest.getElementsByTagName("arg0").item(0).removeChild(nodesReqTx.item(0));
-//            }
-
-
-//            if (nodeLogHashParam.getLength() > 0) {
-//                for (int i = nodeLogHashParam.getLength() - 1; i >= 0; i--) {
-//                    docRequest.getElementsByTagName("arg0").item(0).removeChild(nodeLogHashParam.item(i));
-//                }
-//            }
-            final String rootNode = "arg0";
-            for (String nodeName : WireMockServer.excludedNodes) {
-                NodeList multiNode = docRequest.getElementsByTagName(nodeName);
-                if (multiNode.getLength() > 0) {
-                    for (int i = multiNode.getLength() - 1; i >= 0; i--) {
-                        docRequest.getElementsByTagName(rootNode).item(0).removeChild(multiNode.item(i));
-                    }
-                }
-            }
-
-            //Excluyo esto porque son nodos que no estan en la raiz de <arg0>
-            NodeList nodesReqTxRel = docRequest.getElementsByTagName("relationTRX");
-            if (nodesReqTxRel.getLength() > 0) {
-                for (int i = 0; i < docRequest.getElementsByTagName("lstTransaction").getLength(); i++) {
-                    nodesReqTxRel = docRequest.getElementsByTagName("relationTRX");
-                    docRequest.getElementsByTagName("lstTransaction").item(i).removeChild(nodesReqTxRel.item(0));
-                }
-            }
-
-
-            DOMImplementationLS domImplementation = (DOMImplementationLS) docRequest.getImplementation();
-            LSSerializer lsSerializer = domImplementation.createLSSerializer();
-            requestString = lsSerializer.writeToString(docRequest);
+            requestString = removeExcludedNodes(requestString);
 
             //EM en modo record, el equalTo del bodyPattern me llega null why?
             if(bodyPatterns.get(0).getEqualTo() == null){
                 return false;
             }
-            InputSource isPattern = new InputSource();
-            isPattern.setCharacterStream(new StringReader(bodyPatterns.get(0).getEqualTo()));
-            Document docPattern = db.parse(isPattern);
-
-//            NodeList nodesPatSeq = docPattern.getElementsByTagName("sequential");
-//            NodeList nodesPatDate = docPattern.getElementsByTagName("dateAndTime");
-//            NodeList nodesPatIp = docPattern.getElementsByTagName("ipAddress");
-//            NodeList nodesPatTx = docPattern.getElementsByTagName("transactionID");
-//            NodeList nodesPatLogHashParam = docPattern.getElementsByTagName("logHashParams");
-
-//            if (nodesPatSeq.getLength() > 0) {
-//                docPattern.getElementsByTagName("arg0").item(0).removeChild(nodesPatSeq.item(0));
-//            }
-//
-//            if (nodesPatDate.getLength() > 0) {
-//                docPattern.getElementsByTagName("arg0").item(0).removeChild(nodesPatDate.item(0));
-//            }
-//
-//            if (nodesPatIp.getLength() > 0) {
-//                docPattern.getElementsByTagName("arg0").item(0).removeChild(nodesPatIp.item(0));
-//            }
-//
-//            if (nodesPatTx.getLength() > 0) {
-//                docPattern.getElementsByTagName("arg0").item(0).removeChild(nodesPatTx.item(0));
-//            }
-
-//            if (nodesPatLogHashParam.getLength() > 0) {
-//                for (int i = nodesPatLogHashParam.getLength() - 1; i >= 0; i--) {
-//                    docPattern.getElementsByTagName("arg0").item(0).removeChild(nodesPatLogHashParam.item(i));
-//                }
-//            }
-
-            //TODO: puedo barrerme ambas cosas en 1 loop?
-            for (String nodeName : WireMockServer.excludedNodes) {
-                NodeList multiNode = docPattern.getElementsByTagName(nodeName);
-                if (multiNode.getLength() > 0) {
-                    for (int i = multiNode.getLength() - 1; i >= 0; i--) {
-                        docPattern.getElementsByTagName(rootNode).item(0).removeChild(multiNode.item(i));
-                    }
-                }
-            }
-
-            //TODO: esto me vuelo siempre en las transacciones como transferencias, etc.
-            NodeList nodesPatTxRel = docPattern.getElementsByTagName("relationTRX");
-            if (nodesPatTxRel.getLength() > 0) {
-                for (int i = 0; i < docPattern.getElementsByTagName("lstTransaction").getLength(); i++) {
-                    nodesPatTxRel = docPattern.getElementsByTagName("relationTRX");
-                    docPattern.getElementsByTagName("lstTransaction").item(i).removeChild(nodesPatTxRel.item(0));
-                }
-            }
 
-
-            patternString = lsSerializer.writeToString(docPattern);
-            bodyPatterns.get(0).setEqualTo(patternString);
+            String patternString = removeExcludedNodes(bodyPatterns.get(0).getEqualTo());
+            patterns = new ArrayList<ValuePattern>(bodyPatterns);
+            patterns.set(0, ValuePattern.equalTo(patternString));
 
         } catch (SAXException e) {
             e.printStackTrace();
@@ -316,7 +210,7 @@ public class RequestPattern {
             e.printStackTrace();
         }
 
-        boolean matches = all(bodyPatterns, matching(requestString));
+        boolean matches = all(patterns, matching(requestString));
 
         if (!matches) {
             notifier().warn(String.format("[WARNING] URL [%s] is match, but body is not:\n %s", request.getUrl(),
@@ -326,6 +220,48 @@ public class RequestPattern {
         return matches;
     }
 
+    /**
+     * Returns the XML body with the nodes excluded from body matching removed, or absent if it isn't well formed XML,
+     * so that bodies differing only in those volatile values can be treated as the same.
+     */
+    public static Optional<String> bodyWithoutExcludedNodes(String body) {
+        try {
+            return Optional.of(removeExcludedNodes(body));
+        } catch (Exception e) {
+            return Optional.absent();
+        }
+    }
+
+    private static String removeExcludedNodes(String xml) throws ParserConfigurationException, SAXException, IOException {
+        DocumentBuilder db = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        InputSource inputSource = new InputSource();
+        inputSource.setCharacterStream(new StringReader(xml));
+        Document document = db.parse(inputSource);
+
+        final String rootNode = "arg0";
+        for (String nodeName : WireMockServer.excludedNodes) {
+            NodeList multiNode = document.getElementsByTagName(nodeName);
+            if (multiNode.getLength() > 0) {
+                for (int i = multiNode.getLength() - 1; i >= 0; i--) {
+                    document.getElementsByTagName(rootNode).item(0).removeChild(multiNode.item(i));
+                }
+            }
+        }
+
+        //Excluyo esto porque son nodos que no estan en la raiz de <arg0>
+        NodeList nodesTxRel = document.getElementsByTagName("relationTRX");
+        if (nodesTxRel.getLength() > 0) {
+            for (int i = 0; i < document.getElementsByTagName("lstTransaction").getLength(); i++) {
+                nodesTxRel = document.getElementsByTagName("relationTRX");
+                document.getElementsByTagName("lstTransaction").item(i).removeChild(nodesTxRel.item(0));
+            }
+        }
+
+        DOMImplementationLS domImplementation = (DOMImplementationLS) document.getImplementation();
+        LSSerializer lsSerializer = domImplementation.createLSSerializer();
+        return lsSerializer.writeToString(document);
+    }
+
     private String prettyXml(String xml){
         try {
             final InputSource src = new InputSource(new StringReader(xml));
@@ -349,6 +285,22 @@ public class RequestPattern {
     }
 
 
+    /**
+     * @return Whichever of the URL, URL path, URL pattern or URL path pattern this pattern was specified with.
+     */
+    @JsonIgnore
+    public String getUrlSpec() {
+        if (url != null) {
+            return url;
+        } else if (urlPath != null) {
+            return urlPath;
+        } else if (urlPattern != null) {
+            return urlPattern;
+        }
+
+        return urlPathPattern;
+    }
+
     public String getUrlPattern() {
         return urlPattern;
     }
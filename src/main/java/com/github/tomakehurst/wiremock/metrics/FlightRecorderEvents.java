@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.asList;
+
+/**
+ * Java Flight Recorder events for the request handling hot paths. The event types are defined at runtime through
+ * {@code jdk.jfr.EventFactory}, so WireMock still builds and runs for Java 7. On a JVM without JFR, or while no
+ * recording has the event enabled, {@link EventType#begin()} returns a shared no-op event without allocating.
+ */
+public class FlightRecorderEvents {
+
+    private static final String CATEGORY = "WireMock";
+
+    public static final EventType STUB_MATCH = eventType("StubMatch", "Stub Match",
+            "Searching the stub mappings for one that matches a request",
+            field(String.class, "method", "Method"),
+            field(String.class, "url", "URL"),
+            field(int.class, "candidatesEvaluated", "Candidates Evaluated"),
+            field(String.class, "winner", "Winning Stub"));
+
+    public static final EventType BODY_FILE_READ = eventType("BodyFileRead", "Body File Read",
+            "Reading a response body file",
+            field(String.class, "fileName", "File Name"),
+            field(int.class, "bytes", "Bytes"));
+
+    public static final EventType PROXY = eventType("Proxy", "Proxy Round Trip",
+            "Forwarding a request to another host and reading its response",
+            field(String.class, "method", "Method"),
+            field(String.class, "url", "URL"),
+            field(int.class, "status", "Status"));
+
+    public static final EventType JOURNAL_APPEND = eventType("JournalAppend", "Journal Append",
+            "Adding a request to the request journal",
+            field(String.class, "method", "Method"),
+            field(String.class, "url", "URL"));
+
+    public static final EventType DELAY = eventType("Delay", "Response Delay",
+            "Waiting for a fixed delay before responding",
+            field(int.class, "delayMilliseconds", "Delay (ms)"));
+
+    public static boolean isAvailable() {
+        return JfrSupport.INSTANCE != null;
+    }
+
+    private static Field field(Class<?> type, String name, String label) {
+        return new Field(type, name, label);
+    }
+
+    private static EventType eventType(String name, String label, String description, Field... fields) {
+        if (JfrSupport.INSTANCE == null) {
+            return new EventType(null, null);
+        }
+
+        try {
+            return JfrSupport.INSTANCE.define("com.github.tomakehurst.wiremock." + name, label, description, asList(fields));
+        } catch (Throwable e) {
+            return new EventType(null, null);
+        }
+    }
+
+    public static class EventType {
+
+        private final Object factory;
+        private final Object jfrEventType;
+
+        private EventType(Object factory, Object jfrEventType) {
+            this.factory = factory;
+            this.jfrEventType = jfrEventType;
+        }
+
+        public Event begin() {
+            if (jfrEventType == null || !JfrSupport.INSTANCE.isEnabled(jfrEventType)) {
+                return Event.NONE;
+            }
+
+            return JfrSupport.INSTANCE.begin(factory);
+        }
+    }
+
+    public static class Event {
+
+        static final Event NONE = new Event(null);
+
+        private final Object jfrEvent;
+
+        private Event(Object jfrEvent) {
+            this.jfrEvent = jfrEvent;
+        }
+
+        public boolean isRecording() {
+            return jfrEvent != null;
+        }
+
+        public Event set(int fieldIndex, Object value) {
+            if (jfrEvent != null) {
+                JfrSupport.INSTANCE.set(jfrEvent, fieldIndex, value);
+            }
+            return this;
+        }
+
+        public void commit() {
+            if (jfrEvent != null) {
+                JfrSupport.INSTANCE.commit(jfrEvent);
+            }
+        }
+    }
+
+    private static class Field {
+        final Class<?> type;
+        final String name;
+        final String label;
+
+        Field(Class<?> type, String name, String label) {
+            this.type = type;
+            this.name = name;
+            this.label = label;
+        }
+    }
+
+    private static class JfrSupport {
+
+        static final JfrSupport INSTANCE = load();
+
+        private final Constructor<?> annotationElementConstructor;
+        private final Constructor<?> valueDescriptorConstructor;
+        private final Method createFactory;
+        private final Method getEventType;
+        private final Class<? extends Annotation> nameAnnotation;
+        private final Class<? extends Annotation> labelAnnotation;
+        private final Class<? extends Annotation> descriptionAnnotation;
+        private final Class<? extends Annotation> categoryAnnotation;
+
+        private final MethodHandle isEnabled;
+        private final MethodHandle newEvent;
+        private final MethodHandle begin;
+        private final MethodHandle end;
+        private final MethodHandle shouldCommit;
+        private final MethodHandle commit;
+        private final MethodHandle set;
+
+        @SuppressWarnings("unchecked")
+        private JfrSupport() throws Exception {
+            Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+            Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+            Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+            Class<?> eventClass = Class.forName("jdk.jfr.Event");
+
+            annotationElementConstructor = annotationElementClass.getConstructor(Class.class, Object.class);
+            valueDescriptorConstructor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+            createFactory = eventFactoryClass.getMethod("create", List.class, List.class);
+            getEventType = eventFactoryClass.getMethod("getEventType");
+            nameAnnotation = (Class<? extends Annotation>) Class.forName("jdk.jfr.Name");
+            labelAnnotation = (Class<? extends Annotation>) Class.forName("jdk.jfr.Label");
+            descriptionAnnotation = (Class<? extends Annotation>) Class.forName("jdk.jfr.Description");
+            categoryAnnotation = (Class<? extends Annotation>) Class.forName("jdk.jfr.Category");
+
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            isEnabled = lookup.findVirtual(eventTypeClass, "isEnabled", methodType(boolean.class))
+                    .asType(methodType(boolean.class, Object.class));
+            newEvent = lookup.findVirtual(eventFactoryClass, "newEvent", methodType(eventClass))
+                    .asType(methodType(Object.class, Object.class));
+            begin = lookup.findVirtual(eventClass, "begin", methodType(void.class))
+                    .asType(methodType(void.class, Object.class));
+            end = lookup.findVirtual(eventClass, "end", methodType(void.class))
+                    .asType(methodType(void.class, Object.class));
+            shouldCommit = lookup.findVirtual(eventClass, "shouldCommit", methodType(boolean.class))
+                    .asType(methodType(boolean.class, Object.class));
+            commit = lookup.findVirtual(eventClass, "commit", methodType(void.class))
+                    .asType(methodType(void.class, Object.class));
+            set = lookup.findVirtual(eventClass, "set", methodType(void.class, int.class, Object.class))
+                    .asType(methodType(void.class, Object.class, int.class, Object.class));
+        }
+
+        private static JfrSupport load() {
+            try {
+                return new JfrSupport();
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        EventType define(String name, String label, String description, List<Field> fields) throws Exception {
+            List<Object> eventAnnotations = new ArrayList<Object>();
+            eventAnnotations.add(annotation(nameAnnotation, name));
+            eventAnnotations.add(annotation(labelAnnotation, label));
+            eventAnnotations.add(annotation(descriptionAnnotation, description));
+            eventAnnotations.add(annotation(categoryAnnotation, new String[] { CATEGORY }));
+
+            List<Object> valueDescriptors = new ArrayList<Object>();
+            for (Field field: fields) {
+                List<Object> fieldAnnotations = Collections.singletonList(annotation(labelAnnotation, field.label));
+                valueDescriptors.add(valueDescriptorConstructor.newInstance(field.type, field.name, fieldAnnotations));
+            }
+
+            Object factory = createFactory.invoke(null, eventAnnotations, valueDescriptors);
+            return new EventType(factory, getEventType.invoke(factory));
+        }
+
+        private Object annotation(Class<? extends Annotation> type, Object value) throws Exception {
+            return annotationElementConstructor.newInstance(type, value);
+        }
+
+        boolean isEnabled(Object jfrEventType) {
+            try {
+                return (boolean) isEnabled.invokeExact(jfrEventType);
+            } catch (Throwable e) {
+                return false;
+            }
+        }
+
+        Event begin(Object factory) {
+            try {
+                Object jfrEvent = (Object) newEvent.invokeExact(factory);
+                begin.invokeExact(jfrEvent);
+                return new Event(jfrEvent);
+            } catch (Throwable e) {
+                return Event.NONE;
+            }
+        }
+
+        void set(Object jfrEvent, int fieldIndex, Object value) {
+            try {
+                set.invokeExact(jfrEvent, fieldIndex, value);
+            } catch (Throwable e) {
+                throw new IllegalArgumentException("Could not set field " + fieldIndex + " of flight recorder event", e);
+            }
+        }
+
+        void commit(Object jfrEvent) {
+            try {
+                end.invokeExact(jfrEvent);
+                if ((boolean) shouldCommit.invokeExact(jfrEvent)) {
+                    commit.invokeExact(jfrEvent);
+                }
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not commit flight recorder event", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+public class MetricsSnapshot {
+
+    private final long requests;
+    private final long unmatchedRequests;
+    private final Map<String, LatencySnapshot> phases;
+    private final List<StubHitCount> stubs;
+
+    @JsonCreator
+    public MetricsSnapshot(@JsonProperty("requests") long requests,
+                           @JsonProperty("unmatchedRequests") long unmatchedRequests,
+                           @JsonProperty("phases") Map<String, LatencySnapshot> phases,
+                           @JsonProperty("stubs") List<StubHitCount> stubs) {
+        this.requests = requests;
+        this.unmatchedRequests = unmatchedRequests;
+        this.phases = phases;
+        this.stubs = stubs;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getUnmatchedRequests() {
+        return unmatchedRequests;
+    }
+
+    public Map<String, LatencySnapshot> getPhases() {
+        return phases;
+    }
+
+    public List<StubHitCount> getStubs() {
+        return stubs;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Durations of the phases a single stubbed request passes through, held against the serving thread in the
+ * same way as {@link com.github.tomakehurst.wiremock.common.LocalNotifier}. When timing hasn't been started on
+ * the current thread, {@link #current()} returns an instance that ignores everything and never reads the clock.
+ */
+public class PhaseTimings {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    public static final String MATCH = "match";
+    public static final String TRANSFORM = "transform";
+    public static final String DELAY = "delay";
+    public static final String PROXY = "proxy";
+    public static final String RENDER = "render";
+    public static final String WRITE = "write";
+    public static final String TOTAL = "total";
+
+    private static final int COSTLIEST_STUBS_KEPT = 3;
+
+    private static final PhaseTimings DISABLED = new PhaseTimings(false, 0);
+    private static final ThreadLocal<PhaseTimings> timingsHolder = new ThreadLocal<PhaseTimings>();
+
+    private final boolean enabled;
+    private final long startNanos;
+    private final Map<String, Long> phaseNanos = Collections.synchronizedMap(new LinkedHashMap<String, Long>());
+
+    private int stubsEvaluated;
+    private StubMapping[] costliestStubs;
+    private long[] costliestStubNanos;
+
+    private PhaseTimings(boolean enabled, long startNanos) {
+        this.enabled = enabled;
+        this.startNanos = startNanos;
+    }
+
+    @JsonCreator
+    public PhaseTimings(Map<String, Double> phaseMillis) {
+        this(true, 0);
+        for (Map.Entry<String, Double> phase: phaseMillis.entrySet()) {
+            phaseNanos.put(phase.getKey(), (long) (phase.getValue() * MILLISECONDS.toNanos(1)));
+        }
+    }
+
+    public static PhaseTimings start() {
+        PhaseTimings timings = new PhaseTimings(true, System.nanoTime());
+        timingsHolder.set(timings);
+        return timings;
+    }
+
+    public static PhaseTimings current() {
+        PhaseTimings timings = timingsHolder.get();
+        return timings != null ? timings : DISABLED;
+    }
+
+    public static void clear() {
+        timingsHolder.remove();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long mark() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void recordSince(String phase, long markNanos) {
+        if (enabled) {
+            record(phase, System.nanoTime() - markNanos);
+        }
+    }
+
+    public void record(String phase, long nanos) {
+        if (enabled) {
+            phaseNanos.put(phase, nanos);
+        }
+    }
+
+    public Long nanosFor(String phase) {
+        return phaseNanos.get(phase);
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Notes that a stub's request pattern was evaluated. Only the few most expensive evaluations are kept, so that
+     * requests which evaluate many stubs don't pay for it in allocation.
+     */
+    public void recordStubEvaluated(StubMapping stubMapping, long nanos) {
+        if (!enabled) {
+            return;
+        }
+
+        stubsEvaluated++;
+        if (costliestStubs == null) {
+            costliestStubs = new StubMapping[COSTLIEST_STUBS_KEPT];
+            costliestStubNanos = new long[COSTLIEST_STUBS_KEPT];
+        }
+
+        int position = COSTLIEST_STUBS_KEPT;
+        while (position > 0 && (costliestStubs[position - 1] == null || costliestStubNanos[position - 1] < nanos)) {
+            position--;
+        }
+        if (position == COSTLIEST_STUBS_KEPT) {
+            return;
+        }
+
+        for (int i = COSTLIEST_STUBS_KEPT - 1; i > position; i--) {
+            costliestStubs[i] = costliestStubs[i - 1];
+            costliestStubNanos[i] = costliestStubNanos[i - 1];
+        }
+        costliestStubs[position] = stubMapping;
+        costliestStubNanos[position] = nanos;
+    }
+
+    public int getStubsEvaluated() {
+        return stubsEvaluated;
+    }
+
+    public List<StubEvaluationCost> getCostliestStubEvaluations() {
+        List<StubEvaluationCost> costs = new ArrayList<StubEvaluationCost>();
+        for (int i = 0; costliestStubs != null && i < COSTLIEST_STUBS_KEPT && costliestStubs[i] != null; i++) {
+            costs.add(StubEvaluationCost.from(costliestStubs[i], toMillis(costliestStubNanos[i])));
+        }
+
+        return costs;
+    }
+
+    @JsonValue
+    public Map<String, Double> toMillis() {
+        Map<String, Double> phaseMillis = new LinkedHashMap<String, Double>();
+        synchronized (phaseNanos) {
+            for (Map.Entry<String, Long> phase: phaseNanos.entrySet()) {
+                phaseMillis.put(phase.getKey(), toMillis(phase.getValue()));
+            }
+        }
+
+        return phaseMillis;
+    }
+
+    public String toServerTimingHeaderValue() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Double> phase: toMillis().entrySet()) {
+            appendMetric(sb, phase.getKey(), phase.getValue());
+        }
+        appendMetric(sb, TOTAL, toMillis(System.nanoTime() - startNanos));
+
+        return sb.toString();
+    }
+
+    public Response addServerTimingHeaderTo(Response response) {
+        if (!enabled || !response.wasConfigured()) {
+            return response;
+        }
+
+        return new Response(
+                response.getStatus(),
+                response.getBody(),
+                response.getHeaders().plus(new HttpHeader(SERVER_TIMING, toServerTimingHeaderValue())),
+                response.wasConfigured(),
+                response.getFault(),
+                response.isFromProxy(),
+                response.getStreamingBody());
+    }
+
+    private static void appendMetric(StringBuilder sb, String name, double millis) {
+        if (sb.length() > 0) {
+            sb.append(", ");
+        }
+        sb.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", millis));
+    }
+
+    private static double toMillis(long nanos) {
+        return (double) nanos / NANOSECONDS.convert(1, MILLISECONDS);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a metrics snapshot in the Prometheus text exposition format.
+ */
+public class PrometheusFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    public static String format(MetricsSnapshot snapshot) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("# HELP wiremock_requests_total Requests served by stubs, matched or not\n");
+        sb.append("# TYPE wiremock_requests_total counter\n");
+        sb.append("wiremock_requests_total ").append(snapshot.getRequests()).append('\n');
+
+        sb.append("# HELP wiremock_unmatched_requests_total Requests that matched no stub\n");
+        sb.append("# TYPE wiremock_unmatched_requests_total counter\n");
+        sb.append("wiremock_unmatched_requests_total ").append(snapshot.getUnmatchedRequests()).append('\n');
+
+        sb.append("# HELP wiremock_phase_duration_seconds Time spent in each phase of serving a request\n");
+        sb.append("# TYPE wiremock_phase_duration_seconds summary\n");
+        for (Map.Entry<String, LatencySnapshot> phase: snapshot.getPhases().entrySet()) {
+            String labels = "phase=\"" + escape(phase.getKey()) + "\"";
+            LatencySnapshot latency = phase.getValue();
+            appendQuantile(sb, labels, "0.5", latency.getP50Micros());
+            appendQuantile(sb, labels, "0.9", latency.getP90Micros());
+            appendQuantile(sb, labels, "0.99", latency.getP99Micros());
+            appendQuantile(sb, labels, "0.999", latency.getP999Micros());
+            sb.append("wiremock_phase_duration_seconds_sum{").append(labels).append("} ")
+                    .append(seconds(latency.getTotalMicros())).append('\n');
+            sb.append("wiremock_phase_duration_seconds_count{").append(labels).append("} ")
+                    .append(latency.getCount()).append('\n');
+        }
+
+        sb.append("# HELP wiremock_stub_hits_total Requests served by each stub\n");
+        sb.append("# TYPE wiremock_stub_hits_total counter\n");
+        for (StubHitCount stub: snapshot.getStubs()) {
+            sb.append("wiremock_stub_hits_total{id=\"").append(stub.getId())
+                    .append("\",method=\"").append(escape(String.valueOf(stub.getMethod())))
+                    .append("\",url=\"").append(escape(String.valueOf(stub.getUrl())))
+                    .append("\"} ").append(stub.getHits()).append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    private static void appendQuantile(StringBuilder sb, String labels, String quantile, long micros) {
+        sb.append("wiremock_phase_duration_seconds{").append(labels)
+                .append(",quantile=\"").append(quantile).append("\"} ")
+                .append(seconds(micros)).append('\n');
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ENGLISH, "%.6f", micros / 1000000.0);
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+/**
+ * Counts served requests and records how long each phase of serving them takes: matching a stub, applying
+ * transformers, rendering the response and writing it to the client.
+ */
+public class RequestMetrics {
+
+    public static final String KEY = "RequestMetrics";
+
+    public static final String MATCH = "match";
+    public static final String TRANSFORM = "transform";
+    public static final String RENDER = "render";
+    public static final String WRITE = "write";
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong unmatchedRequests = new AtomicLong();
+    private final LatencyHistogram matchLatency = new LatencyHistogram();
+    private final LatencyHistogram transformLatency = new LatencyHistogram();
+    private final LatencyHistogram renderLatency = new LatencyHistogram();
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+
+    public void requestServed(boolean matched) {
+        requests.incrementAndGet();
+        if (!matched) {
+            unmatchedRequests.incrementAndGet();
+        }
+    }
+
+    public void recordMatch(long nanos) {
+        matchLatency.recordNanos(nanos);
+    }
+
+    public void recordTransform(long nanos) {
+        transformLatency.recordNanos(nanos);
+    }
+
+    public void recordRender(long nanos) {
+        renderLatency.recordNanos(nanos);
+    }
+
+    public void recordWrite(long nanos) {
+        writeLatency.recordNanos(nanos);
+    }
+
+    public MetricsSnapshot snapshot(List<StubMapping> stubMappings) {
+        List<StubHitCount> stubHitCounts = newArrayList();
+        for (StubMapping stubMapping: stubMappings) {
+            stubHitCounts.add(StubHitCount.from(stubMapping));
+        }
+
+        return new MetricsSnapshot(
+                requests.get(),
+                unmatchedRequests.get(),
+                ImmutableMap.of(
+                        MATCH, matchLatency.snapshot(),
+                        TRANSFORM, transformLatency.snapshot(),
+                        RENDER, renderLatency.snapshot(),
+                        WRITE, writeLatency.snapshot()),
+                stubHitCounts);
+    }
+}
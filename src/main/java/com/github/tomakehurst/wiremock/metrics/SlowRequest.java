@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.Response;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class SlowRequest {
+
+    private final long sequence;
+    private final Date loggedDate;
+    private final RequestMethod method;
+    private final String url;
+    private final int status;
+    private final boolean matched;
+    private final double durationMillis;
+    private final Map<String, Double> phases;
+    private final int stubsEvaluated;
+    private final List<StubEvaluationCost> costliestStubEvaluations;
+
+    @JsonCreator
+    public SlowRequest(@JsonProperty("sequence") long sequence,
+                       @JsonProperty("loggedDate") Date loggedDate,
+                       @JsonProperty("method") RequestMethod method,
+                       @JsonProperty("url") String url,
+                       @JsonProperty("status") int status,
+                       @JsonProperty("matched") boolean matched,
+                       @JsonProperty("durationMillis") double durationMillis,
+                       @JsonProperty("phases") Map<String, Double> phases,
+                       @JsonProperty("stubsEvaluated") int stubsEvaluated,
+                       @JsonProperty("costliestStubEvaluations") List<StubEvaluationCost> costliestStubEvaluations) {
+        this.sequence = sequence;
+        this.loggedDate = loggedDate;
+        this.method = method;
+        this.url = url;
+        this.status = status;
+        this.matched = matched;
+        this.durationMillis = durationMillis;
+        this.phases = phases;
+        this.stubsEvaluated = stubsEvaluated;
+        this.costliestStubEvaluations = costliestStubEvaluations;
+    }
+
+    public static SlowRequest from(long sequence, Request request, Response response, PhaseTimings timings, long elapsedNanos) {
+        return new SlowRequest(
+                sequence,
+                new Date(),
+                request.getMethod(),
+                request.getUrl(),
+                response.getStatus(),
+                response.wasConfigured(),
+                (double) elapsedNanos / NANOSECONDS.convert(1, MILLISECONDS),
+                timings.toMillis(),
+                timings.getStubsEvaluated(),
+                timings.getCostliestStubEvaluations());
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Date getLoggedDate() {
+        return loggedDate;
+    }
+
+    public RequestMethod getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isMatched() {
+        return matched;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    public Map<String, Double> getPhases() {
+        return phases;
+    }
+
+    public int getStubsEvaluated() {
+        return stubsEvaluated;
+    }
+
+    public List<StubEvaluationCost> getCostliestStubEvaluations() {
+        return costliestStubEvaluations;
+    }
+}
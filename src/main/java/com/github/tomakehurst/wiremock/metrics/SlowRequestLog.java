@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestListener;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.google.common.base.Optional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Keeps the most recent requests that took longer than a threshold to serve, in a fixed size ring. Writers claim
+ * a slot with a single atomic increment and overwrite whatever was there, so a request under the threshold costs
+ * one comparison and nothing is ever locked.
+ */
+public class SlowRequestLog implements RequestListener {
+
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private final long thresholdMillis;
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowRequest> entries;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public SlowRequestLog(long thresholdMillis, int capacity) {
+        this.thresholdMillis = thresholdMillis;
+        this.thresholdNanos = MILLISECONDS.toNanos(thresholdMillis);
+        this.entries = new AtomicReferenceArray<SlowRequest>(capacity);
+    }
+
+    public static SlowRequestLog withThreshold(Optional<Integer> thresholdMillis) {
+        return thresholdMillis.isPresent() ?
+                new SlowRequestLog(thresholdMillis.get(), DEFAULT_CAPACITY) :
+                new SlowRequestLog(Long.MAX_VALUE, 0);
+    }
+
+    public boolean isEnabled() {
+        return entries.length() > 0;
+    }
+
+    @Override
+    public void requestReceived(Request request, Response response) {
+        PhaseTimings timings = PhaseTimings.current();
+        if (!timings.isEnabled() || !isEnabled()) {
+            return;
+        }
+
+        long elapsedNanos = timings.elapsedNanos();
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+
+        long sequence = nextSequence.getAndIncrement();
+        entries.set((int) (sequence % entries.length()), SlowRequest.from(sequence, request, response, timings, elapsedNanos));
+    }
+
+    public ListSlowRequestsResult getSlowRequests() {
+        List<SlowRequest> requests = new ArrayList<SlowRequest>(entries.length());
+        for (int i = 0; i < entries.length(); i++) {
+            SlowRequest request = entries.get(i);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+
+        Collections.sort(requests, new Comparator<SlowRequest>() {
+            public int compare(SlowRequest one, SlowRequest two) {
+                return Long.compare(two.getSequence(), one.getSequence());
+            }
+        });
+
+        return new ListSlowRequestsResult(isEnabled() ? thresholdMillis : -1, requests);
+    }
+
+    public void reset() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+}
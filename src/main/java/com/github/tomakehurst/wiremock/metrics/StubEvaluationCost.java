@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+
+public class StubEvaluationCost {
+
+    private final RequestMethod method;
+    private final String url;
+    private final double millis;
+
+    @JsonCreator
+    public StubEvaluationCost(@JsonProperty("method") RequestMethod method,
+                              @JsonProperty("url") String url,
+                              @JsonProperty("millis") double millis) {
+        this.method = method;
+        this.url = url;
+        this.millis = millis;
+    }
+
+    public static StubEvaluationCost from(StubMapping stubMapping, double millis) {
+        StubHitCount stub = StubHitCount.from(stubMapping);
+        return new StubEvaluationCost(stub.getMethod(), stub.getUrl(), millis);
+    }
+
+    public RequestMethod getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public double getMillis() {
+        return millis;
+    }
+}
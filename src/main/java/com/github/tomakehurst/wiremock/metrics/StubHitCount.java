@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+
+import java.util.UUID;
+
+/**
+ * The hits on one stub. Stubs can share a method and URL, e.g. when they match on headers, body or scenario state, so
+ * the stub's ID is what tells them apart.
+ */
+public class StubHitCount {
+
+    private final UUID id;
+    private final RequestMethod method;
+    private final String url;
+    private final long hits;
+
+    @JsonCreator
+    public StubHitCount(@JsonProperty("id") UUID id,
+                        @JsonProperty("method") RequestMethod method,
+                        @JsonProperty("url") String url,
+                        @JsonProperty("hits") long hits) {
+        this.id = id;
+        this.method = method;
+        this.url = url;
+        this.hits = hits;
+    }
+
+    public static StubHitCount from(StubMapping stubMapping) {
+        RequestPattern request = stubMapping.getRequest();
+        return new StubHitCount(stubMapping.getId(), request.getMethod(), request.getUrlSpec(), stubMapping.getHitCount());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public RequestMethod getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+}
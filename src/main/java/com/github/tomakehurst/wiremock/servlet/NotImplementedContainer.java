@@ -16,6 +16,10 @@
 package com.github.tomakehurst.wiremock.servlet;
 
 import com.github.tomakehurst.wiremock.core.Container;
+import com.github.tomakehurst.wiremock.http.ContainerStats;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.standalone.MappingsWatchStats;
+import com.github.tomakehurst.wiremock.stubbing.RecordingSnapshotResult;
 
 public class NotImplementedContainer implements Container {
     @Override
@@ -23,6 +27,21 @@ public class NotImplementedContainer implements Container {
         throw new UnsupportedOperationException("Server port number cannot be retrieved");
     }
 
+    @Override
+    public ContainerStats getContainerStats() {
+        throw new UnsupportedOperationException("Container statistics are not available when deployed as a web app");
+    }
+
+    @Override
+    public MappingsWatchStats getMappingsWatchStats() {
+        return MappingsWatchStats.disabled();
+    }
+
+    @Override
+    public RecordingSnapshotResult snapshotRecording(RequestPattern filter) {
+        return RecordingSnapshotResult.disabled();
+    }
+
     @Override
     public void shutdown() {
         throw new UnsupportedOperationException("Stopping the server is not supported");
@@ -16,11 +16,12 @@
 package com.github.tomakehurst.wiremock.servlet;
 
 import com.github.tomakehurst.wiremock.core.MappingsSaver;
+import com.github.tomakehurst.wiremock.core.SaveMappingsSpec;
 import com.github.tomakehurst.wiremock.stubbing.StubMappings;
 
 public class NotImplementedMappingsSaver implements MappingsSaver {
     @Override
-    public void saveMappings(StubMappings stubMappings) {
+    public void saveMappings(StubMappings stubMappings, SaveMappingsSpec spec) {
         throw new UnsupportedOperationException("Saving mappings is not supported");
     }
 }
@@ -19,10 +19,12 @@ import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.common.ServletContextFileSource;
 import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
 import com.github.tomakehurst.wiremock.core.MappingsSaver;
+import com.github.tomakehurst.wiremock.core.Options;
 import com.github.tomakehurst.wiremock.core.WireMockApp;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
 import com.github.tomakehurst.wiremock.global.NotImplementedRequestDelayControl;
 import com.github.tomakehurst.wiremock.http.*;
+import com.github.tomakehurst.wiremock.metrics.RequestMetrics;
 import com.github.tomakehurst.wiremock.standalone.JsonFileMappingsLoader;
 import com.google.common.base.Optional;
 
@@ -51,7 +53,8 @@ public class WireMockWebContextListener implements ServletContextListener {
                 fromNullable(context.getInitParameter("verboseLoggingEnabled"))
                         .or("true"));
 
-        JsonFileMappingsLoader defaultMappingsLoader = new JsonFileMappingsLoader(fileSource.child("mappings"));
+        Notifier notifier = new Slf4jNotifier(verboseLoggingEnabled);
+        JsonFileMappingsLoader defaultMappingsLoader = new JsonFileMappingsLoader(fileSource.child("mappings"), notifier);
         MappingsSaver mappingsSaver = new NotImplementedMappingsSaver();
         WireMockApp wireMockApp = new WireMockApp(
                 new NotImplementedRequestDelayControl(),
@@ -62,17 +65,20 @@ public class WireMockWebContextListener implements ServletContextListener {
                 maxRequestJournalEntries,
                 Collections.<String, ResponseTransformer>emptyMap(),
                 fileSource,
-                new NotImplementedContainer()
+                new NotImplementedContainer(),
+                readMatchCacheSize(context)
         );
         AdminRequestHandler adminRequestHandler = new AdminRequestHandler(wireMockApp, new BasicResponseRenderer());
         StubRequestHandler stubRequestHandler = new StubRequestHandler(wireMockApp,
                 new StubResponseRenderer(fileSource.child(FILES_ROOT),
                         wireMockApp.getGlobalSettingsHolder(),
-                        new ProxyResponseRenderer()));
+                        new ProxyResponseRenderer()),
+                wireMockApp.getRequestMetrics());
         context.setAttribute(APP_CONTEXT_KEY, wireMockApp);
         context.setAttribute(StubRequestHandler.class.getName(), stubRequestHandler);
         context.setAttribute(AdminRequestHandler.class.getName(), adminRequestHandler);
-        context.setAttribute(Notifier.KEY, new Slf4jNotifier(verboseLoggingEnabled));
+        context.setAttribute(Notifier.KEY, notifier);
+        context.setAttribute(RequestMetrics.KEY, wireMockApp.getRequestMetrics());
     }
 
     /**
@@ -87,6 +93,14 @@ public class WireMockWebContextListener implements ServletContextListener {
         return Optional.of(Integer.parseInt(str));
     }
 
+    private int readMatchCacheSize(ServletContext context) {
+        String str = context.getInitParameter("matchCacheSize");
+        if (str == null) {
+            return Options.DEFAULT_MATCH_CACHE_SIZE;
+        }
+        return Integer.parseInt(str);
+    }
+
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
     }
@@ -40,11 +40,13 @@ import joptsimple.OptionSet;
 
 import static com.github.tomakehurst.wiremock.common.ProxySettings.*;
 import static com.github.tomakehurst.wiremock.http.CaseInsensitiveKey.*;
+import static com.github.tomakehurst.wiremock.stubbing.DeferredStubMappingRecorder.DEFAULT_MAX_CAPTURED_EXCHANGES;
 
 public class CommandLineOptions implements Options {
 	
 	private static final String HELP = "help";
 	private static final String RECORD_MAPPINGS = "record-mappings";
+    private static final String RECORD_MAPPINGS_DEFERRED = "record-mappings-deferred";
 	private static final String MATCH_HEADERS = "match-headers";
 	private static final String PROXY_ALL = "proxy-all";
     private static final String PRESERVE_HOST_HEADER = "preserve-host-header";
@@ -67,6 +69,11 @@ public class CommandLineOptions implements Options {
     private static final String JETTY_HEADER_BUFFER_SIZE = "jetty-header-buffer-size";
     private static final String ROOT_DIR = "root-dir";
     private static final String CONTAINER_THREADS = "container-threads";
+    private static final String MATCH_CACHE_SIZE = "match-cache-size";
+    private static final String PHASE_TIMING = "phase-timing";
+    private static final String SLOW_REQUEST_THRESHOLD = "slow-request-threshold";
+    private static final String WATCH_MAPPINGS = "watch-mappings";
+    private static final String CONTAINER_STATS = "container-stats";
 
     private final OptionSet optionSet;
 	private String helpText;
@@ -86,6 +93,7 @@ public class CommandLineOptions implements Options {
         optionParser.accepts(PRESERVE_HOST_HEADER, "Will transfer the original host header from the client to the proxied service");
         optionParser.accepts(PROXY_VIA, "Specifies a proxy server to use when routing proxy mapped requests").withRequiredArg();
 		optionParser.accepts(RECORD_MAPPINGS, "Enable recording of all (non-admin) requests as mapping files");
+        optionParser.accepts(RECORD_MAPPINGS_DEFERRED, "Capture up to the given number of proxied requests and responses in memory, only writing them as mapping files when a snapshot is requested via the admin API. Default: " + DEFAULT_MAX_CAPTURED_EXCHANGES).withOptionalArg();
 		optionParser.accepts(MATCH_HEADERS, "Enable request header matching when recording through a proxy").withRequiredArg();
 		optionParser.accepts(ROOT_DIR, "Specifies path for storing recordings (parent for " + WireMockServer.MAPPINGS_ROOT + " and " + WireMockServer.FILES_ROOT + " folders)").withRequiredArg().defaultsTo(".");
 		optionParser.accepts(VERBOSE, "Enable verbose logging to stdout");
@@ -96,6 +104,11 @@ public class CommandLineOptions implements Options {
         optionParser.accepts(JETTY_ACCEPTOR_THREAD_COUNT, "Number of Jetty acceptor threads").withRequiredArg();
         optionParser.accepts(JETTY_ACCEPT_QUEUE_SIZE, "The size of Jetty's accept queue size").withRequiredArg();
         optionParser.accepts(JETTY_HEADER_BUFFER_SIZE, "The size of Jetty's buffer for request headers").withRequiredArg();
+        optionParser.accepts(MATCH_CACHE_SIZE, "Maximum number of request-to-stub match results to memoize. Default: 0 (disabled)").withRequiredArg();
+        optionParser.accepts(PHASE_TIMING, "Time each phase of serving a stubbed request, report it in a Server-Timing response header and keep it in the request journal");
+        optionParser.accepts(SLOW_REQUEST_THRESHOLD, "Log requests that take longer than this many milliseconds to serve, for retrieval via the admin API").withRequiredArg();
+        optionParser.accepts(WATCH_MAPPINGS, "Apply created, modified and deleted mapping files while running, batching changes until none has arrived for the given number of milliseconds. Default interval: " + DEFAULT_MAPPINGS_WATCH_DEBOUNCE_MILLIS).withOptionalArg();
+        optionParser.accepts(CONTAINER_STATS, "Count connections and requests on each connector, report them via the admin API and publish the container statistics over JMX");
         optionParser.accepts(HELP, "Print this message");
 		
 		optionSet = optionParser.parse(args);
@@ -108,8 +121,8 @@ public class CommandLineOptions implements Options {
             throw new IllegalArgumentException("HTTPS port number must be specified if specifying the keystore path");
         }
 
-        if (optionSet.has(RECORD_MAPPINGS) && optionSet.has(DISABLE_REQUEST_JOURNAL)) {
-            throw new IllegalArgumentException("Request journal must be enabled to record stubs");
+        if (optionSet.has(RECORD_MAPPINGS) && optionSet.has(RECORD_MAPPINGS_DEFERRED)) {
+            throw new IllegalArgumentException("Mappings can be recorded either as requests arrive or deferred, not both");
         }
     }
 
@@ -133,6 +146,16 @@ public class CommandLineOptions implements Options {
 	public boolean recordMappingsEnabled() {
 		return optionSet.has(RECORD_MAPPINGS);
 	}
+
+    public Optional<Integer> deferredRecordingMaxCapturedExchanges() {
+        if (!optionSet.has(RECORD_MAPPINGS_DEFERRED)) {
+            return Optional.absent();
+        }
+        if (optionSet.hasArgument(RECORD_MAPPINGS_DEFERRED)) {
+            return Optional.of(Integer.parseInt((String) optionSet.valueOf(RECORD_MAPPINGS_DEFERRED)));
+        }
+        return Optional.of(DEFAULT_MAX_CAPTURED_EXCHANGES);
+    }
 	
 	@Override
 	public List<CaseInsensitiveKey> matchingHeaders() {
@@ -291,6 +314,44 @@ public class CommandLineOptions implements Options {
         return DEFAULT_CONTAINER_THREADS;
     }
 
+    @Override
+    public int matchCacheSize() {
+        if (optionSet.has(MATCH_CACHE_SIZE)) {
+            return Integer.parseInt((String) optionSet.valueOf(MATCH_CACHE_SIZE));
+        }
+
+        return DEFAULT_MATCH_CACHE_SIZE;
+    }
+
+    @Override
+    public boolean phaseTimingEnabled() {
+        return optionSet.has(PHASE_TIMING);
+    }
+
+    @Override
+    public boolean containerStatsEnabled() {
+        return optionSet.has(CONTAINER_STATS);
+    }
+
+    @Override
+    public Optional<Integer> slowRequestThresholdMillis() {
+        if (optionSet.has(SLOW_REQUEST_THRESHOLD)) {
+            return Optional.of(Integer.parseInt((String) optionSet.valueOf(SLOW_REQUEST_THRESHOLD)));
+        }
+        return Optional.absent();
+    }
+
+    @Override
+    public Optional<Integer> mappingsWatchDebounceMillis() {
+        if (!optionSet.has(WATCH_MAPPINGS)) {
+            return Optional.absent();
+        }
+        if (optionSet.hasArgument(WATCH_MAPPINGS)) {
+            return Optional.of(Integer.parseInt((String) optionSet.valueOf(WATCH_MAPPINGS)));
+        }
+        return Optional.of(DEFAULT_MAPPINGS_WATCH_DEBOUNCE_MILLIS);
+    }
+
     @Override
     public String toString() {
         ImmutableMap.Builder<String, Object> builder = ImmutableMap.builder();
@@ -316,6 +377,11 @@ public class CommandLineOptions implements Options {
                     .put(MATCH_HEADERS, matchingHeaders());
         }
 
+        if (deferredRecordingMaxCapturedExchanges().isPresent()) {
+            builder.put(RECORD_MAPPINGS_DEFERRED, deferredRecordingMaxCapturedExchanges().get())
+                    .put(MATCH_HEADERS, matchingHeaders());
+        }
+
         builder.put(DISABLE_REQUEST_JOURNAL, requestJournalDisabled())
                .put(VERBOSE, verboseLoggingEnabled());
 
@@ -331,6 +397,26 @@ public class CommandLineOptions implements Options {
             builder.put(JETTY_HEADER_BUFFER_SIZE, jettySettings().getRequestHeaderSize().get());
         }
 
+        if (matchCacheSize() > 0) {
+            builder.put(MATCH_CACHE_SIZE, matchCacheSize());
+        }
+
+        if (phaseTimingEnabled()) {
+            builder.put(PHASE_TIMING, phaseTimingEnabled());
+        }
+
+        if (slowRequestThresholdMillis().isPresent()) {
+            builder.put(SLOW_REQUEST_THRESHOLD, slowRequestThresholdMillis().get());
+        }
+
+        if (mappingsWatchDebounceMillis().isPresent()) {
+            builder.put(WATCH_MAPPINGS, mappingsWatchDebounceMillis().get());
+        }
+
+        if (containerStatsEnabled()) {
+            builder.put(CONTAINER_STATS, containerStatsEnabled());
+        }
+
         StringBuilder sb = new StringBuilder();
         for (Map.Entry<String, Object> param: builder.build().entrySet()) {
             int paddingLength = 29 - param.getKey().length();
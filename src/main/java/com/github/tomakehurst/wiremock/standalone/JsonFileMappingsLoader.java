@@ -15,36 +15,134 @@
  */
 package com.github.tomakehurst.wiremock.standalone;
 
+import com.github.tomakehurst.wiremock.common.ConsoleNotifier;
 import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.common.TextFile;
-import com.github.tomakehurst.wiremock.stubbing.JsonStubMappingCreator;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.stubbing.StubMappings;
 import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableSet;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Charsets.UTF_8;
 import static com.google.common.collect.Iterables.filter;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.io.Closeables.closeQuietly;
 
+/**
+ * Loads stub mappings from the files under the mappings directory. A <code>.json</code> file holds either a single
+ * mapping or a JSON array of them, and a <code>.ndjson</code> file holds one mapping per line. Each file is read into
+ * a list of its mappings, and everything found is added to the stub store as a single batch. A file that can't be
+ * read is reported to the notifier and skipped, so it doesn't stop the others from loading.
+ *
+ * A mapping without an ID is given one derived from its file's location and its position in the file, and the IDs
+ * loaded from each file are remembered so that later changes to the file can be applied to those stubs alone.
+ */
 public class JsonFileMappingsLoader implements MappingsLoader {
 
 	private final FileSource mappingsFileSource;
+	private final Notifier notifier;
+	private final ConcurrentHashMap<URI, List<UUID>> stubIdsByFile = new ConcurrentHashMap<URI, List<UUID>>();
 	
-	public JsonFileMappingsLoader(FileSource mappingsFileSource) {
+	public JsonFileMappingsLoader(FileSource mappingsFileSource, Notifier notifier) {
 		this.mappingsFileSource = mappingsFileSource;
+		this.notifier = notifier;
+	}
+
+	public JsonFileMappingsLoader(FileSource mappingsFileSource) {
+		this(mappingsFileSource, new ConsoleNotifier(false));
 	}
 
 	@Override
 	public void loadMappingsInto(StubMappings stubMappings) {
-		JsonStubMappingCreator jsonStubMappingCreator = new JsonStubMappingCreator(stubMappings);
-		Iterable<TextFile> mappingFiles = filter(mappingsFileSource.listFilesRecursively(), byFileExtension("json"));
+		stubIdsByFile.clear();
+		Iterable<TextFile> mappingFiles = filter(mappingsFileSource.listFilesRecursively(), MAPPING_FILES);
+		List<StubMapping> mappings = newArrayList();
 		for (TextFile mappingFile: mappingFiles) {
-			jsonStubMappingCreator.addMappingFrom(mappingFile.readContentsAsString());
+			try {
+				mappings.addAll(loadMappingsFrom(mappingFile));
+			} catch (RuntimeException e) {
+				notifier.error("Failed to load mapping file " + mappingFile.name() + ": " + e.getMessage());
+			}
 		}
+		stubMappings.addMappings(mappings);
 	}
-	
-	private Predicate<TextFile> byFileExtension(final String extension) {
-		return new Predicate<TextFile>() {
-			public boolean apply(TextFile input) {
-				return input.name().endsWith("." + extension);
+
+	public FileSource getMappingsFileSource() {
+		return mappingsFileSource;
+	}
+
+	/**
+	 * Reads the mappings in the file and remembers their IDs as the ones belonging to the file.
+	 */
+	public List<StubMapping> loadMappingsFrom(TextFile mappingFile) {
+		URI uri = uriOf(mappingFile);
+		List<StubMapping> mappings = readMappingsFrom(mappingFile);
+		List<UUID> ids = newArrayListWithCapacity(mappings.size());
+		for (int i = 0; i < mappings.size(); i++) {
+			StubMapping mapping = mappings.get(i);
+			mapping.setTransient(false);
+			if (mapping.getId() == null) {
+				String location = i == 0 ? uri.toString() : uri + "#" + i;
+				mapping.setId(UUID.nameUUIDFromBytes(location.getBytes(UTF_8)));
 			}
-		};
+			ids.add(mapping.getId());
+		}
+
+		stubIdsByFile.put(uri, ids);
+		return mappings;
 	}
+
+	/**
+	 * @return The IDs of the stubs last loaded from the file, empty if none were.
+	 */
+	public List<UUID> stubIdsFor(TextFile mappingFile) {
+		List<UUID> ids = stubIdsByFile.get(uriOf(mappingFile));
+		return ids != null ? ids : Collections.<UUID>emptyList();
+	}
+
+	/**
+	 * @return The IDs of the stubs last loaded from the file, empty if none were.
+	 */
+	public List<UUID> forget(TextFile mappingFile) {
+		List<UUID> ids = stubIdsByFile.remove(uriOf(mappingFile));
+		return ids != null ? ids : Collections.<UUID>emptyList();
+	}
+
+	public Set<URI> loadedFiles() {
+		return ImmutableSet.copyOf(stubIdsByFile.keySet());
+	}
+
+	public static boolean isMappingFile(String name) {
+		return name.endsWith(".json") || name.endsWith(".ndjson");
+	}
+
+	private static List<StubMapping> readMappingsFrom(TextFile mappingFile) {
+		InputStream stream = mappingFile.getStream();
+		try {
+			return Json.readAll(stream, StubMapping.class);
+		} finally {
+			closeQuietly(stream);
+		}
+	}
+
+	private static URI uriOf(TextFile mappingFile) {
+		return URI.create(mappingFile.name()).normalize();
+	}
+
+	private static final Predicate<TextFile> MAPPING_FILES = new Predicate<TextFile>() {
+		public boolean apply(TextFile input) {
+			return isMappingFile(input.name());
+		}
+	};
 }
@@ -15,19 +15,28 @@
  */
 package com.github.tomakehurst.wiremock.standalone;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.common.VeryShortIdGenerator;
 import com.github.tomakehurst.wiremock.core.MappingsSaver;
+import com.github.tomakehurst.wiremock.core.SaveMappingsSpec;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.stubbing.StubMappings;
 import com.google.common.base.Predicate;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
 
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
 import static com.github.tomakehurst.wiremock.common.Json.write;
 import static com.google.common.collect.Collections2.filter;
 
 public class JsonFileMappingsSaver implements MappingsSaver {
+
+    private static final ObjectWriter COMPACT_WRITER = new ObjectMapper().writer();
+
     private final FileSource mappingsFileSource;
     private final VeryShortIdGenerator idGenerator;
 
@@ -36,18 +45,58 @@ public class JsonFileMappingsSaver implements MappingsSaver {
         idGenerator = new VeryShortIdGenerator();
     }
 
-    public void saveMappings(StubMappings stubMappings) {
+    public void saveMappings(StubMappings stubMappings, SaveMappingsSpec spec) {
         Collection<StubMapping> transientStubs = filter(stubMappings.getAll(), new Predicate<StubMapping>() {
             public boolean apply(StubMapping input) {
                 return input != null && input.isTransient();
             }
         });
 
+        if (spec.hasBundle()) {
+            saveBundle(spec.getBundle(), transientStubs);
+        } else {
+            for (StubMapping mapping : transientStubs) {
+                String fileId = idGenerator.generate();
+                String mappingFileName = "saved-mapping-" + fileId + ".json";
+                mappingsFileSource.writeTextFile(mappingFileName, write(mapping));
+            }
+        }
+
         for (StubMapping mapping : transientStubs) {
-            String fileId = idGenerator.generate();
-            String mappingFileName = "saved-mapping-" + fileId + ".json";
-            mappingsFileSource.writeTextFile(mappingFileName, write(mapping));
             mapping.setTransient(false);
         }
     }
+
+    /**
+     * Writes the mappings compactly, one per line, either as newline-delimited JSON or as the elements of a JSON array.
+     * An existing bundle is never overwritten, as the mappings saved to it before are no longer unsaved and so would
+     * be missing from the new one.
+     */
+    private void saveBundle(String fileName, Collection<StubMapping> mappings) {
+        if (!JsonFileMappingsLoader.isMappingFile(fileName)) {
+            throw new IllegalArgumentException("A mappings bundle must be named *.json or *.ndjson, but was " + fileName);
+        }
+        if (new File(mappingsFileSource.getPath(), fileName).exists()) {
+            throw new MappingsBundleExistsException(fileName);
+        }
+
+        boolean jsonArray = fileName.endsWith(".json");
+        StringBuilder bundle = new StringBuilder(jsonArray ? "[\n" : "");
+        String separator = "";
+        for (StubMapping mapping : mappings) {
+            bundle.append(separator).append(writeCompact(mapping));
+            separator = jsonArray ? ",\n" : "\n";
+        }
+        bundle.append(jsonArray ? "\n]\n" : "\n");
+
+        mappingsFileSource.writeTextFile(fileName, bundle.toString());
+    }
+
+    private static String writeCompact(StubMapping mapping) {
+        try {
+            return COMPACT_WRITER.writeValueAsString(mapping);
+        } catch (IOException e) {
+            return throwUnchecked(e, String.class);
+        }
+    }
 }
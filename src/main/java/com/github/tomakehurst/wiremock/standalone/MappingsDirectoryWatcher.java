@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.standalone;
+
+import com.github.tomakehurst.wiremock.common.Notifier;
+import com.github.tomakehurst.wiremock.common.TextFile;
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.StubMappingNotFoundException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Watches the mappings directory tree and applies only the mapping files that were created, modified or deleted,
+ * rather than reloading every file. Events are gathered until none has arrived for the debounce interval (or for at
+ * most ten intervals under a constant stream of changes), then applied as one batch. The stubs from changed files are
+ * imported together, so requests see either all of them or none. Stubs from deleted files, or dropped from changed
+ * ones, are then removed by ID one at a time, so a request can briefly see the new stubs alongside some old ones.
+ * If applying a batch fails, the failure is counted and logged and watching carries on.
+ */
+public class MappingsDirectoryWatcher implements Runnable {
+
+    private static final int MAX_DEBOUNCE_INTERVALS_PER_BATCH = 10;
+
+    private final JsonFileMappingsLoader mappingsLoader;
+    private final Admin admin;
+    private final long debounceMillis;
+    private final Notifier notifier;
+    private final Path root;
+    private final ConcurrentHashMap<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<WatchKey, Path>();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong filesChanged = new AtomicLong();
+    private final AtomicLong stubsAddedOrUpdated = new AtomicLong();
+    private final AtomicLong stubsRemoved = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastReloadMillis;
+    private volatile long maxReloadMillis;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    public MappingsDirectoryWatcher(JsonFileMappingsLoader mappingsLoader, Admin admin, long debounceMillis, Notifier notifier) {
+        this.mappingsLoader = mappingsLoader;
+        this.admin = admin;
+        this.debounceMillis = debounceMillis;
+        this.notifier = notifier;
+        this.root = Paths.get(mappingsLoader.getMappingsFileSource().getPath());
+    }
+
+    public synchronized void start() {
+        try {
+            watchService = root.getFileSystem().newWatchService();
+            registerRecursively(root);
+        } catch (IOException e) {
+            throwUnchecked(e);
+        }
+
+        thread = new Thread(this, "wiremock-mappings-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        notifier.info("Watching " + root + " for mapping changes");
+    }
+
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            notifier.error("Failed to close the mappings watch service: " + e.getMessage());
+        }
+        thread.interrupt();
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                long firstEventNanos = System.nanoTime();
+                long batchDeadlineNanos = firstEventNanos + MILLISECONDS.toNanos(debounceMillis * MAX_DEBOUNCE_INTERVALS_PER_BATCH);
+                Set<Path> changedFiles = new LinkedHashSet<Path>();
+                do {
+                    collectChanges(key, changedFiles);
+                    key = System.nanoTime() < batchDeadlineNanos ? watchService.poll(debounceMillis, MILLISECONDS) : null;
+                } while (key != null);
+
+                try {
+                    apply(changedFiles, firstEventNanos);
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                    notifier.error("Failed to apply changes to " + changedFiles.size() + " mapping files: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    public MappingsWatchStats getStats() {
+        return new MappingsWatchStats(
+                true,
+                batches.get(),
+                filesChanged.get(),
+                stubsAddedOrUpdated.get(),
+                stubsRemoved.get(),
+                failures.get(),
+                lastReloadMillis,
+                maxReloadMillis);
+    }
+
+    private void collectChanges(WatchKey key, Set<Path> changedFiles) {
+        Path directory = watchedDirectories.get(key);
+        for (WatchEvent<?> event: key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                changedFiles.addAll(allMappingFiles());
+                continue;
+            }
+
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                registerRecursively(path);
+                changedFiles.addAll(mappingFilesUnder(path));
+            } else if (isMappingFile(path)) {
+                changedFiles.add(path);
+            }
+        }
+
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    private void apply(Set<Path> changedFiles, long firstEventNanos) {
+        List<StubMapping> addedOrUpdated = newArrayList();
+        List<UUID> removedIds = newArrayList();
+        int failed = 0;
+        for (Path path: changedFiles) {
+            TextFile mappingFile = new TextFile(path.toFile().toURI());
+            List<UUID> previousIds = mappingsLoader.stubIdsFor(mappingFile);
+            if (Files.isRegularFile(path)) {
+                try {
+                    List<StubMapping> mappings = mappingsLoader.loadMappingsFrom(mappingFile);
+                    addedOrUpdated.addAll(mappings);
+                    Set<UUID> droppedIds = new LinkedHashSet<UUID>(previousIds);
+                    for (StubMapping mapping: mappings) {
+                        droppedIds.remove(mapping.getId());
+                    }
+                    removedIds.addAll(droppedIds);
+                } catch (Exception e) {
+                    failed++;
+                    notifier.error("Failed to load mapping file " + path + ": " + e.getMessage());
+                }
+            } else {
+                removedIds.addAll(mappingsLoader.forget(mappingFile));
+            }
+        }
+
+        if (!addedOrUpdated.isEmpty()) {
+            admin.importStubMappings(addedOrUpdated);
+        }
+        int removed = 0;
+        for (UUID id: removedIds) {
+            try {
+                admin.removeStubMapping(id);
+                removed++;
+            } catch (StubMappingNotFoundException e) {
+                // Already gone, e.g. removed through the admin API
+            }
+        }
+
+        long reloadMillis = NANOSECONDS.toMillis(System.nanoTime() - firstEventNanos);
+        batches.incrementAndGet();
+        filesChanged.addAndGet(changedFiles.size());
+        stubsAddedOrUpdated.addAndGet(addedOrUpdated.size());
+        stubsRemoved.addAndGet(removed);
+        failures.addAndGet(failed);
+        lastReloadMillis = reloadMillis;
+        maxReloadMillis = Math.max(maxReloadMillis, reloadMillis);
+
+        notifier.info(String.format(
+                "Applied %d changed mapping files in %dms: %d stubs added or updated, %d removed, %d failed",
+                changedFiles.size(), reloadMillis, addedOrUpdated.size(), removed, failed));
+    }
+
+    private Set<Path> allMappingFiles() {
+        Set<Path> files = new LinkedHashSet<Path>(mappingFilesUnder(root));
+        for (URI uri: mappingsLoader.loadedFiles()) {
+            files.add(Paths.get(uri));
+        }
+        return files;
+    }
+
+    private List<Path> mappingFilesUnder(Path directory) {
+        final List<Path> files = newArrayList();
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (isMappingFile(file)) {
+                        files.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            notifier.error("Failed to list mapping files under " + directory + ": " + e.getMessage());
+        }
+        return files;
+    }
+
+    private void registerRecursively(Path directory) {
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    watchedDirectories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            notifier.error("Failed to watch " + directory + " for mapping changes: " + e.getMessage());
+        }
+    }
+
+    private static boolean isMappingFile(Path path) {
+        return JsonFileMappingsLoader.isMappingFile(path.getFileName().toString());
+    }
+}
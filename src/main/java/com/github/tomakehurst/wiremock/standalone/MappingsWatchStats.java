@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.standalone;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Counts of the mapping file changes applied while watching the mappings directory, and how long each batch of
+ * changes took to reach the stub store from the first file event.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MappingsWatchStats {
+
+    private final boolean enabled;
+    private final long batches;
+    private final long filesChanged;
+    private final long stubsAddedOrUpdated;
+    private final long stubsRemoved;
+    private final long failures;
+    private final long lastReloadMillis;
+    private final long maxReloadMillis;
+
+    @JsonCreator
+    public MappingsWatchStats(@JsonProperty("enabled") boolean enabled,
+                              @JsonProperty("batches") long batches,
+                              @JsonProperty("filesChanged") long filesChanged,
+                              @JsonProperty("stubsAddedOrUpdated") long stubsAddedOrUpdated,
+                              @JsonProperty("stubsRemoved") long stubsRemoved,
+                              @JsonProperty("failures") long failures,
+                              @JsonProperty("lastReloadMillis") long lastReloadMillis,
+                              @JsonProperty("maxReloadMillis") long maxReloadMillis) {
+        this.enabled = enabled;
+        this.batches = batches;
+        this.filesChanged = filesChanged;
+        this.stubsAddedOrUpdated = stubsAddedOrUpdated;
+        this.stubsRemoved = stubsRemoved;
+        this.failures = failures;
+        this.lastReloadMillis = lastReloadMillis;
+        this.maxReloadMillis = maxReloadMillis;
+    }
+
+    public static MappingsWatchStats disabled() {
+        return new MappingsWatchStats(false, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getFilesChanged() {
+        return filesChanged;
+    }
+
+    public long getStubsAddedOrUpdated() {
+        return stubsAddedOrUpdated;
+    }
+
+    public long getStubsRemoved() {
+        return stubsRemoved;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getLastReloadMillis() {
+        return lastReloadMillis;
+    }
+
+    public long getMaxReloadMillis() {
+        return maxReloadMillis;
+    }
+}
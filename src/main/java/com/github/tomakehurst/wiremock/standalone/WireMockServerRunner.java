@@ -65,6 +65,11 @@ public class WireMockServerRunner {
             wireMockServer.enableRecordMappings(mappingsFileSource, filesFileSource);
         }
 
+        if (options.deferredRecordingMaxCapturedExchanges().isPresent()) {
+            wireMockServer.enableDeferredRecordMappings(
+                mappingsFileSource, filesFileSource, options.deferredRecordingMaxCapturedExchanges().get());
+        }
+
 		if (options.specifiesProxyUrl()) {
 			addProxyMapping(options.proxyUrl());
 		}
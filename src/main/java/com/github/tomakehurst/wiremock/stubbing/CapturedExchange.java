@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+/**
+ * A proxied request and the response it got, held until it is turned into a stub mapping.
+ */
+public class CapturedExchange {
+
+    private final LoggedRequest request;
+    private final Response response;
+
+    public CapturedExchange(LoggedRequest request, Response response) {
+        this.request = request;
+        this.response = response;
+    }
+
+    public LoggedRequest getRequest() {
+        return request;
+    }
+
+    public Response getResponse() {
+        return response;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.core.ResetListener;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestListener;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Records proxied traffic in two phases. While requests are served their exchanges are only copied into a bounded
+ * buffer; building, serializing and writing the stub mappings is left to {@link #snapshot}, which writes the mappings
+ * of the exchanges matching its filter in parallel and only then takes them out of the buffer, so that a failed write
+ * leaves them there to be retried. Those not matching stay buffered for a later snapshot until the journal is reset,
+ * which empties the buffer. Once the buffer is full further exchanges are dropped, and counted, until the next snapshot.
+ */
+public class DeferredStubMappingRecorder implements RequestListener, ResetListener {
+
+    public static final int DEFAULT_MAX_CAPTURED_EXCHANGES = 10000;
+
+    private final StubMappingJsonRecorder recorder;
+    private final BlockingQueue<CapturedExchange> capturedExchanges;
+    private final AtomicLong dropped = new AtomicLong();
+    private ExecutorService executor;
+
+    public DeferredStubMappingRecorder(StubMappingJsonRecorder recorder, int maxCapturedExchanges) {
+        this.recorder = recorder;
+        capturedExchanges = new ArrayBlockingQueue<CapturedExchange>(maxCapturedExchanges);
+    }
+
+    @Override
+    public void requestReceived(Request request, Response response) {
+        if (!response.isFromProxy()) {
+            return;
+        }
+
+        if (capturedExchanges.remainingCapacity() == 0 ||
+                !capturedExchanges.offer(new CapturedExchange(LoggedRequest.createFrom(request), response))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public synchronized RecordingSnapshotResult snapshot(RequestPattern filter) {
+        long droppedSinceLastSnapshot = dropped.getAndSet(0);
+
+        int captured = 0;
+        List<CapturedExchange> selected = new ArrayList<CapturedExchange>();
+        for (CapturedExchange exchange: capturedExchanges) {
+            captured++;
+            if (filter.isMatchedBy(exchange.getRequest())) {
+                selected.add(exchange);
+            }
+        }
+
+        int recorded;
+        try {
+            recorded = recorder.recordAll(selected, executor());
+        } catch (RuntimeException e) {
+            dropped.addAndGet(droppedSinceLastSnapshot);
+            throw e;
+        }
+
+        Collection<CapturedExchange> written = Collections.newSetFromMap(new IdentityHashMap<CapturedExchange, Boolean>());
+        written.addAll(selected);
+        capturedExchanges.removeAll(written);
+
+        return new RecordingSnapshotResult(
+                true,
+                captured,
+                captured - selected.size(),
+                selected.size() - recorded,
+                recorded,
+                droppedSinceLastSnapshot);
+    }
+
+    /**
+     * Discards every buffered exchange, including those left behind by earlier snapshots' filters.
+     */
+    @Override
+    public synchronized void reset() {
+        capturedExchanges.clear();
+        dropped.set(0);
+    }
+
+    private ExecutorService executor() {
+        if (executor == null) {
+            int threads = Runtime.getRuntime().availableProcessors();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    threads, threads, 60, SECONDS,
+                    new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactoryBuilder().setDaemon(true).setNameFormat("wiremock-recording-%d").build());
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+
+        return executor;
+    }
+
+    public int getCapturedCount() {
+        return capturedExchanges.size();
+    }
+}
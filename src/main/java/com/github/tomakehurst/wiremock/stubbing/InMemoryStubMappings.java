@@ -15,13 +15,21 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
+import com.github.tomakehurst.wiremock.extension.ResponseTransformerRegistry;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.http.StubResponseRenderer;
+import com.github.tomakehurst.wiremock.metrics.FlightRecorderEvents;
+import com.github.tomakehurst.wiremock.metrics.PhaseTimings;
+import com.github.tomakehurst.wiremock.metrics.StubHitCount;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.github.tomakehurst.wiremock.common.LocalNotifier.notifier;
 import static com.github.tomakehurst.wiremock.http.ResponseDefinition.copyOf;
@@ -33,17 +41,104 @@ public class InMemoryStubMappings implements StubMappings {
 	
 	private final SortedConcurrentMappingSet mappings = new SortedConcurrentMappingSet();
 	private final ConcurrentHashMap<String, Scenario> scenarioMap = new ConcurrentHashMap<String, Scenario>();
+	private final MatchResultCache matchResultCache;
+	private final NegativeLookupFilter negativeLookupFilter = new NegativeLookupFilter();
+	private final AtomicLong scenarioTransitionRetries = new AtomicLong();
+	private int staleLookupEntries;
+	private final ResponseTransformerRegistry transformerRegistry;
+
+	public InMemoryStubMappings(int matchCacheSize, ResponseTransformerRegistry transformerRegistry) {
+		matchResultCache = new MatchResultCache(matchCacheSize);
+		this.transformerRegistry = transformerRegistry;
+	}
+
+	public InMemoryStubMappings(int matchCacheSize) {
+		this(matchCacheSize, ResponseTransformerRegistry.none());
+	}
+
+	public InMemoryStubMappings() {
+		this(0);
+	}
 	
 	@Override
 	public ResponseDefinition serveFor(Request request) {
-		StubMapping matchingMapping = find(
-				mappings,
-				mappingMatchingAndInCorrectScenarioState(request),
-				StubMapping.NOT_CONFIGURED);
-		
+		StubMapping matchingMapping = matchResultCache.get(request, matchingMappingLoader(request));
+		while (!transitionScenarioIfRequired(matchingMapping)) {
+			scenarioTransitionRetries.incrementAndGet();
+			matchingMapping = findMatchingMapping(request);
+		}
+
+		if (matchingMapping != NOT_CONFIGURED) {
+			matchingMapping.recordHit();
+		}
+
 		notifyIfResponseNotConfigured(request, matchingMapping);
-		matchingMapping.updateScenarioStateIfRequired();
-		return copyOf(matchingMapping.getResponse());
+		if (matchingMapping.getResponse().getPrerenderedResponse() != null) {
+			// Static, so nothing downstream changes it and it can be shared instead of copied
+			return matchingMapping.getResponse();
+		}
+
+		ResponseDefinition responseDefinition = copyOf(matchingMapping.getResponse());
+		if (matchingMapping != NOT_CONFIGURED) {
+			responseDefinition.setMatchedStub(matchingMapping.getLabel());
+		}
+		return responseDefinition;
+	}
+
+	private boolean transitionScenarioIfRequired(StubMapping matchingMapping) {
+		if (!matchingMapping.updateScenarioStateIfRequired()) {
+			return false;
+		}
+
+		if (matchingMapping.isInScenario() && matchingMapping.modifiesScenarioState()) {
+			matchResultCache.invalidate();
+		}
+
+		return true;
+	}
+
+	private Callable<StubMapping> matchingMappingLoader(final Request request) {
+		return new Callable<StubMapping>() {
+			public StubMapping call() {
+				return findMatchingMapping(request);
+			}
+		};
+	}
+
+	private StubMapping findMatchingMapping(Request request) {
+		if (!negativeLookupFilter.mightMatch(request)) {
+			return NOT_CONFIGURED;
+		}
+
+		PhaseTimings timings = PhaseTimings.current();
+		FlightRecorderEvents.Event event = FlightRecorderEvents.STUB_MATCH.begin();
+		if (!event.isRecording() && !timings.isEnabled()) {
+			return find(
+					mappings,
+					mappingMatchingAndInCorrectScenarioState(request),
+					StubMapping.NOT_CONFIGURED);
+		}
+
+		InstrumentedPredicate predicate =
+				new InstrumentedPredicate(mappingMatchingAndInCorrectScenarioState(request), timings);
+		StubMapping matchingMapping = find(mappings, predicate, StubMapping.NOT_CONFIGURED);
+		if (event.isRecording()) {
+			event.set(0, request.getMethod().toString())
+					.set(1, request.getUrl())
+					.set(2, predicate.count)
+					.set(3, describe(matchingMapping))
+					.commit();
+		}
+		return matchingMapping;
+	}
+
+	private static String describe(StubMapping mapping) {
+		if (mapping == NOT_CONFIGURED) {
+			return null;
+		}
+
+		StubHitCount stub = StubHitCount.from(mapping);
+		return stub.getMethod() + " " + stub.getUrl();
 	}
 
 	private void notifyIfResponseNotConfigured(Request request, StubMapping matchingMapping) {
@@ -53,20 +148,122 @@ public class InMemoryStubMappings implements StubMappings {
 	}
 
 	@Override
-	public void addMapping(StubMapping mapping) {
+	public synchronized void addMapping(StubMapping mapping) {
+		prepare(mapping);
+		mappings.add(mapping);
+		negativeLookupFilter.register(mapping);
+		matchResultCache.register(mapping);
+	}
+
+	/**
+	 * Adds a batch of mappings so that requests see either none or all of them. The negative lookup filter is
+	 * widened before the batch is published and the match cache invalidated after, so neither can hide a new mapping.
+	 */
+	@Override
+	public synchronized void addMappings(List<StubMapping> newMappings) {
+		for (StubMapping mapping: newMappings) {
+			prepare(mapping);
+		}
+
+		negativeLookupFilter.registerAll(newMappings);
+		mappings.addAll(newMappings);
+		matchResultCache.registerAll(newMappings);
+	}
+
+	/**
+	 * Swaps the whole set of mappings for the given ones. Scenarios start afresh, as after a reset. The negative
+	 * lookup filter is widened to cover both old and new mappings while the swap happens, then narrowed to the new ones.
+	 */
+	@Override
+	public synchronized void replaceAll(List<StubMapping> newMappings) {
+		scenarioMap.clear();
+		for (StubMapping mapping: newMappings) {
+			prepare(mapping);
+		}
+
+		negativeLookupFilter.registerAll(newMappings);
+		mappings.replaceAll(newMappings);
+		staleLookupEntries = 0;
+		negativeLookupFilter.replaceAll(newMappings);
+		matchResultCache.replaceAll(newMappings);
+	}
+
+	/**
+	 * Removes the mapping with the given ID. The negative lookup filter isn't narrowed straight away, since an entry
+	 * left behind only costs a full match, but it is rebuilt once removals outnumber the remaining mappings.
+	 */
+	@Override
+	public synchronized boolean removeMapping(UUID id) {
+		if (mappings.remove(id) == null) {
+			return false;
+		}
+
+		matchResultCache.invalidate();
+		rebuildLookupIndexesIfStale();
+		return true;
+	}
+
+	/**
+	 * Replaces the mapping that has the same ID as the given one, keeping its place among mappings of equal priority.
+	 * A mapping with an unknown ID is rejected before it is prepared, so it neither starts a scenario nor widens the
+	 * negative lookup filter.
+	 */
+	@Override
+	public synchronized boolean editMapping(StubMapping mapping) {
+		if (mapping.getId() == null || !mappings.contains(mapping.getId())) {
+			return false;
+		}
+
+		prepare(mapping);
+		negativeLookupFilter.register(mapping);
+		mappings.replace(mapping);
+
+		matchResultCache.register(mapping);
+		rebuildLookupIndexesIfStale();
+		return true;
+	}
+
+	private void rebuildLookupIndexesIfStale() {
+		if (++staleLookupEntries > mappings.size()) {
+			staleLookupEntries = 0;
+			List<StubMapping> current = getAll();
+			negativeLookupFilter.replaceAll(current);
+			matchResultCache.replaceAll(current);
+		}
+	}
+
+	private void prepare(StubMapping mapping) {
 		if (mapping.isInScenario()) {
 			scenarioMap.putIfAbsent(mapping.getScenarioName(), Scenario.inStartedState());
 			Scenario scenario = scenarioMap.get(mapping.getScenarioName());
 			mapping.setScenario(scenario);
 		}
-		
-		mappings.add(mapping);
+
+		ResponseDefinition responseDefinition = mapping.getResponse();
+		responseDefinition.setTransformerChain(transformerRegistry.chainFor(responseDefinition));
+		if (responseDefinition.getTransformerChain().isEmpty()) {
+			prerenderIfStatic(mapping);
+		} else {
+			// The mapping may have been prepared before, by a store without these transformers
+			responseDefinition.setPrerenderedResponse(null);
+		}
+	}
+
+	private static void prerenderIfStatic(StubMapping mapping) {
+		ResponseDefinition responseDefinition = mapping.getResponse();
+		if (responseDefinition.isStatic()) {
+			responseDefinition.setMatchedStub(mapping.getLabel());
+			responseDefinition.setPrerenderedResponse(StubResponseRenderer.prerender(responseDefinition));
+		}
 	}
 
 	@Override
-	public void reset() {
+	public synchronized void reset() {
 		mappings.clear();
         scenarioMap.clear();
+		staleLookupEntries = 0;
+		negativeLookupFilter.clear();
+		matchResultCache.clear();
 	}
 	
 	@Override
@@ -74,6 +271,7 @@ public class InMemoryStubMappings implements StubMappings {
 		for (Scenario scenario: scenarioMap.values()) {
 			scenario.reset();
 		}
+		matchResultCache.invalidate();
 	}
 
     @Override
@@ -81,11 +279,40 @@ public class InMemoryStubMappings implements StubMappings {
         return ImmutableList.copyOf(mappings);
     }
 
+    @Override
+    public StubMatchingStats getMatchingStats() {
+        return StubMatchingStats.from(matchResultCache, negativeLookupFilter, scenarioTransitionRetries.get());
+    }
+
+    private static class InstrumentedPredicate implements Predicate<StubMapping> {
+
+		private final Predicate<StubMapping> delegate;
+		private final PhaseTimings timings;
+		private int count;
+
+		InstrumentedPredicate(Predicate<StubMapping> delegate, PhaseTimings timings) {
+			this.delegate = delegate;
+			this.timings = timings;
+		}
+
+		public boolean apply(StubMapping mapping) {
+			count++;
+			long start = timings.mark();
+			boolean matched = delegate.apply(mapping);
+			timings.recordStubEvaluated(mapping, timings.mark() - start);
+			return matched;
+		}
+	}
+
+	/**
+	 * Checked against every mapping in priority order. There is no index of stubs by scenario state, but the state is
+	 * checked first, so a stub in the wrong state costs one string comparison and its request pattern is never evaluated.
+	 */
     private Predicate<StubMapping> mappingMatchingAndInCorrectScenarioState(final Request request) {
 		return new Predicate<StubMapping>() {
 			public boolean apply(StubMapping mapping) {
-				return mapping.getRequest().isMatchedBy(request) &&
-				(mapping.isIndependentOfScenarioState() || mapping.requiresCurrentScenarioState());
+				return (mapping.isIndependentOfScenarioState() || mapping.requiresCurrentScenarioState()) &&
+						mapping.getRequest().isMatchedBy(request);
 			}
 		};
 	}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.matching.ValuePattern;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+
+/**
+ * Memoizes the winning stub mapping for a request, keyed by a fingerprint made up of the method, URL
+ * and only those headers and body that at least one registered stub actually inspects.
+ * Every entry is tagged with a generation number so that anything cached before an invalidation
+ * can never be served afterwards, even if it was written concurrently with the invalidation.
+ */
+public class MatchResultCache {
+
+    private final boolean enabled;
+    private final Cache<Fingerprint, StubMapping> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile ImmutableSet<String> referencedHeaderKeys = ImmutableSet.of();
+    private volatile ImmutableSet<String> absenceCheckedHeaderKeys = ImmutableSet.of();
+    private volatile boolean bodyReferenced = false;
+
+    public MatchResultCache(int maximumSize) {
+        enabled = maximumSize > 0;
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(maximumSize, 0))
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public StubMapping get(Request request, Callable<StubMapping> matcher) {
+        if (!enabled) {
+            return call(matcher);
+        }
+
+        try {
+            return cache.get(fingerprintOf(request), matcher);
+        } catch (ExecutionException e) {
+            return throwUnchecked(e.getCause(), StubMapping.class);
+        } catch (UncheckedExecutionException e) {
+            return throwUnchecked(e.getCause(), StubMapping.class);
+        }
+    }
+
+    public void register(StubMapping mapping) {
+        registerAll(Collections.singletonList(mapping));
+    }
+
+    /**
+     * Registers a batch of mappings, rebuilding the fingerprint key sets and invalidating the cache once.
+     */
+    public synchronized void registerAll(Iterable<StubMapping> mappings) {
+        rebuild(referencedHeaderKeys, absenceCheckedHeaderKeys, bodyReferenced, mappings);
+    }
+
+    /**
+     * Rebuilds the fingerprint key sets from only the given mappings and invalidates the cache.
+     */
+    public synchronized void replaceAll(Iterable<StubMapping> mappings) {
+        rebuild(ImmutableSet.<String>of(), ImmutableSet.<String>of(), false, mappings);
+    }
+
+    private void rebuild(ImmutableSet<String> baseReferencedHeaderKeys,
+                         ImmutableSet<String> baseAbsenceCheckedHeaderKeys,
+                         boolean baseBodyReferenced,
+                         Iterable<StubMapping> mappings) {
+        ImmutableSet.Builder<String> referenced = ImmutableSet.<String>builder().addAll(baseReferencedHeaderKeys);
+        ImmutableSet.Builder<String> absenceChecked = ImmutableSet.<String>builder().addAll(baseAbsenceCheckedHeaderKeys);
+        boolean newBodyReferenced = baseBodyReferenced;
+        for (StubMapping mapping: mappings) {
+            RequestPattern requestPattern = mapping.getRequest();
+            Map<String, ValuePattern> headerPatterns = requestPattern.getHeaders();
+            if (headerPatterns != null) {
+                for (Map.Entry<String, ValuePattern> headerPattern: headerPatterns.entrySet()) {
+                    if (headerPattern.getValue().nullSafeIsAbsent()) {
+                        absenceChecked.add(headerPattern.getKey());
+                    } else {
+                        referenced.add(headerPattern.getKey());
+                    }
+                }
+            }
+
+            if (requestPattern.getBodyPatterns() != null) {
+                newBodyReferenced = true;
+            }
+        }
+
+        referencedHeaderKeys = referenced.build();
+        absenceCheckedHeaderKeys = absenceChecked.build();
+        bodyReferenced = newBodyReferenced;
+        invalidate();
+    }
+
+    public synchronized void clear() {
+        referencedHeaderKeys = ImmutableSet.of();
+        absenceCheckedHeaderKeys = ImmutableSet.of();
+        bodyReferenced = false;
+        invalidate();
+    }
+
+    public void invalidate() {
+        if (!enabled) {
+            return;
+        }
+
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long hitCount() {
+        return stats().hitCount();
+    }
+
+    public long missCount() {
+        return stats().missCount();
+    }
+
+    public long evictionCount() {
+        return stats().evictionCount();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public long invalidationCount() {
+        return invalidations.get();
+    }
+
+    private CacheStats stats() {
+        return cache.stats();
+    }
+
+    private Fingerprint fingerprintOf(Request request) {
+        long currentGeneration = generation.get();
+
+        List<Object> headerValues = new ArrayList<Object>();
+        for (String key: referencedHeaderKeys) {
+            HttpHeader header = request.header(key);
+            headerValues.add(header.isPresent() ? header.values() : null);
+        }
+
+        if (!absenceCheckedHeaderKeys.isEmpty()) {
+            for (String key: absenceCheckedHeaderKeys) {
+                headerValues.add(request.header(key).isPresent());
+            }
+        }
+
+        byte[] body = bodyReferenced ? request.getBody() : null;
+
+        return new Fingerprint(currentGeneration, request.getMethod(), request.getUrl(), headerValues, body);
+    }
+
+    private static StubMapping call(Callable<StubMapping> matcher) {
+        try {
+            return matcher.call();
+        } catch (Exception e) {
+            return throwUnchecked(e, StubMapping.class);
+        }
+    }
+
+    private static class Fingerprint {
+
+        private final long generation;
+        private final RequestMethod method;
+        private final String url;
+        private final List<Object> headerValues;
+        private final byte[] body;
+        private final int hashCode;
+
+        Fingerprint(long generation, RequestMethod method, String url, List<Object> headerValues, byte[] body) {
+            this.generation = generation;
+            this.method = method;
+            this.url = url;
+            this.headerValues = headerValues;
+            this.body = body;
+
+            int result = (int) (generation ^ (generation >>> 32));
+            result = 31 * result + method.hashCode();
+            result = 31 * result + url.hashCode();
+            result = 31 * result + headerValues.hashCode();
+            result = 31 * result + Arrays.hashCode(body);
+            hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Fingerprint that = (Fingerprint) o;
+
+            return hashCode == that.hashCode &&
+                    generation == that.generation &&
+                    method.equals(that.method) &&
+                    url.equals(that.url) &&
+                    headerValues.equals(that.headerValues) &&
+                    Arrays.equals(body, that.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
+
+/**
+ * Cheaply rules out requests that no registered stub could possibly match, so that unmatched requests don't
+ * pay for a full evaluation of every stub. Literal URLs are kept in an exact set keyed by method, URL paths in a
+ * sorted set searched by prefix and all URL regexes are folded into a single compiled alternation.
+ * A negative answer is always exact; a positive one only means that full matching is required.
+ */
+public class NegativeLookupFilter {
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong skips = new AtomicLong();
+
+    private volatile ImmutableSet<String> exactUrls = ImmutableSet.of();
+    private volatile ImmutableSortedSet<String> urlPathPrefixes = ImmutableSortedSet.of();
+    private volatile ImmutableList<String> urlRegexes = ImmutableList.of();
+    private volatile boolean matchesEverything = false;
+
+    private volatile List<Pattern> compiledUrlRegexes;
+
+    public void register(StubMapping mapping) {
+        registerAll(Collections.singletonList(mapping));
+    }
+
+    /**
+     * Registers a batch of mappings, rebuilding each index once rather than once per mapping.
+     */
+    public synchronized void registerAll(Iterable<StubMapping> mappings) {
+        rebuild(exactUrls, urlPathPrefixes, urlRegexes, matchesEverything, mappings);
+    }
+
+    /**
+     * Rebuilds the filter from only the given mappings, dropping everything registered before.
+     */
+    public synchronized void replaceAll(Iterable<StubMapping> mappings) {
+        rebuild(ImmutableSet.<String>of(), ImmutableSortedSet.<String>of(), ImmutableList.<String>of(), false, mappings);
+    }
+
+    private void rebuild(ImmutableSet<String> baseExactUrls,
+                         ImmutableSortedSet<String> baseUrlPathPrefixes,
+                         ImmutableList<String> baseUrlRegexes,
+                         boolean baseMatchesEverything,
+                         Iterable<StubMapping> mappings) {
+        ImmutableSet.Builder<String> newExactUrls = ImmutableSet.<String>builder().addAll(baseExactUrls);
+        ImmutableSortedSet.Builder<String> newUrlPathPrefixes = ImmutableSortedSet.<String>naturalOrder().addAll(baseUrlPathPrefixes);
+        ImmutableList.Builder<String> newUrlRegexes = ImmutableList.<String>builder().addAll(baseUrlRegexes);
+        boolean newMatchesEverything = baseMatchesEverything;
+
+        for (StubMapping mapping: mappings) {
+            RequestPattern requestPattern = mapping.getRequest();
+            if (requestPattern.getUrl() != null) {
+                newExactUrls.add(exactKey(requestPattern.getMethod(), requestPattern.getUrl()));
+            } else if (requestPattern.getUrlPath() != null) {
+                newUrlPathPrefixes.add(requestPattern.getUrlPath());
+            } else if (requestPattern.getUrlPattern() != null) {
+                newUrlRegexes.add(requestPattern.getUrlPattern());
+            } else if (requestPattern.getUrlPathPattern() != null) {
+                newUrlRegexes.add(requestPattern.getUrlPathPattern().concat(".*"));
+            } else {
+                newMatchesEverything = true;
+            }
+        }
+
+        exactUrls = newExactUrls.build();
+        urlPathPrefixes = newUrlPathPrefixes.build();
+        ImmutableList<String> builtUrlRegexes = newUrlRegexes.build();
+        if (!builtUrlRegexes.equals(urlRegexes)) {
+            urlRegexes = builtUrlRegexes;
+            compiledUrlRegexes = null;
+        }
+        matchesEverything = newMatchesEverything;
+    }
+
+    public synchronized void clear() {
+        exactUrls = ImmutableSet.of();
+        urlPathPrefixes = ImmutableSortedSet.of();
+        urlRegexes = ImmutableList.of();
+        compiledUrlRegexes = null;
+        matchesEverything = false;
+    }
+
+    public boolean mightMatch(Request request) {
+        checks.incrementAndGet();
+        if (matchesEverything) {
+            return true;
+        }
+
+        String url = request.getUrl();
+        boolean mightMatch = matchesExactUrl(request.getMethod(), url) ||
+                matchesUrlPathPrefix(url) ||
+                matchesUrlRegex(url);
+
+        if (!mightMatch) {
+            skips.incrementAndGet();
+        }
+
+        return mightMatch;
+    }
+
+    public long checkCount() {
+        return checks.get();
+    }
+
+    public long skipCount() {
+        return skips.get();
+    }
+
+    private boolean matchesExactUrl(RequestMethod method, String url) {
+        return !exactUrls.isEmpty() &&
+                (exactUrls.contains(exactKey(method, url)) || exactUrls.contains(exactKey(ANY, url)));
+    }
+
+    private boolean matchesUrlPathPrefix(String url) {
+        ImmutableSortedSet<String> prefixes = urlPathPrefixes;
+        String candidate = prefixes.floor(url);
+        while (candidate != null) {
+            if (url.startsWith(candidate)) {
+                return true;
+            }
+
+            candidate = prefixes.floor(commonPrefix(url, candidate));
+        }
+
+        return false;
+    }
+
+    private boolean matchesUrlRegex(String url) {
+        if (urlRegexes.isEmpty()) {
+            return false;
+        }
+
+        for (Pattern pattern: compiledUrlRegexes()) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private List<Pattern> compiledUrlRegexes() {
+        List<Pattern> compiled = compiledUrlRegexes;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = compiledUrlRegexes;
+                if (compiled == null) {
+                    compiled = compile(urlRegexes);
+                    compiledUrlRegexes = compiled;
+                }
+            }
+        }
+
+        return compiled;
+    }
+
+    private static List<Pattern> compile(List<String> regexes) {
+        if (!anyUseBackReferences(regexes)) {
+            StringBuilder alternation = new StringBuilder();
+            for (String regex: regexes) {
+                if (alternation.length() > 0) {
+                    alternation.append('|');
+                }
+                alternation.append("(?:").append(regex).append(')');
+            }
+
+            try {
+                return ImmutableList.of(Pattern.compile(alternation.toString()));
+            } catch (PatternSyntaxException e) {
+                // Fall through and compile each one individually
+            }
+        }
+
+        ImmutableList.Builder<Pattern> patterns = ImmutableList.builder();
+        for (String regex: regexes) {
+            patterns.add(Pattern.compile(regex));
+        }
+
+        return patterns.build();
+    }
+
+    private static boolean anyUseBackReferences(List<String> regexes) {
+        for (String regex: regexes) {
+            if (regex.matches(".*\\\\[1-9k].*")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String commonPrefix(String one, String two) {
+        int length = Math.min(one.length(), two.length());
+        int i = 0;
+        while (i < length && one.charAt(i) == two.charAt(i)) {
+            i++;
+        }
+
+        return one.substring(0, i);
+    }
+
+    private static String exactKey(RequestMethod method, String url) {
+        return method + " " + url;
+    }
+}
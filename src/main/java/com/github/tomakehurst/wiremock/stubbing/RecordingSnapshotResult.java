@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * What a recording snapshot did with the proxied exchanges captured since the previous one.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RecordingSnapshotResult {
+
+    private final boolean enabled;
+    private final long captured;
+    private final long filteredOut;
+    private final long duplicates;
+    private final long recorded;
+    private final long dropped;
+
+    @JsonCreator
+    public RecordingSnapshotResult(@JsonProperty("enabled") boolean enabled,
+                                   @JsonProperty("captured") long captured,
+                                   @JsonProperty("filteredOut") long filteredOut,
+                                   @JsonProperty("duplicates") long duplicates,
+                                   @JsonProperty("recorded") long recorded,
+                                   @JsonProperty("dropped") long dropped) {
+        this.enabled = enabled;
+        this.captured = captured;
+        this.filteredOut = filteredOut;
+        this.duplicates = duplicates;
+        this.recorded = recorded;
+        this.dropped = dropped;
+    }
+
+    public static RecordingSnapshotResult disabled() {
+        return new RecordingSnapshotResult(false, 0, 0, 0, 0, 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getCaptured() {
+        return captured;
+    }
+
+    public long getFilteredOut() {
+        return filteredOut;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getRecorded() {
+        return recorded;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+}
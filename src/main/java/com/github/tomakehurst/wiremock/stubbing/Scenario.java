@@ -39,6 +39,18 @@ public class Scenario {
 		state.set(newState);
 	}
 	
+	public boolean compareAndSetState(String expectedState, String newState) {
+		String currentState = state.get();
+		while (currentState.equals(expectedState)) {
+			if (state.compareAndSet(currentState, newState)) {
+				return true;
+			}
+			currentState = state.get();
+		}
+
+		return false;
+	}
+
 	public void reset() {
 		state.set(STARTED);
 	}
@@ -15,50 +15,185 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
+import com.google.common.collect.Iterators;
+
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.google.common.collect.Lists.newArrayList;
 
+/**
+ * Holds stub mappings sorted by priority, then most recently added first.
+ *
+ * The mappings are published as an immutable, already sorted array through a single volatile reference. Readers
+ * iterate whichever snapshot was current when they started, without locking. Writers build a new array and swap it
+ * in, so a bulk add or a replacement of the whole set is seen by readers either entirely or not at all.
+ *
+ * Each mapping is also indexed by ID, so a single mapping can be found in constant time and its position located
+ * by binary search when it is removed or replaced. Adding a mapping whose ID is already present replaces the old one.
+ * Because every change publishes a new array, adding, removing or replacing a single mapping still costs a copy of
+ * the whole set, i.e. O(n). That is the price of lock-free reads, on the basis that stubs are matched far more often
+ * than they are changed.
+ */
 public class SortedConcurrentMappingSet implements Iterable<StubMapping> {
 
-	private AtomicLong insertionCount;
-	private ConcurrentSkipListSet<StubMapping> mappingSet;
-	
-	public SortedConcurrentMappingSet() {
-		insertionCount = new AtomicLong();
-		mappingSet = new ConcurrentSkipListSet<StubMapping>(sortedByPriorityThenReverseInsertionOrder());
-	}
-	
-	private Comparator<StubMapping> sortedByPriorityThenReverseInsertionOrder() {
-		return new Comparator<StubMapping>() {
-			public int compare(StubMapping one, StubMapping two) {
-				int priorityComparison = one.comparePriorityWith(two);
-				if (priorityComparison != 0) {
-					return priorityComparison;
-				}
-				
-				return (two.getInsertionIndex() > one.getInsertionIndex()) ? 1 : -1;
+	private static final StubMapping[] EMPTY = new StubMapping[0];
+
+	private long insertionCount;
+	private volatile StubMapping[] snapshot = EMPTY;
+	private final Map<UUID, StubMapping> mappingsById = new HashMap<UUID, StubMapping>();
+
+	private static final Comparator<StubMapping> SORTED_BY_PRIORITY_THEN_REVERSE_INSERTION_ORDER = new Comparator<StubMapping>() {
+		public int compare(StubMapping one, StubMapping two) {
+			int priorityComparison = one.comparePriorityWith(two);
+			if (priorityComparison != 0) {
+				return priorityComparison;
 			}
-		};
-	}
+
+			return Long.compare(two.getInsertionIndex(), one.getInsertionIndex());
+		}
+	};
 
 	@Override
 	public Iterator<StubMapping> iterator() {
-		return mappingSet.iterator();
+		return Iterators.forArray(snapshot);
 	}
-	
-	public void add(StubMapping mapping) {
-		mapping.setInsertionIndex(insertionCount.getAndIncrement());
-		mappingSet.add(mapping);
+
+	public int size() {
+		return snapshot.length;
 	}
 	
-	public void clear() {
-		mappingSet.clear();
+	/**
+	 * Inserts a single mapping at its sorted position by binary search, rather than sorting the whole set again.
+	 * This copies the set, so costs O(n).
+	 */
+	public synchronized void add(StubMapping mapping) {
+		snapshot = with(index(snapshot, mapping), mapping);
+	}
+
+	public synchronized void addAll(Iterable<StubMapping> mappings) {
+		publish(snapshot, mappings);
+	}
+
+	/**
+	 * Replaces every mapping with the given ones in a single swap, so there is no moment at which the set is empty.
+	 */
+	public synchronized void replaceAll(Iterable<StubMapping> mappings) {
+		mappingsById.clear();
+		publish(EMPTY, mappings);
+	}
+
+	public synchronized boolean contains(UUID id) {
+		return mappingsById.containsKey(id);
+	}
+
+	/**
+	 * Removes the mapping with the given ID. This copies the rest of the set, so costs O(n).
+	 *
+	 * @return The removed mapping, or null if there was no mapping with the ID.
+	 */
+	public synchronized StubMapping remove(UUID id) {
+		StubMapping existing = mappingsById.remove(id);
+		if (existing != null) {
+			snapshot = without(snapshot, existing);
+		}
+		return existing;
+	}
+
+	/**
+	 * Swaps the mapping with the same ID as the given one for it. The new mapping takes over the old one's insertion
+	 * index, so its precedence over mappings of equal priority is unchanged. This copies the set, so costs O(n).
+	 *
+	 * @return The replaced mapping, or null if there was no mapping with the ID, in which case nothing is changed.
+	 */
+	public synchronized StubMapping replace(StubMapping mapping) {
+		StubMapping existing = mappingsById.get(mapping.getId());
+		if (existing == null) {
+			return null;
+		}
+
+		mapping.setInsertionIndex(existing.getInsertionIndex());
+		mappingsById.put(mapping.getId(), mapping);
+		StubMapping[] current = snapshot;
+		if (mapping.comparePriorityWith(existing) == 0) {
+			StubMapping[] next = current.clone();
+			next[indexOf(current, existing)] = mapping;
+			snapshot = next;
+		} else {
+			snapshot = with(without(current, existing), mapping);
+		}
+		return existing;
+	}
+
+	public synchronized void clear() {
+		mappingsById.clear();
+		snapshot = EMPTY;
+	}
+
+	private void publish(StubMapping[] existing, Iterable<StubMapping> added) {
+		for (StubMapping mapping: added) {
+			existing = index(existing, mapping);
+		}
+
+		List<StubMapping> kept = newArrayList();
+		for (StubMapping mapping: added) {
+			if (mappingsById.get(mapping.getId()) == mapping) {
+				kept.add(mapping);
+			}
+		}
+
+		StubMapping[] next = Arrays.copyOf(existing, existing.length + kept.size());
+		System.arraycopy(kept.toArray(EMPTY), 0, next, existing.length, kept.size());
+		Arrays.sort(next, SORTED_BY_PRIORITY_THEN_REVERSE_INSERTION_ORDER);
+		snapshot = next;
+	}
+
+	/**
+	 * Assigns the mapping its ID, if it has none, and its insertion index, and returns the existing mappings less
+	 * any it displaces by having the same ID.
+	 */
+	private StubMapping[] index(StubMapping[] existing, StubMapping mapping) {
+		if (mapping.getId() == null) {
+			mapping.setId(UUID.randomUUID());
+		}
+		StubMapping displaced = mappingsById.put(mapping.getId(), mapping);
+		mapping.setInsertionIndex(insertionCount++);
+		return displaced != null ? without(existing, displaced) : existing;
+	}
+
+	private static StubMapping[] without(StubMapping[] current, StubMapping mapping) {
+		int index = indexOf(current, mapping);
+		if (index < 0) {
+			return current;
+		}
+
+		StubMapping[] next = new StubMapping[current.length - 1];
+		System.arraycopy(current, 0, next, 0, index);
+		System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+		return next;
+	}
+
+	private static StubMapping[] with(StubMapping[] current, StubMapping mapping) {
+		int index = -(Arrays.binarySearch(current, mapping, SORTED_BY_PRIORITY_THEN_REVERSE_INSERTION_ORDER) + 1);
+		StubMapping[] next = new StubMapping[current.length + 1];
+		System.arraycopy(current, 0, next, 0, index);
+		next[index] = mapping;
+		System.arraycopy(current, index, next, index + 1, current.length - index);
+		return next;
+	}
+
+	private static int indexOf(StubMapping[] current, StubMapping mapping) {
+		int index = Arrays.binarySearch(current, mapping, SORTED_BY_PRIORITY_THEN_REVERSE_INSERTION_ORDER);
+		return index >= 0 && current[index] == mapping ? index : -1;
 	}
 	
 	@Override
 	public String toString() {
-		return mappingSet.toString();
+		return Arrays.toString(snapshot);
 	}
 }
@@ -23,12 +23,16 @@ import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
 @JsonSerialize(include=Inclusion.NON_NULL)
-@JsonPropertyOrder({ "request", "response" })
+@JsonPropertyOrder({ "id", "request", "response" })
 public class StubMapping {
 	
 	public static final int DEFAULT_PRIORITY = 5; 
 
+	private UUID id;
 	private RequestPattern request;
 	private ResponseDefinition response;
 	private Integer priority;
@@ -39,6 +43,8 @@ public class StubMapping {
 
 	private long insertionIndex;
     private boolean isTransient = true;
+    private final AtomicLong hitCount = new AtomicLong();
+    private String label;
 
 	public StubMapping(RequestPattern requestPattern, ResponseDefinition response) {
 		this.request = requestPattern;
@@ -60,6 +66,18 @@ public class StubMapping {
 		return Json.write(mapping);
 	}
 
+	/**
+	 * @return The stable identifier used to remove or replace this mapping. Assigned when the mapping is first added
+	 * if it wasn't given one.
+	 */
+	public UUID getId() {
+		return id;
+	}
+
+	public void setId(UUID id) {
+		this.id = id;
+	}
+
     public RequestPattern getRequest() {
 		return request;
 	}
@@ -70,6 +88,7 @@ public class StubMapping {
 	
 	public void setRequest(RequestPattern request) {
 		this.request = request;
+		this.label = null;
 	}
 
 	public void setResponse(ResponseDefinition response) {
@@ -81,6 +100,17 @@ public class StubMapping {
 		return Json.write(this);
 	}
 
+	/**
+	 * @return A short description of the requests this stub matches e.g. "GET /things", used to group journal entries.
+	 */
+	@JsonIgnore
+	public String getLabel() {
+		if (label == null) {
+			label = request.getMethod() + " " + request.getUrlSpec();
+		}
+		return label;
+	}
+
 	@JsonIgnore
 	public long getInsertionIndex() {
 		return insertionIndex;
@@ -136,12 +166,32 @@ public class StubMapping {
 		this.newScenarioState = newScenarioState;
 	}
 	
-	public void updateScenarioStateIfRequired() {
-		if (isInScenario() && modifiesScenarioState()) {
+	/**
+	 * Moves the scenario to the new state. If the stub requires a state, the move only happens while the scenario
+	 * is still in that state, so false means another request made the transition first.
+	 */
+	public boolean updateScenarioStateIfRequired() {
+		if (!isInScenario() || !modifiesScenarioState()) {
+			return true;
+		}
+
+		if (requiredScenarioState == null) {
 			scenario.setState(newScenarioState);
+			return true;
 		}
+
+		return scenario.compareAndSetState(requiredScenarioState, newScenarioState);
 	}
 	
+	@JsonIgnore
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public void recordHit() {
+		hitCount.incrementAndGet();
+	}
+
 	@JsonIgnore
 	public Scenario getScenario() {
 		return scenario;
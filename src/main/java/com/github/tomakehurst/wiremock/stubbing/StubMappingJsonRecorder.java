@@ -15,36 +15,47 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
+import com.github.tomakehurst.wiremock.common.ContentHashFilenameGenerator;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.common.IdGenerator;
+import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.common.UniqueFilenameGenerator;
 import com.github.tomakehurst.wiremock.common.VeryShortIdGenerator;
-import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.core.ResetListener;
 import com.github.tomakehurst.wiremock.http.*;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.matching.ValuePattern;
-import com.github.tomakehurst.wiremock.verification.VerificationResult;
+import com.google.common.base.Optional;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
 import static com.github.tomakehurst.wiremock.common.Json.write;
 import static com.github.tomakehurst.wiremock.common.LocalNotifier.notifier;
 import static java.util.Arrays.asList;
 import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
 
-public class StubMappingJsonRecorder implements RequestListener {
+public class StubMappingJsonRecorder implements RequestListener, ResetListener {
 
     private final FileSource mappingsFileSource;
     private final FileSource filesFileSource;
-    private final Admin admin;
     private final List<CaseInsensitiveKey> headersToMatch;
+    private final Set<RequestPattern> recordedRequestPatterns = Collections.newSetFromMap(new ConcurrentHashMap<RequestPattern, Boolean>());
+    private final Set<String> writtenBodyFileNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
     private IdGenerator idGenerator;
 
-    public StubMappingJsonRecorder(FileSource mappingsFileSource, FileSource filesFileSource, Admin admin, List<CaseInsensitiveKey> headersToMatch) {
+    public StubMappingJsonRecorder(FileSource mappingsFileSource, FileSource filesFileSource, List<CaseInsensitiveKey> headersToMatch) {
         this.mappingsFileSource = mappingsFileSource;
         this.filesFileSource = filesFileSource;
-        this.admin = admin;
         this.headersToMatch = headersToMatch;
         idGenerator = new VeryShortIdGenerator();
     }
@@ -53,14 +64,86 @@ public class StubMappingJsonRecorder implements RequestListener {
     public void requestReceived(Request request, Response response) {
         RequestPattern requestPattern = buildRequestPatternFrom(request);
 
-        if (requestNotAlreadyReceived(requestPattern) && response.isFromProxy()) {
+        if (response.isFromProxy() && recordedRequestPatterns.add(recordingKeyFor(request, requestPattern))) {
             notifier().info(String.format("Recording mappings for %s", request.getUrl()));
-            writeToMappingAndBodyFile(request, response, requestPattern);
+            writeOrForget(request, response, requestPattern);
         } else {
             notifier().info(String.format("Not recording mapping for %s as this has already been received", request.getUrl()));
         }
     }
 
+    /**
+     * Records every exchange whose request hasn't already been recorded, writing the files in parallel on the given
+     * executor. Returns the number of mappings written.
+     */
+    public int recordAll(List<CapturedExchange> exchanges, ExecutorService executor) {
+        List<Callable<Void>> writes = new ArrayList<Callable<Void>>();
+        for (final CapturedExchange exchange: exchanges) {
+            final RequestPattern requestPattern = buildRequestPatternFrom(exchange.getRequest());
+            if (recordedRequestPatterns.add(recordingKeyFor(exchange.getRequest(), requestPattern))) {
+                writes.add(new Callable<Void>() {
+                    public Void call() {
+                        writeOrForget(exchange.getRequest(), exchange.getResponse(), requestPattern);
+                        return null;
+                    }
+                });
+            }
+        }
+
+        try {
+            for (Future<Void> write: executor.invokeAll(writes)) {
+                write.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return throwUnchecked(e, Integer.class);
+        } catch (ExecutionException e) {
+            return throwUnchecked(e.getCause(), Integer.class);
+        }
+
+        return writes.size();
+    }
+
+    /**
+     * Forgets every request recorded so far, as the journal-based check this replaced did whenever the journal was reset.
+     */
+    @Override
+    public void reset() {
+        recordedRequestPatterns.clear();
+    }
+
+    private void writeOrForget(Request request, Response response, RequestPattern requestPattern) {
+        try {
+            writeToMappingAndBodyFile(request, response, requestPattern);
+        } catch (RuntimeException e) {
+            recordedRequestPatterns.remove(recordingKeyFor(request, requestPattern));
+            throw e;
+        }
+    }
+
+    /**
+     * Requests whose bodies would all be matched by the first one's mapping share a key built from a normalised body:
+     * JSON with whitespace and key order normalised away, as the lenient JSON match ignores them, and XML without the
+     * nodes excluded from body matching.
+     */
+    private RequestPattern recordingKeyFor(Request request, RequestPattern requestPattern) {
+        if (requestPattern.getBodyPatterns() == null) {
+            return requestPattern;
+        }
+
+        Optional<String> body = requestPattern.getBodyPatterns().get(0).getEqualToJson() != null ?
+                Json.normalise(request.getBodyAsString()) :
+                RequestPattern.bodyWithoutExcludedNodes(request.getBodyAsString());
+        if (!body.isPresent()) {
+            return requestPattern;
+        }
+
+        RequestPattern recordingKey = new RequestPattern(requestPattern.getMethod(), requestPattern.getUrl());
+        recordingKey.setHeaders(requestPattern.getHeaders());
+        recordingKey.setBodyPatterns(asList(ValuePattern.equalTo(body.get())));
+        return recordingKey;
+    }
+
     private RequestPattern buildRequestPatternFrom(Request request) {
         RequestPattern requestPattern = new RequestPattern(request.getMethod(), request.getUrl());
         if (!headersToMatch.isEmpty()) {
@@ -98,7 +181,8 @@ public class StubMappingJsonRecorder implements RequestListener {
     private void writeToMappingAndBodyFile(Request request, Response response, RequestPattern requestPattern) {
         String fileId = idGenerator.generate();
         String mappingFileName = UniqueFilenameGenerator.generate(request, "mapping", fileId);
-        String bodyFileName = UniqueFilenameGenerator.generate(request, "body", fileId);
+        byte[] body = response.getBody();
+        String bodyFileName = ContentHashFilenameGenerator.generate("body", body);
         ResponseDefinition responseToWrite = new ResponseDefinition();
         responseToWrite.setStatus(response.getStatus());
         responseToWrite.setBodyFileName(bodyFileName);
@@ -109,16 +193,17 @@ public class StubMappingJsonRecorder implements RequestListener {
 
         StubMapping mapping = new StubMapping(requestPattern, responseToWrite);
 
-        filesFileSource.writeBinaryFile(bodyFileName, response.getBody());
+        if (writtenBodyFileNames.add(bodyFileName)) {
+            try {
+                filesFileSource.writeBinaryFile(bodyFileName, body);
+            } catch (RuntimeException e) {
+                writtenBodyFileNames.remove(bodyFileName);
+                throw e;
+            }
+        }
         mappingsFileSource.writeTextFile(mappingFileName, write(mapping));
     }
 
-    private boolean requestNotAlreadyReceived(RequestPattern requestPattern) {
-        VerificationResult verificationResult = admin.countRequestsMatching(requestPattern);
-        verificationResult.assertRequestJournalEnabled();
-        return (verificationResult.getCount() <= 1);
-    }
-
     public void setIdGenerator(IdGenerator idGenerator) {
         this.idGenerator = idGenerator;
     }
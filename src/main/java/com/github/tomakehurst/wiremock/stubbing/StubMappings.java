@@ -20,13 +20,33 @@ import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 
 import java.util.List;
+import java.util.UUID;
 
 public interface StubMappings {
 
 	ResponseDefinition serveFor(Request request);
 	void addMapping(StubMapping mapping);
+	void addMappings(List<StubMapping> mappings);
+	void replaceAll(List<StubMapping> mappings);
+
+	/**
+	 * Removes the mapping with the given ID. Costs O(n) in the number of mappings, as matching reads an immutable
+	 * copy of the set that has to be republished.
+	 *
+	 * @return false if there was no mapping with the ID
+	 */
+	boolean removeMapping(UUID id);
+
+	/**
+	 * Replaces the mapping with the same ID as the given one. Costs O(n) in the number of mappings, as matching reads
+	 * an immutable copy of the set that has to be republished.
+	 *
+	 * @return false if there was no mapping with the ID
+	 */
+	boolean editMapping(StubMapping mapping);
 	void reset();
 	void resetScenarios();
 
     List<StubMapping> getAll();
+    StubMatchingStats getMatchingStats();
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.stubbing;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class StubMatchingStats {
+
+    private final boolean matchCacheEnabled;
+    private final long matchCacheHits;
+    private final long matchCacheMisses;
+    private final long matchCacheEvictions;
+    private final long matchCacheInvalidations;
+    private final long matchCacheSize;
+    private final long negativeLookupChecks;
+    private final long negativeLookupSkips;
+    private final long scenarioTransitionRetries;
+
+    @JsonCreator
+    public StubMatchingStats(@JsonProperty("matchCacheEnabled") boolean matchCacheEnabled,
+                             @JsonProperty("matchCacheHits") long matchCacheHits,
+                             @JsonProperty("matchCacheMisses") long matchCacheMisses,
+                             @JsonProperty("matchCacheEvictions") long matchCacheEvictions,
+                             @JsonProperty("matchCacheInvalidations") long matchCacheInvalidations,
+                             @JsonProperty("matchCacheSize") long matchCacheSize,
+                             @JsonProperty("negativeLookupChecks") long negativeLookupChecks,
+                             @JsonProperty("negativeLookupSkips") long negativeLookupSkips,
+                             @JsonProperty("scenarioTransitionRetries") long scenarioTransitionRetries) {
+        this.matchCacheEnabled = matchCacheEnabled;
+        this.matchCacheHits = matchCacheHits;
+        this.matchCacheMisses = matchCacheMisses;
+        this.matchCacheEvictions = matchCacheEvictions;
+        this.matchCacheInvalidations = matchCacheInvalidations;
+        this.matchCacheSize = matchCacheSize;
+        this.negativeLookupChecks = negativeLookupChecks;
+        this.negativeLookupSkips = negativeLookupSkips;
+        this.scenarioTransitionRetries = scenarioTransitionRetries;
+    }
+
+    public static StubMatchingStats from(MatchResultCache matchResultCache, NegativeLookupFilter negativeLookupFilter,
+                                         long scenarioTransitionRetries) {
+        return new StubMatchingStats(
+                matchResultCache.isEnabled(),
+                matchResultCache.hitCount(),
+                matchResultCache.missCount(),
+                matchResultCache.evictionCount(),
+                matchResultCache.invalidationCount(),
+                matchResultCache.size(),
+                negativeLookupFilter.checkCount(),
+                negativeLookupFilter.skipCount(),
+                scenarioTransitionRetries);
+    }
+
+    public boolean isMatchCacheEnabled() {
+        return matchCacheEnabled;
+    }
+
+    public long getMatchCacheHits() {
+        return matchCacheHits;
+    }
+
+    public long getMatchCacheMisses() {
+        return matchCacheMisses;
+    }
+
+    public long getMatchCacheEvictions() {
+        return matchCacheEvictions;
+    }
+
+    public long getMatchCacheInvalidations() {
+        return matchCacheInvalidations;
+    }
+
+    public long getMatchCacheSize() {
+        return matchCacheSize;
+    }
+
+    public long getNegativeLookupChecks() {
+        return negativeLookupChecks;
+    }
+
+    public long getNegativeLookupSkips() {
+        return negativeLookupSkips;
+    }
+
+    public long getScenarioTransitionRetries() {
+        return scenarioTransitionRetries;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.List;
+
+public class BatchCountResult extends JournalBasedResult {
+
+    private final List<Integer> counts;
+
+    @JsonCreator
+    public BatchCountResult(@JsonProperty("counts") List<Integer> counts,
+                            @JsonProperty("requestJournalDisabled") boolean requestJournalDisabled) {
+        super(requestJournalDisabled);
+        this.counts = counts;
+    }
+
+    public static BatchCountResult withCounts(List<Integer> counts) {
+        return new BatchCountResult(counts, false);
+    }
+
+    public static BatchCountResult withRequestJournalDisabled() {
+        return new BatchCountResult(Collections.<Integer>emptyList(), true);
+    }
+
+    /**
+     * @return The number of requests matching each pattern, in the order the patterns were given.
+     */
+    public List<Integer> getCounts() {
+        return counts;
+    }
+}
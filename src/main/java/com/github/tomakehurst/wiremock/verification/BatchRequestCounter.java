@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the requests matching each of several patterns in one pass over a journal snapshot,
+ * splitting the snapshot across cores when it is large enough for that to pay off.
+ */
+class BatchRequestCounter extends RecursiveTask<int[]> {
+
+    private static final long serialVersionUID = -8610864337174816681L;
+
+    static final int PARALLEL_THRESHOLD = 10000;
+
+    private final LoggedRequest[] requests;
+    private final List<RequestPattern> patterns;
+    private final int from;
+    private final int to;
+
+    private BatchRequestCounter(LoggedRequest[] requests, List<RequestPattern> patterns, int from, int to) {
+        this.requests = requests;
+        this.patterns = patterns;
+        this.from = from;
+        this.to = to;
+    }
+
+    static int[] count(LoggedRequest[] requests, List<RequestPattern> patterns) {
+        BatchRequestCounter counter = new BatchRequestCounter(requests, patterns, 0, requests.length);
+        if (requests.length < PARALLEL_THRESHOLD) {
+            return counter.countSequentially();
+        }
+
+        return PoolHolder.POOL.invoke(counter);
+    }
+
+    @Override
+    protected int[] compute() {
+        if (to - from <= PARALLEL_THRESHOLD) {
+            return countSequentially();
+        }
+
+        int middle = (from + to) >>> 1;
+        BatchRequestCounter left = new BatchRequestCounter(requests, patterns, from, middle);
+        BatchRequestCounter right = new BatchRequestCounter(requests, patterns, middle, to);
+        left.fork();
+        int[] counts = right.compute();
+        int[] leftCounts = left.join();
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += leftCounts[i];
+        }
+        return counts;
+    }
+
+    private int[] countSequentially() {
+        int[] counts = new int[patterns.size()];
+        for (int r = from; r < to; r++) {
+            LoggedRequest request = requests[r];
+            for (int p = 0; p < counts.length; p++) {
+                if (patterns.get(p).isMatchedBy(request)) {
+                    counts[p]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static class PoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+}
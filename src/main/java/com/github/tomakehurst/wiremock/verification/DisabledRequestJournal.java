@@ -16,6 +16,7 @@
 package com.github.tomakehurst.wiremock.verification;
 
 import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 
 import java.util.List;
@@ -27,11 +28,26 @@ public class DisabledRequestJournal implements RequestJournal {
         throw new RequestJournalDisabledException();
     }
 
+    @Override
+    public List<Integer> countRequestsMatchingEach(List<RequestPattern> requestPatterns) {
+        throw new RequestJournalDisabledException();
+    }
+
+    @Override
+    public int awaitRequestsMatching(RequestPattern requestPattern, int count, long timeoutMillis) {
+        throw new RequestJournalDisabledException();
+    }
+
     @Override
     public List<LoggedRequest> getRequestsMatching(RequestPattern requestPattern) {
         throw new RequestJournalDisabledException();
     }
 
+    @Override
+    public Iterable<LoggedRequest> getAllRequests() {
+        throw new RequestJournalDisabledException();
+    }
+
     @Override
     public void reset() {
     }
@@ -39,4 +55,8 @@ public class DisabledRequestJournal implements RequestJournal {
     @Override
     public void requestReceived(Request request) {
     }
+
+    @Override
+    public void requestReceived(Request request, ResponseDefinition responseDefinition) {
+    }
 }
@@ -18,14 +18,19 @@ package com.github.tomakehurst.wiremock.verification;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.RequestListener;
 import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.metrics.FlightRecorderEvents;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.primitives.Ints;
 
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.google.common.collect.Iterables.filter;
 import static com.google.common.collect.Iterables.size;
@@ -35,6 +40,9 @@ public class InMemoryRequestJournal implements RequestListener, RequestJournal {
 	private final Queue<LoggedRequest> requests = new ConcurrentLinkedQueue<LoggedRequest>();
 
 	private final Optional<Integer> maxEntries;
+	private final Object appendLock = new Object();
+	private long lastSequence;
+	private final List<RequestCountWaiter> waiters = new CopyOnWriteArrayList<RequestCountWaiter>();
 
 	public InMemoryRequestJournal(Optional<Integer> maxEntries) {
 		if (maxEntries.isPresent() && maxEntries.get() < 0) {
@@ -48,11 +56,51 @@ public class InMemoryRequestJournal implements RequestListener, RequestJournal {
 		return size(filter(requests, matchedBy(requestPattern)));
 	}
 
+	@Override
+	public List<Integer> countRequestsMatchingEach(List<RequestPattern> requestPatterns) {
+		LoggedRequest[] snapshot = requests.toArray(new LoggedRequest[0]);
+		return Ints.asList(BatchRequestCounter.count(snapshot, requestPatterns));
+	}
+
+	@Override
+	public int awaitRequestsMatching(RequestPattern requestPattern, int count, long timeoutMillis) {
+		RequestCountWaiter waiter;
+		synchronized (appendLock) {
+			waiter = new RequestCountWaiter(requestPattern, count, lastSequence);
+			waiters.add(waiter);
+		}
+
+		try {
+			waiter.addEarlierRequests(countRequestsMatchingUpTo(requestPattern, waiter.getFromSequence()));
+			if (!waiter.isSatisfied()) {
+				waiter.await(timeoutMillis);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			waiters.remove(waiter);
+		}
+		return waiter.getCount();
+	}
+
+	private int countRequestsMatchingUpTo(final RequestPattern requestPattern, final long sequence) {
+		return size(filter(requests, new Predicate<LoggedRequest>() {
+			public boolean apply(LoggedRequest input) {
+				return input.getSequence() <= sequence && requestPattern.isMatchedBy(input);
+			}
+		}));
+	}
+
 	@Override
 	public List<LoggedRequest> getRequestsMatching(RequestPattern requestPattern) {
 		return ImmutableList.copyOf(filter(requests, matchedBy(requestPattern)));
 	}
 
+	@Override
+	public Iterable<LoggedRequest> getAllRequests() {
+		return Iterables.unmodifiableIterable(requests);
+	}
+
 	private Predicate<Request> matchedBy(final RequestPattern requestPattern) {
 		return new Predicate<Request>() {
 			public boolean apply(Request input) {
@@ -63,18 +111,42 @@ public class InMemoryRequestJournal implements RequestListener, RequestJournal {
 
 	@Override
 	public void requestReceived(Request request, Response response) {
-		requests.add(LoggedRequest.createFrom(request));
-		removeOldEntries();
+		append(request, null);
+	}
+
+	@Override
+	public void requestReceived(Request request, ResponseDefinition responseDefinition) {
+		append(request, responseDefinition.getMatchedStub());
 	}
 
 	@Override
 	public void requestReceived(Request request) {
-		requestReceived(request, null);
+		append(request, null);
+	}
+
+	private void append(Request request, String matchedStub) {
+		FlightRecorderEvents.Event event = FlightRecorderEvents.JOURNAL_APPEND.begin();
+		LoggedRequest loggedRequest = LoggedRequest.createFrom(request);
+		loggedRequest.setMatchedStub(matchedStub);
+		synchronized (appendLock) {
+			loggedRequest.setSequence(++lastSequence);
+			requests.add(loggedRequest);
+		}
+		for (RequestCountWaiter waiter: waiters) {
+			waiter.requestAdded(loggedRequest);
+		}
+		removeOldEntries();
+		event.set(0, request.getMethod().toString()).set(1, request.getUrl()).commit();
 	}
 
 	@Override
 	public void reset() {
-		requests.clear();
+		synchronized (appendLock) {
+			requests.clear();
+			for (RequestCountWaiter waiter: waiters) {
+				waiter.restartFrom(lastSequence);
+			}
+		}
 	}
 
 	private void removeOldEntries() {
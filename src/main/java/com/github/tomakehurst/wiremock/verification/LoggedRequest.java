@@ -19,7 +19,10 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize.Inclusion;
 import com.github.tomakehurst.wiremock.http.*;
+import com.github.tomakehurst.wiremock.metrics.PhaseTimings;
 import com.google.common.base.Charsets;
 
 import java.net.URI;
@@ -44,15 +47,25 @@ public class LoggedRequest implements Request {
 	private final byte[] body;
 	private final boolean isBrowserProxyRequest;
     private final Date loggedDate;
+    private PhaseTimings timings;
+    private Long sequence;
+    private String matchedStub;
 	
 	public static LoggedRequest createFrom(Request request) {
-        return new LoggedRequest(request.getUrl(),
+        LoggedRequest loggedRequest = new LoggedRequest(request.getUrl(),
                 request.getAbsoluteUrl(),
                 request.getMethod(),
                 copyOf(request.getHeaders()),
                 request.getBody(),
                 request.isBrowserProxyRequest(),
                 new Date());
+
+        PhaseTimings timings = PhaseTimings.current();
+        if (timings.isEnabled()) {
+            loggedRequest.timings = timings;
+        }
+
+        return loggedRequest;
 	}
 
     public LoggedRequest(String url,
@@ -160,6 +173,33 @@ public class LoggedRequest implements Request {
         return loggedDate;
     }
 
+    @JsonSerialize(include = Inclusion.NON_NULL)
+    public PhaseTimings getTimings() {
+        return timings;
+    }
+
+    public void setTimings(PhaseTimings timings) {
+        this.timings = timings;
+    }
+
+    @JsonSerialize(include = Inclusion.NON_NULL)
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    @JsonSerialize(include = Inclusion.NON_NULL)
+    public String getMatchedStub() {
+        return matchedStub;
+    }
+
+    public void setMatchedStub(String matchedStub) {
+        this.matchedStub = matchedStub;
+    }
+
     public String getLoggedDateString() {
         return format(loggedDate);
     }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class RequestAggregationResult extends JournalBasedResult {
+
+    private final long total;
+    private final Map<String, Long> counts;
+
+    @JsonCreator
+    public RequestAggregationResult(@JsonProperty("total") long total,
+                                    @JsonProperty("counts") Map<String, Long> counts,
+                                    @JsonProperty("requestJournalDisabled") boolean requestJournalDisabled) {
+        super(requestJournalDisabled);
+        this.total = total;
+        this.counts = counts;
+    }
+
+    public static RequestAggregationResult withRequestJournalDisabled() {
+        return new RequestAggregationResult(0, Collections.<String, Long>emptyMap(), true);
+    }
+
+    public static RequestAggregationResult withCounts(long total, Map<String, Long> counts) {
+        return new RequestAggregationResult(total, counts, false);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Request counts keyed by group, largest first, or in time order when grouped by time.
+     */
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+}
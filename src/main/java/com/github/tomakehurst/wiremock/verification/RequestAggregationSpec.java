@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize.Inclusion;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+
+import java.util.Arrays;
+
+@JsonSerialize(include = Inclusion.NON_NULL)
+public class RequestAggregationSpec {
+
+    public static final int DEFAULT_BUCKET_SECONDS = 60;
+
+    public enum GroupBy { METHOD, PATH, STUB, TIME }
+
+    private final GroupBy groupBy;
+    private final RequestPattern pattern;
+    private final Integer bucketSeconds;
+
+    @JsonCreator
+    public RequestAggregationSpec(@JsonProperty("groupBy") GroupBy groupBy,
+                                  @JsonProperty("pattern") RequestPattern pattern,
+                                  @JsonProperty("bucketSeconds") Integer bucketSeconds) {
+        this.groupBy = groupBy;
+        this.pattern = pattern;
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    public static RequestAggregationSpec groupedBy(GroupBy groupBy) {
+        return new RequestAggregationSpec(groupBy, null, null);
+    }
+
+    public RequestAggregationSpec matching(RequestPattern pattern) {
+        return new RequestAggregationSpec(groupBy, pattern, bucketSeconds);
+    }
+
+    public RequestAggregationSpec inBucketsOf(int seconds) {
+        return new RequestAggregationSpec(groupBy, pattern, seconds);
+    }
+
+    /**
+     * @throws IllegalArgumentException if there's nothing to group by, or the time buckets aren't at least a second long
+     */
+    public void validate() {
+        if (groupBy == null) {
+            throw new IllegalArgumentException("groupBy must be one of " + Arrays.toString(GroupBy.values()));
+        }
+        if (bucketSeconds != null && bucketSeconds <= 0) {
+            throw new IllegalArgumentException("bucketSeconds must be greater than 0, but was " + bucketSeconds);
+        }
+    }
+
+    public GroupBy getGroupBy() {
+        return groupBy;
+    }
+
+    public RequestPattern getPattern() {
+        return pattern;
+    }
+
+    public Integer getBucketSeconds() {
+        return bucketSeconds;
+    }
+}
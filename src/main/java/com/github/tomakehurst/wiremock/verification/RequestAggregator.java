@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+import static com.github.tomakehurst.wiremock.verification.RequestAggregationSpec.DEFAULT_BUCKET_SECONDS;
+import static com.github.tomakehurst.wiremock.verification.RequestAggregationSpec.GroupBy.TIME;
+
+/**
+ * Counts journal entries by group in a single pass, so that only the counts need to leave the server.
+ */
+public class RequestAggregator {
+
+    public static final String UNMATCHED = "(unmatched)";
+
+    private final RequestAggregationSpec spec;
+    private final long bucketMillis;
+    private final SimpleDateFormat bucketFormat;
+
+    /**
+     * @throws IllegalArgumentException if the spec isn't valid
+     */
+    public RequestAggregator(RequestAggregationSpec spec) {
+        spec.validate();
+        this.spec = spec;
+        bucketMillis = (spec.getBucketSeconds() != null ? spec.getBucketSeconds() : DEFAULT_BUCKET_SECONDS) * 1000L;
+        bucketFormat = new SimpleDateFormat(LoggedRequest.DATE_FORMAT);
+        bucketFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    public RequestAggregationResult aggregate(Iterable<LoggedRequest> requests) {
+        Map<String, long[]> counts = new HashMap<String, long[]>();
+        long total = 0;
+        for (LoggedRequest request: requests) {
+            if (spec.getPattern() != null && !spec.getPattern().isMatchedBy(request)) {
+                continue;
+            }
+
+            String key = keyFor(request);
+            long[] count = counts.get(key);
+            if (count == null) {
+                count = new long[1];
+                counts.put(key, count);
+            }
+            count[0]++;
+            total++;
+        }
+
+        return RequestAggregationResult.withCounts(total, sorted(counts));
+    }
+
+    private String keyFor(LoggedRequest request) {
+        switch (spec.getGroupBy()) {
+            case METHOD:
+                return request.getMethod().toString();
+            case PATH:
+                return pathOf(request.getUrl());
+            case STUB:
+                return request.getMatchedStub() != null ? request.getMatchedStub() : UNMATCHED;
+            default:
+                return bucketFor(request.getLoggedDate());
+        }
+    }
+
+    private static String pathOf(String url) {
+        int queryStart = url.indexOf('?');
+        return queryStart == -1 ? url : url.substring(0, queryStart);
+    }
+
+    /**
+     * Buckets are named by their start in UTC, as local time repeats an hour when clocks go back, which would merge
+     * two buckets under one name.
+     */
+    private String bucketFor(Date loggedDate) {
+        long bucketStart = (loggedDate.getTime() / bucketMillis) * bucketMillis;
+        return bucketFormat.format(new Date(bucketStart));
+    }
+
+    private Map<String, Long> sorted(final Map<String, long[]> counts) {
+        List<String> keys = new ArrayList<String>(counts.keySet());
+        if (spec.getGroupBy() == TIME) {
+            Collections.sort(keys);
+        } else {
+            Collections.sort(keys, new Comparator<String>() {
+                public int compare(String one, String two) {
+                    long difference = counts.get(two)[0] - counts.get(one)[0];
+                    return difference != 0 ? (difference > 0 ? 1 : -1) : one.compareTo(two);
+                }
+            });
+        }
+
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        for (String key: keys) {
+            result.put(key, counts.get(key)[0]);
+        }
+        return result;
+    }
+}
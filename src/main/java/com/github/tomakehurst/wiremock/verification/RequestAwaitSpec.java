@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize.Inclusion;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+
+import static java.lang.Math.min;
+
+@JsonSerialize(include = Inclusion.NON_NULL)
+public class RequestAwaitSpec {
+
+    public static final int DEFAULT_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Kept below the admin client's 30 second socket timeout so that a wait always returns a result.
+     */
+    public static final int MAX_TIMEOUT_MILLIS = 25000;
+
+    private final RequestPattern requestPattern;
+    private final Integer count;
+    private final Integer timeoutMillis;
+
+    @JsonCreator
+    public RequestAwaitSpec(@JsonProperty("requestPattern") RequestPattern requestPattern,
+                            @JsonProperty("count") Integer count,
+                            @JsonProperty("timeoutMillis") Integer timeoutMillis) {
+        this.requestPattern = requestPattern;
+        this.count = count;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public RequestPattern getRequestPattern() {
+        return requestPattern;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public Integer getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public int expectedCount() {
+        return count != null ? count : 1;
+    }
+
+    public int effectiveTimeoutMillis() {
+        return min(timeoutMillis != null ? timeoutMillis : DEFAULT_TIMEOUT_MILLIS, MAX_TIMEOUT_MILLIS);
+    }
+}
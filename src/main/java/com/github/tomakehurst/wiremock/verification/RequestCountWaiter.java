@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the count of requests matching a pattern as they are appended to the journal,
+ * releasing a waiting thread once the expected count is reached.
+ * Only requests with a sequence number after the one the waiter starts from are counted as they arrive. Those
+ * already in the journal are counted separately by the caller, so neither needs to hold up the journal's appends.
+ */
+class RequestCountWaiter {
+
+    private final RequestPattern requestPattern;
+    private final int expectedCount;
+    private final CountDownLatch reached = new CountDownLatch(1);
+    private volatile long fromSequence;
+    private int count;
+    private boolean restarted;
+
+    RequestCountWaiter(RequestPattern requestPattern, int expectedCount, long fromSequence) {
+        this.requestPattern = requestPattern;
+        this.expectedCount = expectedCount;
+        this.fromSequence = fromSequence;
+    }
+
+    synchronized boolean isSatisfied() {
+        return count >= expectedCount;
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    long getFromSequence() {
+        return fromSequence;
+    }
+
+    /**
+     * Adds the count of matching requests that were already in the journal when the waiter started, unless the
+     * journal has been reset since, in which case those requests are gone.
+     */
+    synchronized void addEarlierRequests(int earlierCount) {
+        if (!restarted) {
+            increaseCount(earlierCount);
+        }
+    }
+
+    void requestAdded(LoggedRequest request) {
+        long sequence = request.getSequence();
+        if (sequence <= fromSequence || !requestPattern.isMatchedBy(request)) {
+            return;
+        }
+
+        synchronized (this) {
+            if (sequence > fromSequence) {
+                increaseCount(1);
+            }
+        }
+    }
+
+    /**
+     * Starts counting again from zero after the journal was reset, ignoring requests up to the given sequence number.
+     */
+    synchronized void restartFrom(long sequence) {
+        fromSequence = sequence;
+        count = 0;
+        restarted = true;
+    }
+
+    void await(long timeoutMillis) throws InterruptedException {
+        reached.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void increaseCount(int increase) {
+        count += increase;
+        if (count >= expectedCount) {
+            reached.countDown();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize.Inclusion;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+
+import java.util.Date;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+@JsonSerialize(include = Inclusion.NON_NULL)
+public class RequestExportSpec {
+
+    private RequestPattern pattern;
+    private Long after;
+    private Integer limit;
+    private Date from;
+    private Date to;
+    private List<String> fields;
+
+    public static RequestExportSpec exportRequests() {
+        return new RequestExportSpec();
+    }
+
+    public RequestExportSpec matching(RequestPattern pattern) {
+        this.pattern = pattern;
+        return this;
+    }
+
+    public RequestExportSpec after(long sequence) {
+        this.after = sequence;
+        return this;
+    }
+
+    public RequestExportSpec limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public RequestExportSpec loggedBetween(Date from, Date to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    public RequestExportSpec fields(String... fields) {
+        this.fields = asList(fields);
+        return this;
+    }
+
+    public RequestPattern getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(RequestPattern pattern) {
+        this.pattern = pattern;
+    }
+
+    public Long getAfter() {
+        return after;
+    }
+
+    public void setAfter(Long after) {
+        this.after = after;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public Date getFrom() {
+        return from;
+    }
+
+    public void setFrom(Date from) {
+        this.from = from;
+    }
+
+    public Date getTo() {
+        return to;
+    }
+
+    public void setTo(Date to) {
+        this.to = to;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public void setFields(List<String> fields) {
+        this.fields = fields;
+    }
+}
@@ -16,6 +16,7 @@
 package com.github.tomakehurst.wiremock.verification;
 
 import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 
 import java.util.List;
@@ -23,8 +24,18 @@ import java.util.List;
 public interface RequestJournal {
 
 	int countRequestsMatching(RequestPattern requestPattern);
+    List<Integer> countRequestsMatchingEach(List<RequestPattern> requestPatterns);
+
+    /**
+     * Blocks until at least {@code count} requests matching the pattern have been received or the timeout expires.
+     *
+     * @return The number of matching requests when the wait ended.
+     */
+    int awaitRequestsMatching(RequestPattern requestPattern, int count, long timeoutMillis);
     List<LoggedRequest> getRequestsMatching(RequestPattern requestPattern);
+    Iterable<LoggedRequest> getAllRequests();
 	void reset();
 
     void requestReceived(Request request);
+    void requestReceived(Request request, ResponseDefinition responseDefinition);
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.tomakehurst.wiremock.http.StreamingBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+
+/**
+ * Writes journal entries as newline-delimited JSON, one request per line, without
+ * building the whole result in memory. The {@code sequence} of the last line written
+ * can be passed back as {@code after} to fetch the next page.
+ */
+public class RequestJournalExporter implements StreamingBody {
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final byte[] NEWLINE = { '\n' };
+
+    private final Iterable<LoggedRequest> requests;
+    private final RequestExportSpec spec;
+
+    public RequestJournalExporter(Iterable<LoggedRequest> requests, RequestExportSpec spec) {
+        this.requests = requests;
+        this.spec = spec;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        int limit = spec.getLimit() != null ? spec.getLimit() : Integer.MAX_VALUE;
+        int written = 0;
+        for (LoggedRequest request: requests) {
+            if (written >= limit) {
+                break;
+            }
+
+            if (isSelected(request)) {
+                writeLine(request, out);
+                written++;
+            }
+        }
+    }
+
+    private boolean isSelected(LoggedRequest request) {
+        if (spec.getAfter() != null && (request.getSequence() == null || request.getSequence() <= spec.getAfter())) {
+            return false;
+        }
+
+        Date loggedDate = request.getLoggedDate();
+        if (spec.getFrom() != null && loggedDate.before(spec.getFrom())) {
+            return false;
+        }
+
+        if (spec.getTo() != null && !loggedDate.before(spec.getTo())) {
+            return false;
+        }
+
+        return spec.getPattern() == null || spec.getPattern().isMatchedBy(request);
+    }
+
+    private void writeLine(LoggedRequest request, OutputStream out) throws IOException {
+        if (spec.getFields() == null || spec.getFields().isEmpty()) {
+            MAPPER.writeValue(out, request);
+        } else {
+            JsonNode node = MAPPER.valueToTree(request);
+            ((ObjectNode) node).retain(spec.getFields());
+            MAPPER.writeValue(out, node);
+        }
+        out.write(NEWLINE);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
+import com.github.tomakehurst.wiremock.core.WireMockApp;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.global.ThreadSafeRequestDelayControl;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.ProxyResponseRenderer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.http.StubRequestHandler;
+import com.github.tomakehurst.wiremock.http.StubResponseRenderer;
+import com.github.tomakehurst.wiremock.servlet.NotImplementedContainer;
+import com.github.tomakehurst.wiremock.servlet.NotImplementedMappingsSaver;
+import com.github.tomakehurst.wiremock.standalone.MappingsLoader;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.StubMappings;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Guards the number of bytes allocated while serving a request in-process, from matching through to a rendered
+ * Response. Budgets are deliberately loose (roughly twice what was measured when they were recorded) so that only
+ * significant regressions fail; lower them when an optimisation lands so that it stays landed.
+ */
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_REQUESTS = 20000;
+    private static final int MEASURED_REQUESTS = 2000;
+    private static final int MEASUREMENT_ROUNDS = 5;
+
+    private static final long STATIC_STUB_BUDGET = 4096;
+    private static final long REGEX_STUB_BUDGET = 8192;
+    private static final long HEADER_MATCHED_STUB_BUDGET = 8192;
+    private static final long FILE_BODY_STUB_BUDGET = 32768;
+    private static final long XML_BODY_STUB_BUDGET = 262144;
+    private static final long UNMATCHED_REQUEST_BUDGET = 6144;
+
+    private ThreadMXBean threadMXBean;
+    private Method getThreadAllocatedBytes;
+    private List<String> originalExcludedNodes;
+    private WireMockApp wireMockApp;
+    private StubRequestHandler stubRequestHandler;
+
+    @Before
+    public void init() {
+        threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(enableThreadAllocatedMemory());
+
+        originalExcludedNodes = WireMockServer.excludedNodes;
+        WireMockServer.excludedNodes = Collections.emptyList();
+
+        SingleRootFileSource fileSource = new SingleRootFileSource("src/test/resources");
+        wireMockApp = new WireMockApp(
+                new ThreadSafeRequestDelayControl(),
+                false,
+                new MappingsLoader() {
+                    public void loadMappingsInto(StubMappings stubMappings) {
+                    }
+                },
+                new NotImplementedMappingsSaver(),
+                false,
+                Optional.of(100),
+                ImmutableMap.<String, ResponseTransformer>of(),
+                fileSource,
+                new NotImplementedContainer(),
+                0);
+        stubRequestHandler = new StubRequestHandler(wireMockApp, new StubResponseRenderer(
+                fileSource.child(WireMockApp.FILES_ROOT),
+                wireMockApp.getGlobalSettingsHolder(),
+                new ProxyResponseRenderer()));
+    }
+
+    @After
+    public void cleanUp() {
+        WireMockServer.excludedNodes = originalExcludedNodes;
+    }
+
+    /**
+     * Per-thread allocation counts are only available from the HotSpot extension of ThreadMXBean, which is reached
+     * reflectively so that this class still loads, and the tests are skipped, on JVMs without it.
+     */
+    private boolean enableThreadAllocatedMemory() {
+        try {
+            Class<?> hotSpotThreadMXBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!hotSpotThreadMXBean.isInstance(threadMXBean) ||
+                    !(Boolean) hotSpotThreadMXBean.getMethod("isThreadAllocatedMemorySupported").invoke(threadMXBean)) {
+                return false;
+            }
+
+            hotSpotThreadMXBean.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(threadMXBean, true);
+            getThreadAllocatedBytes = hotSpotThreadMXBean.getMethod("getThreadAllocatedBytes", long.class);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        } catch (ReflectiveOperationException e) {
+            return throwUnchecked(e, Boolean.class);
+        }
+    }
+
+    private long threadAllocatedBytes(long threadId) {
+        try {
+            return (Long) getThreadAllocatedBytes.invoke(threadMXBean, threadId);
+        } catch (ReflectiveOperationException e) {
+            return throwUnchecked(e, Long.class);
+        }
+    }
+
+    @Test
+    public void staticStubStaysWithinBudget() {
+        addStub(get(urlEqualTo("/static")).willReturn(aResponse()
+                .withHeader("Content-Type", "text/plain")
+                .withBody("Static content")));
+
+        assertWithinBudget(request(GET, "/static"), STATIC_STUB_BUDGET);
+    }
+
+    @Test
+    public void regexStubStaysWithinBudget() {
+        addStub(get(urlMatching("/regex/[0-9]+")).willReturn(aResponse().withBody("Regex content")));
+
+        assertWithinBudget(request(GET, "/regex/123"), REGEX_STUB_BUDGET);
+    }
+
+    @Test
+    public void headerMatchedStubStaysWithinBudget() {
+        addStub(get(urlEqualTo("/negotiated"))
+                .withHeader("Accept", equalTo("application/json"))
+                .willReturn(aResponse().withBody("{}")));
+
+        assertWithinBudget(request(GET, "/negotiated", new HttpHeader("Accept", "application/json")),
+                HEADER_MATCHED_STUB_BUDGET);
+    }
+
+    @Test
+    public void fileBodyStubStaysWithinBudget() {
+        addStub(get(urlEqualTo("/file")).willReturn(aResponse().withBodyFile("plain-example.txt")));
+
+        assertWithinBudget(request(GET, "/file"), FILE_BODY_STUB_BUDGET);
+    }
+
+    @Test
+    public void xmlBodyStubStaysWithinBudget() {
+        String body = "<soap><arg0><id>1</id><name>example</name></arg0></soap>";
+        addStub(post(urlEqualTo("/service"))
+                .withRequestBody(equalTo(body))
+                .willReturn(aResponse().withBody("<result>ok</result>")));
+
+        assertWithinBudget(request(POST, "/service", body), XML_BODY_STUB_BUDGET);
+    }
+
+    @Test
+    public void unmatchedRequestStaysWithinBudget() {
+        addStub(get(urlEqualTo("/static")).willReturn(aResponse().withBody("Static content")));
+
+        assertWithinBudget(request(GET, "/not-stubbed"), UNMATCHED_REQUEST_BUDGET);
+    }
+
+    private void addStub(MappingBuilder mappingBuilder) {
+        StubMapping stubMapping = mappingBuilder.build();
+        wireMockApp.addStubMapping(stubMapping);
+    }
+
+    private void assertWithinBudget(Request request, long budgetBytesPerRequest) {
+        Response response = stubRequestHandler.handle(request);
+        assertThat(response.getStatus() > 0, is(true));
+
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            stubRequestHandler.handle(request);
+        }
+
+        long bytesPerRequest = Long.MAX_VALUE;
+        for (int round = 0; round < MEASUREMENT_ROUNDS; round++) {
+            long threadId = Thread.currentThread().getId();
+            long before = threadAllocatedBytes(threadId);
+            for (int i = 0; i < MEASURED_REQUESTS; i++) {
+                stubRequestHandler.handle(request);
+            }
+            long allocated = threadAllocatedBytes(threadId) - before;
+            bytesPerRequest = Math.min(bytesPerRequest, allocated / MEASURED_REQUESTS);
+        }
+
+        assertThat("Bytes allocated per request", bytesPerRequest, lessThanOrEqualTo(budgetBytesPerRequest));
+    }
+
+    private static Request request(RequestMethod method, String url, HttpHeader... headers) {
+        return new LoggedRequest(url, "http://localhost" + url, method, new HttpHeaders(headers), "", false, new Date());
+    }
+
+    private static Request request(RequestMethod method, String url, String body) {
+        return new LoggedRequest(url, "http://localhost" + url, method, new HttpHeaders(), body, false, new Date());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.client.HttpAdminClient;
+import com.github.tomakehurst.wiremock.http.ConnectorStats;
+import com.github.tomakehurst.wiremock.http.ContainerStats;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static com.github.tomakehurst.wiremock.core.Options.DEFAULT_CONTAINER_THREADS;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ContainerStatsAcceptanceTest extends AcceptanceTestBase {
+
+    @BeforeClass
+    public static void setupServer() {
+        setupServer(wireMockConfig().enableContainerStats(true));
+    }
+
+    @Test
+    public void reportsThreadPoolAndConnectorStatistics() {
+        ContainerStats stats = new HttpAdminClient("localhost", wireMockServer.port()).getContainerStats();
+
+        assertThat(stats.getMaxThreads(), is(DEFAULT_CONTAINER_THREADS));
+        assertThat(stats.getThreads(), greaterThan(0));
+        assertThat(stats.getBusyThreads(), greaterThanOrEqualTo(1));
+
+        ConnectorStats http = stats.getConnectors().get(0);
+        assertThat(http.getName(), is("http"));
+        assertThat(http.getPort(), is(wireMockServer.port()));
+        assertThat(http.getConnectionsOpen(), greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    public void publishesContainerStatisticsOverJmx() throws Exception {
+        ObjectName name = new ObjectName("com.github.tomakehurst.wiremock:type=ContainerStats,port=" + wireMockServer.port());
+
+        Object maxThreads = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "MaxThreads");
+
+        assertThat((Integer) maxThreads, is(DEFAULT_CONTAINER_THREADS));
+    }
+
+    @Test
+    public void reportsOnlyThreadPoolStatisticsAndSkipsJmxWhenContainerStatsAreNotEnabled() throws Exception {
+        WireMockServer server = new WireMockServer(wireMockConfig().dynamicPort());
+        server.start();
+        try {
+            ContainerStats stats = new HttpAdminClient("localhost", server.port()).getContainerStats();
+
+            assertThat(stats.getMaxThreads(), is(DEFAULT_CONTAINER_THREADS));
+            assertThat(stats.getConnectors(), empty());
+            ObjectName name = new ObjectName("com.github.tomakehurst.wiremock:type=ContainerStats,port=" + server.port());
+            assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name), is(false));
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.client.VerificationException;
+import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
+import com.github.tomakehurst.wiremock.stubbing.RecordingSnapshotResult;
+import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.io.Files.write;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class DeferredRecordingAcceptanceTest {
+
+    @Rule
+    public final TemporaryFolder tempDir = new TemporaryFolder();
+
+    private WireMockServer targetService;
+    private WireMockServer proxyingService;
+    private WireMockTestClient testClient;
+    private WireMock proxyingServiceAdmin;
+    private File mappingsDirectory;
+    private File filesDirectory;
+
+    @Before
+    public void init() throws IOException {
+        targetService = new WireMockServer(wireMockConfig().dynamicPort());
+        targetService.start();
+        new WireMock(targetService.port()).register(any(urlMatching("/things/.*"))
+                .willReturn(aResponse().withStatus(200).withBody("Thing")));
+
+        mappingsDirectory = tempDir.newFolder("mappings");
+        filesDirectory = tempDir.newFolder("__files");
+        File excludesDirectory = tempDir.newFolder(WireMockServer.EXCLUDES_ROOT);
+        write("{\"excludeNodes\":[]}", new File(excludesDirectory, "exclude.json"), UTF_8);
+
+        proxyingService = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .fileSource(new SingleRootFileSource(tempDir.getRoot())));
+        proxyingService.enableDeferredRecordMappings(
+                new SingleRootFileSource(mappingsDirectory), new SingleRootFileSource(filesDirectory), 3);
+        proxyingService.start();
+        testClient = new WireMockTestClient(proxyingService.port());
+        proxyingServiceAdmin = new WireMock(proxyingService.port());
+        proxyingServiceAdmin.register(any(urlMatching(".*"))
+                .willReturn(aResponse().proxiedFrom("http://localhost:" + targetService.port())));
+    }
+
+    @After
+    public void stopServers() {
+        proxyingService.stop();
+        targetService.stop();
+    }
+
+    @Test
+    public void writesNoFilesUntilASnapshotIsTaken() {
+        assertThat(testClient.get("/things/1").content(), is("Thing"));
+        assertThat(testClient.get("/things/2").content(), is("Thing"));
+
+        assertThat(mappingsDirectory.list(), arrayWithSize(0));
+
+        RecordingSnapshotResult result = proxyingServiceAdmin.snapshotRecording();
+
+        assertThat(result.isEnabled(), is(true));
+        assertThat(result.getCaptured(), is(2L));
+        assertThat(result.getRecorded(), is(2L));
+        assertThat(mappingsDirectory.list(), arrayWithSize(2));
+        assertThat(filesDirectory.list(), arrayWithSize(1));
+    }
+
+    @Test
+    public void recordsOnlyRequestsMatchingTheFilter() {
+        testClient.get("/things/1");
+        testClient.get("/things/2");
+        testClient.get("/other");
+
+        RecordingSnapshotResult result = proxyingServiceAdmin.snapshotRecording(getRequestedFor(urlEqualTo("/things/2")));
+
+        assertThat(result.getCaptured(), is(3L));
+        assertThat(result.getFilteredOut(), is(2L));
+        assertThat(result.getRecorded(), is(1L));
+        assertThat(mappingsDirectory.list(), arrayWithSize(1));
+    }
+
+    @Test
+    public void keepsExchangesNotMatchingTheFilterForALaterSnapshot() {
+        testClient.get("/things/1");
+        testClient.get("/other");
+        proxyingServiceAdmin.snapshotRecording(getRequestedFor(urlEqualTo("/things/1")));
+
+        RecordingSnapshotResult result = proxyingServiceAdmin.snapshotRecording();
+
+        assertThat(result.getCaptured(), is(1L));
+        assertThat(result.getRecorded(), is(1L));
+        assertThat(mappingsDirectory.list(), arrayWithSize(2));
+    }
+
+    @Test
+    public void recordsRepeatedRequestsOnlyOnceAcrossSnapshots() {
+        testClient.get("/things/1");
+        testClient.get("/things/1");
+        RecordingSnapshotResult first = proxyingServiceAdmin.snapshotRecording();
+
+        testClient.get("/things/1");
+        RecordingSnapshotResult second = proxyingServiceAdmin.snapshotRecording();
+
+        assertThat(first.getRecorded(), is(1L));
+        assertThat(first.getDuplicates(), is(1L));
+        assertThat(second.getRecorded(), is(0L));
+        assertThat(second.getDuplicates(), is(1L));
+        assertThat(mappingsDirectory.list(), arrayWithSize(1));
+    }
+
+    @Test
+    public void dropsAndCountsExchangesOnceTheBufferIsFull() {
+        for (int i = 1; i <= 5; i++) {
+            testClient.get("/things/" + i);
+        }
+
+        RecordingSnapshotResult result = proxyingServiceAdmin.snapshotRecording();
+
+        assertThat(result.getCaptured(), is(3L));
+        assertThat(result.getDropped(), is(2L));
+        assertThat(result.getRecorded(), is(3L));
+    }
+
+    @Test
+    public void keepsExchangesBufferedWhenWritingTheirMappingsFails() throws IOException {
+        testClient.get("/things/1");
+        testClient.get("/things/2");
+        assertThat(mappingsDirectory.delete(), is(true));
+        assertThat(mappingsDirectory.createNewFile(), is(true));
+
+        try {
+            proxyingServiceAdmin.snapshotRecording();
+            fail("Expected the snapshot to fail while the mappings directory is a file");
+        } catch (VerificationException e) {
+        }
+
+        assertThat(mappingsDirectory.delete(), is(true));
+        assertThat(mappingsDirectory.mkdir(), is(true));
+        RecordingSnapshotResult result = proxyingServiceAdmin.snapshotRecording();
+
+        assertThat(result.getCaptured(), is(2L));
+        assertThat(result.getRecorded(), is(2L));
+        assertThat(mappingsDirectory.list(), arrayWithSize(2));
+    }
+
+    @Test
+    public void discardsExchangesLeftInTheBufferWhenRequestsAreReset() {
+        testClient.get("/things/1");
+        testClient.get("/other");
+        proxyingServiceAdmin.snapshotRecording(getRequestedFor(urlEqualTo("/things/1")));
+
+        proxyingServiceAdmin.resetRequests();
+
+        assertThat(proxyingServiceAdmin.snapshotRecording().getCaptured(), is(0L));
+    }
+
+    @Test
+    public void doesNotCaptureResponsesThatWereNotProxied() {
+        proxyingServiceAdmin.register(get(urlEqualTo("/local")).atPriority(1).willReturn(aResponse().withBody("Local")));
+        testClient.get("/local");
+
+        assertThat(proxyingServiceAdmin.snapshotRecording().getCaptured(), is(0L));
+    }
+
+    @Test
+    public void reportsDisabledWhenDeferredRecordingIsNotEnabled() {
+        RecordingSnapshotResult result = new WireMock(targetService.port()).snapshotRecording();
+
+        assertThat(result.isEnabled(), is(false));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.StubMappingNotFoundException;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+public class EditStubMappingsAcceptanceTest extends AcceptanceTestBase {
+
+    @Test
+    public void replacesStubWithTheSameId() {
+        UUID id = UUID.randomUUID();
+        stubFor(get(urlEqualTo("/edit/me")).withId(id)
+                .willReturn(aResponse().withStatus(200).withBody("Original")));
+        assertThat(testClient.get("/edit/me").content(), is("Original"));
+
+        editStub(get(urlEqualTo("/edit/me")).withId(id)
+                .willReturn(aResponse().withStatus(200).withBody("Edited")));
+
+        assertThat(testClient.get("/edit/me").content(), is("Edited"));
+    }
+
+    @Test
+    public void removesStubById() {
+        UUID id = UUID.randomUUID();
+        stubFor(get(urlEqualTo("/remove/me")).withId(id)
+                .willReturn(aResponse().withStatus(200).withBody("Present")));
+        assertThat(testClient.get("/remove/me").statusCode(), is(200));
+
+        removeStub(id);
+
+        assertThat(testClient.get("/remove/me").statusCode(), is(HTTP_NOT_FOUND));
+    }
+
+    @Test
+    public void assignsIdsToStubsAddedWithout() {
+        stubFor(get(urlEqualTo("/no/id")).willReturn(aResponse().withStatus(200)));
+
+        for (StubMapping mapping: listAllStubMappings().getMappings()) {
+            assertThat(mapping.getId(), notNullValue());
+        }
+    }
+
+    @Test
+    public void removesStubUsingIdFromJsonApi() {
+        testClient.addResponse(
+                "{ \"id\": \"3c7aa6f5-3ed1-4c8d-a3e5-2f3d6b1f1a11\",                 \n" +
+                "  \"request\": { \"method\": \"GET\", \"url\": \"/json/removable\" },  \n" +
+                "  \"response\": { \"status\": 200 } }");
+        assertThat(testClient.get("/json/removable").statusCode(), is(200));
+
+        testClient.postWithBody("/__admin/mappings/remove",
+                "{ \"id\": \"3c7aa6f5-3ed1-4c8d-a3e5-2f3d6b1f1a11\" }",
+                "application/json", "utf-8");
+
+        assertThat(testClient.get("/json/removable").statusCode(), is(HTTP_NOT_FOUND));
+    }
+
+    @Test(expected = StubMappingNotFoundException.class)
+    public void throwsWhenRemovingUnknownStub() {
+        removeStub(UUID.randomUUID());
+    }
+
+    @Test(expected = StubMappingNotFoundException.class)
+    public void throwsWhenEditingUnknownStub() {
+        editStub(get(urlEqualTo("/unknown")).withId(UUID.randomUUID())
+                .willReturn(aResponse().withStatus(200)));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.client.HttpAdminClient;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ImportStubMappingsAcceptanceTest extends AcceptanceTestBase {
+
+    @Test
+    public void importsManyStubsInOneRequest() {
+        List<StubMapping> stubMappings = new ArrayList<StubMapping>();
+        for (int i = 0; i < 1000; i++) {
+            stubMappings.add(new StubMapping(
+                    new RequestPattern(GET, "/imported/" + i),
+                    new ResponseDefinition(200, "Imported " + i)));
+        }
+
+        int existingCount = wireMockServer.listAllStubMappings().getMappings().size();
+        new HttpAdminClient("localhost", wireMockServer.port()).importStubMappings(stubMappings);
+
+        assertThat(testClient.get("/imported/0").content(), is("Imported 0"));
+        assertThat(testClient.get("/imported/999").content(), is("Imported 999"));
+        assertThat(wireMockServer.listAllStubMappings().getMappings().size(), is(existingCount + 1000));
+    }
+
+    @Test
+    public void importsAJsonArrayOfStubs() {
+        testClient.postWithBody("/__admin/mappings/import",
+                "[\n" +
+                "  { \"request\": { \"method\": \"GET\", \"url\": \"/array/one\" }, \"response\": { \"status\": 200, \"body\": \"One\" } },\n" +
+                "  { \"request\": { \"method\": \"GET\", \"url\": \"/array/two\" }, \"response\": { \"status\": 200, \"body\": \"Two\" } }\n" +
+                "]",
+                "application/json", "utf-8");
+
+        assertThat(testClient.get("/array/one").content(), is("One"));
+        assertThat(testClient.get("/array/two").content(), is("Two"));
+    }
+
+    @Test
+    public void importsNewlineDelimitedStubs() {
+        testClient.postWithBody("/__admin/mappings/import",
+                "{ \"request\": { \"method\": \"GET\", \"url\": \"/ndjson/one\" }, \"response\": { \"status\": 200, \"body\": \"One\" } }\n" +
+                "{ \"request\": { \"method\": \"GET\", \"url\": \"/ndjson/two\" }, \"response\": { \"status\": 200, \"body\": \"Two\" } }\n",
+                "application/x-ndjson", "utf-8");
+
+        assertThat(testClient.get("/ndjson/one").content(), is("One"));
+        assertThat(testClient.get("/ndjson/two").content(), is("Two"));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.client.VerificationException;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
+import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.io.Files.readLines;
+import static com.google.common.io.Files.write;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MappingsBundleAcceptanceTest {
+
+    @Rule
+    public final TemporaryFolder tempDir = new TemporaryFolder();
+
+    private File mappingsDirectory;
+    private WireMockServer wireMockServer;
+    private WireMockTestClient testClient;
+    private WireMock wireMock;
+
+    @Before
+    public void init() throws IOException {
+        mappingsDirectory = tempDir.newFolder("mappings");
+        File excludesDirectory = tempDir.newFolder(WireMockServer.EXCLUDES_ROOT);
+        write("{\"excludeNodes\":[]}", new File(excludesDirectory, "exclude.json"), UTF_8);
+
+        write(mappingJson("/ndjson/1", "One") + "\n" + mappingJson("/ndjson/2", "Two") + "\n",
+                new File(mappingsDirectory, "bundle.ndjson"), UTF_8);
+        write("[" + mappingJson("/array/1", "One") + ",\n" + mappingJson("/array/2", "Two") + "]",
+                new File(mappingsDirectory, "bundle.json"), UTF_8);
+
+        wireMockServer = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .fileSource(new SingleRootFileSource(tempDir.getRoot())));
+        wireMockServer.start();
+        testClient = new WireMockTestClient(wireMockServer.port());
+        wireMock = new WireMock(wireMockServer.port());
+    }
+
+    @After
+    public void stopWireMock() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void loadsEveryMappingInNdjsonAndJsonArrayBundles() {
+        assertThat(testClient.get("/ndjson/1").content(), is("One"));
+        assertThat(testClient.get("/ndjson/2").content(), is("Two"));
+        assertThat(testClient.get("/array/1").content(), is("One"));
+        assertThat(testClient.get("/array/2").content(), is("Two"));
+    }
+
+    @Test
+    public void savesUnsavedMappingsToASingleNdjsonBundle() throws IOException {
+        wireMock.register(get(urlEqualTo("/saved/1")).willReturn(aResponse().withBody("Saved one")));
+        wireMock.register(get(urlEqualTo("/saved/2")).willReturn(aResponse().withBody("Saved two")));
+
+        wireMock.saveMappingsAsBundle("saved.ndjson");
+        wireMock.resetToDefaultMappings();
+
+        assertThat(readLines(new File(mappingsDirectory, "saved.ndjson"), UTF_8).size(), is(2));
+        assertThat(testClient.get("/saved/1").content(), is("Saved one"));
+        assertThat(testClient.get("/saved/2").content(), is("Saved two"));
+        assertThat(testClient.get("/ndjson/1").content(), is("One"));
+    }
+
+    @Test
+    public void savesUnsavedMappingsToASingleJsonArrayBundle() {
+        wireMock.register(get(urlEqualTo("/saved/array")).willReturn(aResponse().withBody("Saved in array")));
+
+        wireMock.saveMappingsAsBundle("saved.json");
+        wireMock.resetToDefaultMappings();
+
+        assertThat(testClient.get("/saved/array").content(), is("Saved in array"));
+        assertThat(wireMockServer.listAllStubMappings().getMappings().size(), is(5));
+    }
+
+    @Test
+    public void refusesToOverwriteAnExistingBundle() throws IOException {
+        wireMock.register(get(urlEqualTo("/saved/first")).willReturn(aResponse().withBody("First")));
+        wireMock.saveMappingsAsBundle("saved.ndjson");
+        wireMock.register(get(urlEqualTo("/saved/second")).willReturn(aResponse().withBody("Second")));
+
+        try {
+            wireMock.saveMappingsAsBundle("saved.ndjson");
+            fail("Expected saving over an existing bundle to be refused");
+        } catch (VerificationException e) {
+            assertThat(e.getMessage(), containsString("409"));
+        }
+
+        List<String> lines = readLines(new File(mappingsDirectory, "saved.ndjson"), UTF_8);
+        assertThat(lines.size(), is(1));
+        assertThat(lines.get(0), containsString("/saved/first"));
+    }
+
+    @Test(expected = VerificationException.class)
+    public void rejectsBundleNamesTheLoaderWouldIgnore() {
+        wireMock.saveMappingsAsBundle("saved.txt");
+    }
+
+    private static String mappingJson(String url, String body) {
+        return "{ \"request\": { \"method\": \"GET\", \"url\": \"" + url + "\" }, " +
+                "\"response\": { \"status\": 200, \"body\": \"" + body + "\" } }";
+    }
+}
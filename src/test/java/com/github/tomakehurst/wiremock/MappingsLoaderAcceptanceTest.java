@@ -15,22 +15,37 @@
  */
 package com.github.tomakehurst.wiremock;
 
+import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
 import com.github.tomakehurst.wiremock.core.Options;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.standalone.JsonFileMappingsLoader;
 import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
 import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
+import org.jmock.Expectations;
+import org.jmock.Mockery;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
 
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.io.Files.write;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
 public class MappingsLoaderAcceptanceTest {
 
+    @Rule
+    public final TemporaryFolder tempDir = new TemporaryFolder();
+
     private WireMockConfiguration configuration;
 	private WireMockServer wireMockServer;
 	private WireMockTestClient testClient;
@@ -63,6 +78,24 @@ public class MappingsLoaderAcceptanceTest {
 		assertThat(response.statusCode(), is(401));
 	}
 
+    @Test
+    public void loadsTheOtherMappingFilesWhenOneIsMalformed() throws IOException {
+        write("{ not json", tempDir.newFile("broken.json"), UTF_8);
+        write("{ \"request\": { \"method\": \"GET\", \"url\": \"/valid\" }, \"response\": { \"status\": 200, \"body\": \"Valid\" } }",
+                tempDir.newFile("valid.json"), UTF_8);
+        Mockery context = new Mockery();
+        final Notifier notifier = context.mock(Notifier.class);
+        context.checking(new Expectations() {{
+            one(notifier).error(with(allOf(containsString("Failed to load mapping file"), containsString("broken.json"))));
+        }});
+
+        buildWireMock(configuration);
+        wireMockServer.loadMappingsUsing(new JsonFileMappingsLoader(new SingleRootFileSource(tempDir.getRoot()), notifier));
+
+        assertThat(testClient.get("/valid").content(), is("Valid"));
+        context.assertIsSatisfied();
+    }
+
     @Test
     public void mappingsLoadedViaClasspath() {
         buildWireMock(configuration.usingFilesUnderClasspath("classpath-filesource"));
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
+import com.github.tomakehurst.wiremock.standalone.MappingsWatchStats;
+import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.io.Files.write;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MappingsWatchAcceptanceTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    @Rule
+    public final TemporaryFolder tempDir = new TemporaryFolder();
+
+    private File mappingsDirectory;
+    private WireMockServer wireMockServer;
+    private WireMockTestClient testClient;
+
+    @Before
+    public void init() throws IOException {
+        mappingsDirectory = tempDir.newFolder("mappings");
+        File excludesDirectory = tempDir.newFolder(WireMockServer.EXCLUDES_ROOT);
+        write("{\"excludeNodes\":[]}", new File(excludesDirectory, "exclude.json"), UTF_8);
+        writeMapping("existing.json", "/existing", "Existing");
+
+        wireMockServer = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .fileSource(new SingleRootFileSource(tempDir.getRoot()))
+                .watchMappings(50));
+        wireMockServer.start();
+        testClient = new WireMockTestClient(wireMockServer.port());
+    }
+
+    @After
+    public void stopWireMock() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    public void appliesCreatedMappingFiles() throws Exception {
+        writeMapping("created.json", "/created", "Created");
+
+        awaitBody("/created", "Created");
+        assertThat(testClient.get("/existing").content(), is("Existing"));
+    }
+
+    @Test
+    public void appliesModifiedMappingFilesToTheSameStub() throws Exception {
+        int stubCount = wireMockServer.listAllStubMappings().getMappings().size();
+
+        writeMapping("existing.json", "/existing", "Modified");
+
+        awaitBody("/existing", "Modified");
+        assertThat(wireMockServer.listAllStubMappings().getMappings().size(), is(stubCount));
+    }
+
+    @Test
+    public void removesStubsOfDeletedMappingFiles() throws Exception {
+        assertThat(new File(mappingsDirectory, "existing.json").delete(), is(true));
+
+        awaitStatus("/existing", HTTP_NOT_FOUND);
+    }
+
+    @Test
+    public void appliesMappingFilesInNewSubdirectories() throws Exception {
+        File subdirectory = new File(mappingsDirectory, "more");
+        assertThat(subdirectory.mkdir(), is(true));
+        write(mappingJson("/nested", "Nested"), new File(subdirectory, "nested.json"), UTF_8);
+
+        awaitBody("/nested", "Nested");
+    }
+
+    @Test
+    public void reportsReloadCounts() throws Exception {
+        writeMapping("counted.json", "/counted", "Counted");
+        awaitBody("/counted", "Counted");
+
+        MappingsWatchStats stats = wireMockServer.getMappingsWatchStats();
+        assertThat(stats.isEnabled(), is(true));
+        assertThat(stats.getBatches(), greaterThanOrEqualTo(1L));
+        assertThat(stats.getStubsAddedOrUpdated(), greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    public void keepsPreviousStubWhenChangedFileIsInvalid() throws Exception {
+        write("{ not json", new File(mappingsDirectory, "existing.json"), UTF_8);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (wireMockServer.getMappingsWatchStats().getFailures() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(wireMockServer.getMappingsWatchStats().getFailures(), greaterThanOrEqualTo(1L));
+        assertThat(testClient.get("/existing").content(), is("Existing"));
+    }
+
+    private void writeMapping(String fileName, String url, String body) throws IOException {
+        write(mappingJson(url, body), new File(mappingsDirectory, fileName), UTF_8);
+    }
+
+    private static String mappingJson(String url, String body) {
+        return "{ \"request\": { \"method\": \"GET\", \"url\": \"" + url + "\" }, " +
+                "\"response\": { \"status\": 200, \"body\": \"" + body + "\" } }";
+    }
+
+    private void awaitBody(String url, String expectedBody) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!expectedBody.equals(testClient.get(url).content()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(testClient.get(url).content(), is(expectedBody));
+    }
+
+    private void awaitStatus(String url, int expectedStatus) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (testClient.get(url).statusCode() != expectedStatus && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(testClient.get(url).statusCode(), is(expectedStatus));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.client.HttpAdminClient;
+import com.github.tomakehurst.wiremock.metrics.MetricsSnapshot;
+import com.github.tomakehurst.wiremock.metrics.StubHitCount;
+import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.metrics.RequestMetrics.MATCH;
+import static com.github.tomakehurst.wiremock.metrics.RequestMetrics.RENDER;
+import static com.github.tomakehurst.wiremock.testsupport.TestHttpHeader.withHeader;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class MetricsAcceptanceTest extends AcceptanceTestBase {
+
+    @Test
+    public void reportsHitCountsForEachStubAndPhaseLatencies() {
+        HttpAdminClient admin = new HttpAdminClient("localhost", wireMockServer.port());
+        long requestsBefore = admin.getMetrics().getRequests();
+        long unmatchedBefore = admin.getMetrics().getUnmatchedRequests();
+
+        givenThat(get(urlEqualTo("/metrics/one")).willReturn(aResponse().withStatus(200)));
+        givenThat(get(urlEqualTo("/metrics/two")).willReturn(aResponse().withStatus(200)));
+        testClient.get("/metrics/one");
+        testClient.get("/metrics/one");
+        testClient.get("/metrics/two");
+        testClient.get("/metrics/nowhere");
+
+        MetricsSnapshot metrics = admin.getMetrics();
+
+        assertThat(metrics.getRequests() - requestsBefore, is(4L));
+        assertThat(metrics.getUnmatchedRequests() - unmatchedBefore, is(1L));
+        assertThat(hitsFor("/metrics/one", metrics), is(2L));
+        assertThat(hitsFor("/metrics/two", metrics), is(1L));
+        assertThat(metrics.getPhases().get(MATCH).getCount(), greaterThanOrEqualTo(4L));
+        assertThat(metrics.getPhases().get(RENDER).getCount(), greaterThanOrEqualTo(4L));
+    }
+
+    @Test
+    public void servesMetricsInPrometheusTextFormat() {
+        givenThat(get(urlEqualTo("/metrics/prom")).willReturn(aResponse().withStatus(200)));
+        testClient.get("/metrics/prom");
+
+        WireMockResponse response = testClient.get("/__admin/metrics/prometheus");
+
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.firstHeader("Content-Type"), startsWith("text/plain; version=0.0.4"));
+        assertThat(response.content(), containsString("wiremock_requests_total "));
+        assertThat(response.content(), containsString("method=\"GET\",url=\"/metrics/prom\"} 1"));
+    }
+
+    @Test
+    public void labelsHitsByStubIdSoStubsSharingAMethodAndUrlAreDistinct() {
+        UUID jsonId = UUID.randomUUID();
+        UUID xmlId = UUID.randomUUID();
+        givenThat(get(urlEqualTo("/metrics/shared")).withId(jsonId)
+                .withHeader("Accept", equalTo("application/json")).willReturn(aResponse().withStatus(200)));
+        givenThat(get(urlEqualTo("/metrics/shared")).withId(xmlId)
+                .withHeader("Accept", equalTo("text/xml")).willReturn(aResponse().withStatus(200)));
+        testClient.get("/metrics/shared", withHeader("Accept", "application/json"));
+        testClient.get("/metrics/shared", withHeader("Accept", "application/json"));
+        testClient.get("/metrics/shared", withHeader("Accept", "text/xml"));
+
+        String prometheus = testClient.get("/__admin/metrics/prometheus").content();
+
+        assertThat(prometheus, containsString("wiremock_stub_hits_total{id=\"" + jsonId + "\",method=\"GET\",url=\"/metrics/shared\"} 2"));
+        assertThat(prometheus, containsString("wiremock_stub_hits_total{id=\"" + xmlId + "\",method=\"GET\",url=\"/metrics/shared\"} 1"));
+    }
+
+    private static long hitsFor(String url, MetricsSnapshot metrics) {
+        for (StubHitCount stub: metrics.getStubs()) {
+            if (url.equals(stub.getUrl())) {
+                return stub.getHits();
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.metrics.PhaseTimings;
+import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.github.tomakehurst.wiremock.metrics.PhaseTimings.DELAY;
+import static com.github.tomakehurst.wiremock.metrics.PhaseTimings.MATCH;
+import static org.hamcrest.Matchers.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertThat;
+
+public class PhaseTimingAcceptanceTest extends AcceptanceTestBase {
+
+    @BeforeClass
+    public static void setupServer() {
+        setupServer(wireMockConfig().enablePhaseTiming(true));
+    }
+
+    @Test
+    public void reportsPhaseDurationsInServerTimingHeader() {
+        givenThat(get(urlEqualTo("/timed/delayed")).willReturn(aResponse().withStatus(200).withFixedDelay(50)));
+
+        WireMockResponse response = testClient.get("/timed/delayed");
+
+        String serverTiming = response.firstHeader(PhaseTimings.SERVER_TIMING);
+        assertThat(serverTiming, containsString("match;dur="));
+        assertThat(serverTiming, containsString("delay;dur="));
+        assertThat(serverTiming, containsString("total;dur="));
+    }
+
+    @Test
+    public void keepsPhaseDurationsAgainstTheLoggedRequest() {
+        givenThat(get(urlEqualTo("/timed/journalled")).willReturn(aResponse().withStatus(200).withFixedDelay(20)));
+        testClient.get("/timed/journalled");
+
+        List<LoggedRequest> requests = findAll(getRequestedFor(urlEqualTo("/timed/journalled")));
+
+        PhaseTimings timings = requests.get(0).getTimings();
+        assertThat(timings.nanosFor(MATCH), notNullValue());
+        assertThat(timings.nanosFor(DELAY), greaterThanOrEqualTo(MILLISECONDS.toNanos(20)));
+    }
+
+    @Test
+    public void doesNotAddServerTimingHeaderToUnmatchedRequests() {
+        WireMockResponse response = testClient.get("/timed/nowhere");
+
+        assertThat(response.statusCode(), is(404));
+        assertThat(response.firstHeader(PhaseTimings.SERVER_TIMING), nullValue());
+    }
+}
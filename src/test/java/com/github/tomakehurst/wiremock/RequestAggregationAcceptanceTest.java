@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.client.HttpAdminClient;
+import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationResult;
+import com.github.tomakehurst.wiremock.verification.RequestAggregationSpec;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.verification.RequestAggregationSpec.GroupBy.*;
+import static com.github.tomakehurst.wiremock.verification.RequestAggregationSpec.groupedBy;
+import static com.github.tomakehurst.wiremock.verification.RequestAggregator.UNMATCHED;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RequestAggregationAcceptanceTest extends AcceptanceTestBase {
+
+    @Before
+    public void makeRequests() {
+        givenThat(get(urlPathEqualTo("/things")).willReturn(aResponse().withStatus(200)));
+        givenThat(post(urlMatching("/things/.*")).willReturn(aResponse().withStatus(201)));
+
+        testClient.get("/things?page=1");
+        testClient.get("/things?page=2");
+        testClient.postWithBody("/things/1", "{}", "application/json", "utf-8");
+        testClient.get("/nothing-here");
+    }
+
+    @Test
+    public void countsRequestsByMethod() {
+        RequestAggregationResult result = aggregate(groupedBy(METHOD));
+
+        assertThat(result.getTotal(), is(4L));
+        assertThat(result.getCounts(), hasEntry("GET", 3L));
+        assertThat(result.getCounts(), hasEntry("POST", 1L));
+        assertThat(result.getCounts().keySet().iterator().next(), is("GET"));
+    }
+
+    @Test
+    public void countsRequestsByPathIgnoringTheQuery() {
+        RequestAggregationResult result = aggregate(groupedBy(PATH));
+
+        assertThat(result.getCounts(), hasEntry("/things", 2L));
+        assertThat(result.getCounts(), hasEntry("/things/1", 1L));
+        assertThat(result.getCounts(), hasEntry("/nothing-here", 1L));
+    }
+
+    @Test
+    public void countsRequestsByMatchedStub() {
+        RequestAggregationResult result = aggregate(groupedBy(STUB));
+
+        assertThat(result.getCounts(), hasEntry("GET /things", 2L));
+        assertThat(result.getCounts(), hasEntry("POST /things/.*", 1L));
+        assertThat(result.getCounts(), hasEntry(UNMATCHED, 1L));
+    }
+
+    @Test
+    public void countsRequestsByTimeBucket() {
+        RequestAggregationResult result = aggregate(groupedBy(TIME).inBucketsOf(3600));
+
+        assertThat(result.getTotal(), is(4L));
+        assertThat(result.getCounts().size(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    public void rejectsTimeBucketsThatAreNotAtLeastASecondLong() {
+        WireMockResponse response = testClient.postWithBody("/__admin/requests/aggregate",
+                "{ \"groupBy\": \"TIME\", \"bucketSeconds\": 0 }", "application/json", "utf-8");
+
+        assertThat(response.statusCode(), is(400));
+    }
+
+    @Test
+    public void onlyCountsRequestsMatchingThePattern() {
+        RequestAggregationResult result = aggregate(groupedBy(PATH).matching(getRequestedFor(urlMatching("/things.*")).build()));
+
+        assertThat(result.getTotal(), is(2L));
+        assertThat(result.getCounts().size(), is(1));
+        assertThat(result.getCounts(), hasEntry("/things", 2L));
+    }
+
+    private static RequestAggregationResult aggregate(RequestAggregationSpec spec) {
+        return new HttpAdminClient("localhost", wireMockServer.port()).aggregateRequests(spec);
+    }
+}
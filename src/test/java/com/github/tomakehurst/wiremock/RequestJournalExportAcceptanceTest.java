@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.HttpAdminClient;
+import com.github.tomakehurst.wiremock.verification.RequestExportSpec;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.verification.RequestExportSpec.exportRequests;
+import static com.google.common.base.Charsets.UTF_8;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class RequestJournalExportAcceptanceTest extends AcceptanceTestBase {
+
+    @Test
+    public void pagesThroughTheJournalUsingTheSequenceOfTheLastLine() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            testClient.get("/export/" + i);
+        }
+
+        List<JsonNode> firstPage = export(exportRequests().limit(2));
+        assertThat(urlsOf(firstPage), is((List<String>) ImmutableList.of("/export/1", "/export/2")));
+
+        long cursor = firstPage.get(1).get("sequence").asLong();
+        List<JsonNode> secondPage = export(exportRequests().after(cursor).limit(2));
+        assertThat(urlsOf(secondPage), is((List<String>) ImmutableList.of("/export/3", "/export/4")));
+
+        cursor = secondPage.get(1).get("sequence").asLong();
+        List<JsonNode> lastPage = export(exportRequests().after(cursor).limit(2));
+        assertThat(urlsOf(lastPage), is((List<String>) ImmutableList.of("/export/5")));
+    }
+
+    @Test
+    public void filtersByRequestPattern() throws Exception {
+        testClient.get("/export/match");
+        testClient.get("/other");
+        testClient.get("/export/also-match");
+
+        List<JsonNode> lines = export(exportRequests().matching(getRequestedFor(urlMatching("/export/.*")).build()));
+
+        assertThat(urlsOf(lines), is((List<String>) ImmutableList.of("/export/match", "/export/also-match")));
+    }
+
+    @Test
+    public void filtersByLoggedDateRange() throws Exception {
+        testClient.get("/export/dated");
+
+        Date now = new Date();
+        Date anHourAgo = new Date(now.getTime() - 3600000);
+        Date inAnHour = new Date(now.getTime() + 3600000);
+
+        assertThat(export(exportRequests().loggedBetween(anHourAgo, inAnHour)).size(), is(1));
+        assertThat(export(exportRequests().loggedBetween(inAnHour, null)).size(), is(0));
+    }
+
+    @Test
+    public void projectsOnlyTheRequestedFields() throws Exception {
+        testClient.get("/export/projected");
+
+        List<JsonNode> lines = export(exportRequests().fields("url", "sequence"));
+
+        assertThat(lines.size(), is(1));
+        JsonNode line = lines.get(0);
+        assertThat(line.size(), is(2));
+        assertThat(line.get("url").asText(), is("/export/projected"));
+        assertThat(line.has("headers"), is(false));
+    }
+
+    private static List<JsonNode> export(RequestExportSpec spec) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new HttpAdminClient("localhost", wireMockServer.port()).exportRequests(spec).writeTo(out);
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> lines = new ArrayList<JsonNode>();
+        for (String line: new String(out.toByteArray(), UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(mapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private static List<String> urlsOf(List<JsonNode> lines) {
+        List<String> urls = new ArrayList<String>();
+        for (JsonNode line: lines) {
+            urls.add(line.get("url").asText());
+        }
+        return urls;
+    }
+}
@@ -18,6 +18,7 @@ package com.github.tomakehurst.wiremock;
 import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.extension.TransformerStats;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
@@ -25,6 +26,8 @@ import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
 import org.junit.After;
 import org.junit.Test;
 
+import java.util.List;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.hamcrest.Matchers.is;
@@ -134,6 +137,26 @@ public class ResponseTransformerAcceptanceTest {
         assertThat(response.content(), is("Some example test from a file"));
     }
 
+    @Test
+    public void recordsInvocationsOfEachTransformer() {
+        wm = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .extensions(new ExampleTransformer(), new NonGlobalTransformer()));
+        wm.start();
+        client = new WireMockTestClient(wm.port());
+        createStub("/counted-transform");
+
+        client.get("/counted-transform");
+        client.get("/counted-transform");
+
+        List<TransformerStats> stats = wm.getTransformerStats().getTransformers();
+        assertThat(stats.size(), is(2));
+        assertThat(stats.get(0).getName(), is("example"));
+        assertThat(stats.get(0).getInvocations(), is(2L));
+        assertThat(stats.get(1).getName(), is("local"));
+        assertThat(stats.get(1).getInvocations(), is(0L));
+    }
+
     private void startWithExtensions(String... extensions) {
         wm = new WireMockServer(wireMockConfig()
                 .dynamicPort()
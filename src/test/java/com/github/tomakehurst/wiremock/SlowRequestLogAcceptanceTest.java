@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import com.github.tomakehurst.wiremock.client.HttpAdminClient;
+import com.github.tomakehurst.wiremock.metrics.SlowRequest;
+import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.github.tomakehurst.wiremock.metrics.PhaseTimings.DELAY;
+import static com.github.tomakehurst.wiremock.metrics.PhaseTimings.SERVER_TIMING;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class SlowRequestLogAcceptanceTest extends AcceptanceTestBase {
+
+    @BeforeClass
+    public static void setupServer() {
+        setupServer(wireMockConfig().slowRequestThreshold(300));
+    }
+
+    @Test
+    public void logsRequestsSlowerThanTheThresholdWithMatchingDiagnostics() {
+        givenThat(get(urlEqualTo("/slow")).willReturn(aResponse().withStatus(200).withFixedDelay(350)));
+        givenThat(get(urlEqualTo("/fast")).willReturn(aResponse().withStatus(200)));
+
+        testClient.get("/fast");
+        WireMockResponse response = testClient.get("/slow");
+
+        List<SlowRequest> slowRequests = new HttpAdminClient("localhost", wireMockServer.port())
+                .getSlowRequests()
+                .getRequests();
+        assertThat(slowRequests.size(), is(1));
+        SlowRequest slowRequest = slowRequests.get(0);
+        assertThat(slowRequest.getUrl(), is("/slow"));
+        assertThat(slowRequest.getDurationMillis(), greaterThanOrEqualTo(350.0));
+        assertThat(slowRequest.getPhases().get(DELAY), greaterThanOrEqualTo(350.0));
+        assertThat(slowRequest.getStubsEvaluated(), greaterThanOrEqualTo(1));
+        assertThat(slowRequest.getCostliestStubEvaluations(), is(not(empty())));
+        assertThat(response.firstHeader(SERVER_TIMING), nullValue());
+    }
+}
@@ -15,7 +15,10 @@
  */
 package com.github.tomakehurst.wiremock;
 
+import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.stubbing.ListStubMappingsResult;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
@@ -37,6 +40,28 @@ import static org.junit.Assert.assertTrue;
 
 public class StubbingAcceptanceTest extends AcceptanceTestBase {
 
+	@Test
+	public void servingAStaticStubLeavesItsSharedResponseDefinitionUnchanged() {
+		stubFor(get(urlEqualTo("/static/resource")).willReturn(
+				aResponse()
+				.withStatus(200)
+				.withHeader("Content-Type", "text/plain")
+				.withBody("Static content")));
+		ResponseDefinition shared = wireMockServer.listAllStubMappings().getMappings().get(0).getResponse();
+		Response prerendered = shared.getPrerenderedResponse();
+		String matchedStub = shared.getMatchedStub();
+		String json = Json.write(shared);
+
+		testClient.get("/static/resource");
+		testClient.get("/static/resource");
+
+		assertThat(prerendered, notNullValue());
+		assertThat(shared.getPrerenderedResponse(), sameInstance(prerendered));
+		assertThat(shared.getOriginalRequest(), nullValue());
+		assertThat(shared.getMatchedStub(), is(matchedStub));
+		assertThat(Json.write(shared), is(json));
+	}
+
 	@Test
 	public void mappingWithExactUrlAndMethodMatch() {
 		stubFor(get(urlEqualTo("/a/registered/resource")).willReturn(
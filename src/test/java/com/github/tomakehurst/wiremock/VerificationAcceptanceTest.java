@@ -26,11 +26,15 @@ import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
+import java.util.List;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static com.github.tomakehurst.wiremock.testsupport.TestHttpHeader.withHeader;
+import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.skyscreamer.jsonassert.JSONCompareMode.LENIENT;
@@ -265,6 +269,79 @@ public class VerificationAcceptanceTest {
             verify(patchRequestedFor(urlEqualTo("/patch/this"))
                     .withRequestBody(matching(".*\"importantKey\": \"Important value\".*")));
         }
+
+        @Test
+        public void verifiesManyPatternsInOneCall() {
+            testClient.get("/batch/one");
+            testClient.get("/batch/two");
+            testClient.get("/batch/two");
+
+            verifyAll(
+                    requested(getRequestedFor(urlEqualTo("/batch/one"))),
+                    requested(2, getRequestedFor(urlEqualTo("/batch/two"))),
+                    requested(0, getRequestedFor(urlEqualTo("/batch/three"))));
+        }
+
+        @Test
+        public void batchVerificationFailsOnTheFirstUnsatisfiedPattern() {
+            testClient.get("/batch/one");
+
+            try {
+                verifyAll(
+                        requested(getRequestedFor(urlEqualTo("/batch/one"))),
+                        requested(3, getRequestedFor(urlEqualTo("/batch/one"))));
+                fail();
+            } catch (VerificationException e) {
+                assertThat(e.getMessage(), containsString("Expected exactly 3 requests matching: {"));
+            }
+        }
+
+        @Test
+        public void verifyEventuallyWaitsForRequestsMadeAfterTheCall() throws Exception {
+            Thread requester = new Thread() {
+                public void run() {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    testClient.get("/async/one");
+                    testClient.get("/async/one");
+                }
+            };
+            requester.start();
+
+            verifyEventually(2, getRequestedFor(urlEqualTo("/async/one")), 5000);
+            requester.join();
+        }
+
+        @Test
+        public void verifyEventuallyFailsWhenTheCountIsNotReachedInTime() {
+            testClient.get("/async/two");
+
+            try {
+                verifyEventually(2, getRequestedFor(urlEqualTo("/async/two")), 200);
+                fail();
+            } catch (VerificationException e) {
+                assertThat(e.getMessage(), allOf(
+                        containsString("Expected at least 2 requests matching: {"),
+                        containsString("within 200ms but received 1")));
+            }
+        }
+
+        @Test
+        public void countsManyPatternsInOneCall() {
+            testClient.get("/batch/one");
+            testClient.get("/batch/two");
+            testClient.get("/batch/two");
+
+            List<Integer> counts = countAll(
+                    getRequestedFor(urlMatching("/batch/.*")),
+                    getRequestedFor(urlEqualTo("/batch/two")),
+                    postRequestedFor(urlEqualTo("/batch/one")));
+
+            assertThat(counts, is(asList(3, 2, 0)));
+        }
     }
 
     public static class JournalDisabled {
@@ -281,6 +358,11 @@ public class VerificationAcceptanceTest {
         public void findAllThrowsExceptionWhenVerificationAttemptedAndRequestJournalDisabled() {
             findAll(getRequestedFor(urlEqualTo("/whatever")));
         }
+
+        @Test(expected=RequestJournalDisabledException.class)
+        public void verifyAllThrowsExceptionWhenRequestJournalDisabled() {
+            verifyAll(requested(getRequestedFor(urlEqualTo("/whatever"))));
+        }
     }
 
     public static class JournalMaxEntriesRestricted {
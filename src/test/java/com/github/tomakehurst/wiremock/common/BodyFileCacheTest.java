@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.io.Files.write;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BodyFileCacheTest {
+
+    @Rule
+    public final TemporaryFolder tempDir = new TemporaryFolder();
+
+    private BodyFileCache bodyFileCache;
+
+    @Before
+    public void init() {
+        bodyFileCache = new BodyFileCache(new SingleRootFileSource(tempDir.getRoot()));
+    }
+
+    @Test
+    public void readsContentHashNamedFilesFromDiskOnlyOnce() throws IOException {
+        String fileName = ContentHashFilenameGenerator.generate("body", "Content".getBytes(UTF_8));
+        write("Content", new File(tempDir.getRoot(), fileName), UTF_8);
+
+        byte[] first = bodyFileCache.read(fileName);
+        byte[] second = bodyFileCache.read(fileName);
+
+        assertThat(new String(first, UTF_8), is("Content"));
+        assertThat(second, sameInstance(first));
+        assertThat(bodyFileCache.size(), is(1L));
+    }
+
+    @Test
+    public void rereadsContentHashNamedFilesOnceTheyHaveBeenEdited() throws IOException {
+        String fileName = ContentHashFilenameGenerator.generate("body", "Recorded".getBytes(UTF_8));
+        File file = new File(tempDir.getRoot(), fileName);
+        write("Recorded", file, UTF_8);
+        assertThat(new String(bodyFileCache.read(fileName), UTF_8), is("Recorded"));
+
+        write("Edited", file, UTF_8);
+        assertThat(file.setLastModified(file.lastModified() + 2000), is(true));
+
+        assertThat(new String(bodyFileCache.read(fileName), UTF_8), is("Edited"));
+    }
+
+    @Test
+    public void rereadsOtherFilesOnEveryCallAsTheyMayBeEdited() throws IOException {
+        File file = new File(tempDir.getRoot(), "body.json");
+        write("Before", file, UTF_8);
+        assertThat(new String(bodyFileCache.read("body.json"), UTF_8), is("Before"));
+
+        write("After", file, UTF_8);
+
+        assertThat(new String(bodyFileCache.read("body.json"), UTF_8), is("After"));
+        assertThat(bodyFileCache.size(), is(0L));
+    }
+
+    @Test
+    public void doesNotHoldMoreThanTheMaximumBytes() throws IOException {
+        bodyFileCache = new BodyFileCache(new SingleRootFileSource(tempDir.getRoot()), 10);
+        String fileName = ContentHashFilenameGenerator.generate("body", "Longer than ten bytes".getBytes(UTF_8));
+        write("Longer than ten bytes", new File(tempDir.getRoot(), fileName), UTF_8);
+
+        assertThat(new String(bodyFileCache.read(fileName), UTF_8), is("Longer than ten bytes"));
+        assertThat(bodyFileCache.size(), is(0L));
+    }
+}
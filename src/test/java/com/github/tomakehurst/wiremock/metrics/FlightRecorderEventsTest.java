@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.stubbing.InMemoryStubMappings;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class FlightRecorderEventsTest {
+
+    private static final String STUB_MATCH_EVENT = "com.github.tomakehurst.wiremock.StubMatch";
+
+    @Test
+    public void beginsNoOpEventsWhenNothingIsRecording() {
+        assertThat(FlightRecorderEvents.STUB_MATCH.begin().isRecording(), is(false));
+    }
+
+    @Test
+    public void emitsStubMatchEventsWhileARecordingIsRunning() throws Exception {
+        assumeTrue(FlightRecorderEvents.isAvailable());
+
+        InMemoryStubMappings mappings = new InMemoryStubMappings();
+        mappings.addMapping(new StubMapping(new RequestPattern(GET, "/recorded"), new ResponseDefinition(200, "")));
+        mappings.addMapping(new StubMapping(new RequestPattern(GET, "/other"), new ResponseDefinition(200, "")));
+
+        Object recording = Class.forName("jdk.jfr.Recording").newInstance();
+        invoke(recording, "enable", STUB_MATCH_EVENT);
+        invoke(recording, "start");
+        mappings.serveFor(requestFor("/recorded"));
+        mappings.serveFor(requestFor("/nowhere/to/be/found"));
+        invoke(recording, "stop");
+
+        File dump = File.createTempFile("wiremock", ".jfr");
+        dump.deleteOnExit();
+        invoke(recording, "dump", dump.toPath());
+        invoke(recording, "close");
+
+        List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", java.nio.file.Path.class)
+                .invoke(null, dump.toPath());
+
+        assertThat(events.size(), is(1));
+        Object event = events.get(0);
+        assertThat((String) invoke(event, "getValue", "url"), is("/recorded"));
+        assertThat((Integer) invoke(event, "getValue", "candidatesEvaluated"), is(2));
+        assertThat((String) invoke(event, "getValue", "winner"), is("GET /recorded"));
+    }
+
+    private static LoggedRequest requestFor(String url) {
+        return new LoggedRequest(url, "http://localhost" + url, GET, new HttpHeaders(), "", false, new Date());
+    }
+
+    private static Object invoke(Object target, String methodName, Object... args) throws Exception {
+        for (Method method: target.getClass().getMethods()) {
+            if (method.getName().equals(methodName) && method.getParameterTypes().length == args.length) {
+                return method.invoke(target, args);
+            }
+        }
+
+        throw new NoSuchMethodException(methodName);
+    }
+}
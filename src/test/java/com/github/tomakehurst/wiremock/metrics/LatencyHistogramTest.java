@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketBoundsContainTheValuesIndexedIntoThem() {
+        for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 100, 1023, 1024, 123456, 987654321 }) {
+            int index = LatencyHistogram.indexFor(value);
+            assertThat(LatencyHistogram.lowestValueIn(index), lessThanOrEqualTo(value));
+            assertThat(LatencyHistogram.highestValueIn(index), greaterThanOrEqualTo(value));
+        }
+    }
+
+    @Test
+    public void reportsPercentilesToWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.recordNanos(MICROSECONDS.toNanos(micros));
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount(), is(1000L));
+        assertThat(snapshot.getTotalMicros(), is(500500L));
+        assertThat(snapshot.getMaxMicros(), is(1000L));
+        assertThat(snapshot.getP50Micros(), allOf(greaterThanOrEqualTo(500L), lessThan(563L)));
+        assertThat(snapshot.getP99Micros(), allOf(greaterThanOrEqualTo(990L), lessThan(1114L)));
+    }
+
+    @Test
+    public void reportsZeroesWhenNothingHasBeenRecorded() {
+        LatencySnapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.getCount(), is(0L));
+        assertThat(snapshot.getP99Micros(), is(0L));
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.http.StreamingBody;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PhaseTimingsTest {
+
+    @After
+    public void clearTimings() {
+        PhaseTimings.clear();
+    }
+
+    @Test
+    public void keepsTheStreamingBodyWhenAddingTheServerTimingHeader() {
+        StreamingBody streamingBody = new StreamingBody() {
+            public void writeTo(OutputStream out) throws IOException {
+                out.write("Streamed".getBytes());
+            }
+        };
+        Response response = new Response(200, (byte[]) null, new HttpHeaders(), true, null, true, streamingBody);
+
+        Response timedResponse = PhaseTimings.start().addServerTimingHeaderTo(response);
+
+        assertThat(timedResponse.getStreamingBody(), sameInstance(streamingBody));
+        assertThat(timedResponse.getHeaders().getHeader("Server-Timing").isPresent(), is(true));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.metrics;
+
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.Response;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.google.common.base.Optional;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static com.github.tomakehurst.wiremock.http.Response.response;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SlowRequestLogTest {
+
+    @After
+    public void clearTimings() {
+        PhaseTimings.clear();
+    }
+
+    @Test
+    public void keepsOnlyTheMostRecentSlowRequestsNewestFirst() {
+        SlowRequestLog log = new SlowRequestLog(0, 2);
+
+        serve(log, "/one");
+        serve(log, "/two");
+        serve(log, "/three");
+
+        List<SlowRequest> requests = log.getSlowRequests().getRequests();
+        assertThat(requests.size(), is(2));
+        assertThat(requests.get(0).getUrl(), is("/three"));
+        assertThat(requests.get(1).getUrl(), is("/two"));
+    }
+
+    @Test
+    public void ignoresRequestsUnderTheThreshold() {
+        SlowRequestLog log = new SlowRequestLog(60000, 10);
+
+        serve(log, "/fast");
+
+        assertThat(log.getSlowRequests().getRequests(), is(empty()));
+    }
+
+    @Test
+    public void ignoresRequestsWhenDisabled() {
+        SlowRequestLog log = SlowRequestLog.withThreshold(Optional.<Integer>absent());
+
+        serve(log, "/anything");
+
+        assertThat(log.isEnabled(), is(false));
+        assertThat(log.getSlowRequests().getRequests(), is(empty()));
+    }
+
+    @Test
+    public void clearsEntriesOnReset() {
+        SlowRequestLog log = new SlowRequestLog(0, 10);
+        serve(log, "/one");
+
+        log.reset();
+
+        assertThat(log.getSlowRequests().getRequests(), is(empty()));
+    }
+
+    private static void serve(SlowRequestLog log, String url) {
+        PhaseTimings.start();
+        LoggedRequest request = new LoggedRequest(url, "http://localhost" + url, GET, new HttpHeaders(), "", false, new Date());
+        Response response = response().status(200).build();
+        log.requestReceived(request, response);
+    }
+}
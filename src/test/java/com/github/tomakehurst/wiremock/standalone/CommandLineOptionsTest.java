@@ -21,6 +21,8 @@ import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
 import com.github.tomakehurst.wiremock.http.CaseInsensitiveKey;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.core.Options;
+import com.github.tomakehurst.wiremock.stubbing.DeferredStubMappingRecorder;
 import com.google.common.base.Optional;
 import org.junit.Test;
 
@@ -191,6 +193,51 @@ public class CommandLineOptionsTest {
         assertThat(optionsNoMax.maxRequestJournalEntries().isPresent(), is(false));
     }
 
+    @Test
+    public void returnsMatchCacheSize() {
+        CommandLineOptions options = new CommandLineOptions("--match-cache-size", "1000");
+        assertThat(options.matchCacheSize(), is(1000));
+        CommandLineOptions optionsNoCache = new CommandLineOptions();
+        assertThat(optionsNoCache.matchCacheSize(), is(0));
+    }
+
+    @Test
+    public void returnsPhaseTimingEnabledWhenPresent() {
+        assertThat(new CommandLineOptions("--phase-timing").phaseTimingEnabled(), is(true));
+        assertThat(new CommandLineOptions().phaseTimingEnabled(), is(false));
+    }
+
+    @Test
+    public void returnsContainerStatsEnabledWhenPresent() {
+        assertThat(new CommandLineOptions("--container-stats").containerStatsEnabled(), is(true));
+        assertThat(new CommandLineOptions().containerStatsEnabled(), is(false));
+    }
+
+    @Test
+    public void returnsSlowRequestThreshold() {
+        assertThat(new CommandLineOptions("--slow-request-threshold", "250").slowRequestThresholdMillis().get(), is(250));
+        assertThat(new CommandLineOptions().slowRequestThresholdMillis().isPresent(), is(false));
+    }
+
+    @Test
+    public void returnsMappingsWatchDebounceInterval() {
+        assertThat(new CommandLineOptions("--watch-mappings", "100").mappingsWatchDebounceMillis().get(), is(100));
+        assertThat(new CommandLineOptions("--watch-mappings").mappingsWatchDebounceMillis().get(), is(Options.DEFAULT_MAPPINGS_WATCH_DEBOUNCE_MILLIS));
+        assertThat(new CommandLineOptions().mappingsWatchDebounceMillis().isPresent(), is(false));
+    }
+
+    @Test
+    public void returnsDeferredRecordingBufferSize() {
+        assertThat(new CommandLineOptions("--record-mappings-deferred", "50").deferredRecordingMaxCapturedExchanges().get(), is(50));
+        assertThat(new CommandLineOptions("--record-mappings-deferred").deferredRecordingMaxCapturedExchanges().get(), is(DeferredStubMappingRecorder.DEFAULT_MAX_CAPTURED_EXCHANGES));
+        assertThat(new CommandLineOptions().deferredRecordingMaxCapturedExchanges().isPresent(), is(false));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void preventsRecordingBothInlineAndDeferred() {
+        new CommandLineOptions("--record-mappings", "--record-mappings-deferred");
+    }
+
     @Test
     public void returnPreserveHostHeaderTrueWhenPresent() {
         CommandLineOptions options = new CommandLineOptions("--preserve-host-header");
@@ -251,9 +298,11 @@ public class CommandLineOptionsTest {
         assertThat(options.jettySettings().getRequestHeaderSize().isPresent(), is(false));
     }
 
-    @Test(expected=IllegalArgumentException.class)
-    public void preventsRecordingWhenRequestJournalDisabled() {
-        new CommandLineOptions("--no-request-journal", "--record-mappings");
+    @Test
+    public void allowsRecordingWhenRequestJournalDisabled() {
+        CommandLineOptions options = new CommandLineOptions("--no-request-journal", "--record-mappings");
+        assertThat(options.recordMappingsEnabled(), is(true));
+        assertThat(options.requestJournalDisabled(), is(true));
     }
 
     @Test
@@ -15,11 +15,20 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
+import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.common.LocalNotifier;
 import com.github.tomakehurst.wiremock.common.Notifier;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformerRegistry;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
 import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.Response;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.matching.ValuePattern;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import com.google.common.collect.ImmutableMap;
 import org.jmock.Expectations;
 import org.jmock.Mockery;
 import org.jmock.integration.junit4.JMock;
@@ -28,11 +37,23 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static com.github.tomakehurst.wiremock.http.RequestMethod.*;
 import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
 import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
+import static com.google.common.collect.Lists.newArrayList;
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 @RunWith(JMock.class)
@@ -55,6 +76,30 @@ public class InMemoryMappingsTest {
         LocalNotifier.set(null);
     }
 	
+	@Test
+	public void dropsResponsePrerenderedByAStoreWithoutTheTransformersThatNowApply() {
+		InMemoryStubMappings staging = new InMemoryStubMappings();
+		staging.addMapping(new StubMapping(new RequestPattern(GET, "/transformed"), new ResponseDefinition(200, "Body")));
+		StubMapping staged = staging.getAll().get(0);
+		assertThat(staged.getResponse().getPrerenderedResponse() != null, is(true));
+
+		InMemoryStubMappings transforming = new InMemoryStubMappings(0, new ResponseTransformerRegistry(
+				ImmutableMap.<String, ResponseTransformer>of("global", new ResponseTransformer() {
+					public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition, FileSource files) {
+						return responseDefinition;
+					}
+
+					public String name() {
+						return "global";
+					}
+				}),
+				null));
+		transforming.replaceAll(newArrayList(staged));
+
+		assertThat(staged.getResponse().getPrerenderedResponse(), nullValue());
+		assertThat(staged.getResponse().getTransformerChain().isEmpty(), is(false));
+	}
+
 	@Test
 	public void correctlyAcceptsMappingAndReturnsCorrespondingResponse() {
 		mappings.addMapping(new StubMapping(
@@ -115,6 +160,97 @@ public class InMemoryMappingsTest {
 		assertThat(response.getBody(), is("Desired content"));
 	}
 	
+	@Test
+	public void addsABatchOfMappingsWithTheSamePrecedenceAsAddingThemOneAtATime() {
+		mappings.addMapping(new StubMapping(
+				new RequestPattern(GET, "/batch/resource"),
+				new ResponseDefinition(204, "Existing content")));
+
+		mappings.addMappings(newArrayList(
+				new StubMapping(new RequestPattern(GET, "/batch/resource"), new ResponseDefinition(202, "Earlier in batch")),
+				new StubMapping(new RequestPattern(GET, "/batch/resource"), new ResponseDefinition(201, "Later in batch")),
+				new StubMapping(new RequestPattern(PUT, "/batch/other"), new ResponseDefinition(200, "Other"))));
+
+		assertThat(mappings.serveFor(aRequest(context, "batchGet").withMethod(GET).withUrl("/batch/resource").build()).getStatus(), is(201));
+		assertThat(mappings.serveFor(aRequest(context, "batchPut").withMethod(PUT).withUrl("/batch/other").build()).getStatus(), is(200));
+		assertThat(mappings.getAll().size(), is(4));
+	}
+
+	@Test
+	public void replacesAllMappingsAndNarrowsNegativeLookupToNewOnes() {
+		mappings.addMapping(new StubMapping(
+				new RequestPattern(GET, "/old/resource"),
+				new ResponseDefinition(200, "Old content")));
+
+		mappings.replaceAll(newArrayList(
+				new StubMapping(new RequestPattern(GET, "/new/resource"), new ResponseDefinition(200, "New content"))));
+
+		assertThat(mappings.serveFor(aRequest(context, "newGet").withMethod(GET).withUrl("/new/resource").build()).getBody(), is("New content"));
+		assertThat(mappings.serveFor(aRequest(context, "oldGet").withMethod(GET).withUrl("/old/resource").build()).wasConfigured(), is(false));
+		assertThat(mappings.getMatchingStats().getNegativeLookupSkips(), is(1L));
+		assertThat(mappings.getAll().size(), is(1));
+	}
+
+	@Test
+	public void removesMappingById() {
+		StubMapping mapping = new StubMapping(
+				new RequestPattern(GET, "/removable/resource"),
+				new ResponseDefinition(200, "Removable content"));
+		mappings.addMapping(mapping);
+		Request request = aRequest(context, "removableGet").withMethod(GET).withUrl("/removable/resource").build();
+		assertThat(mappings.serveFor(request).getBody(), is("Removable content"));
+
+		assertThat(mappings.removeMapping(mapping.getId()), is(true));
+
+		assertThat(mappings.serveFor(request).wasConfigured(), is(false));
+		assertThat(mappings.removeMapping(mapping.getId()), is(false));
+	}
+
+	@Test
+	public void editsMappingInPlaceAndServesNewResponse() {
+		StubMapping mapping = new StubMapping(
+				new RequestPattern(GET, "/editable/resource"),
+				new ResponseDefinition(200, "Original content"));
+		mappings.addMapping(mapping);
+		Request originalRequest = aRequest(context, "originalGet").withMethod(GET).withUrl("/editable/resource").build();
+		assertThat(mappings.serveFor(originalRequest).getBody(), is("Original content"));
+
+		StubMapping edited = new StubMapping(
+				new RequestPattern(GET, "/edited/resource"),
+				new ResponseDefinition(200, "Edited content"));
+		edited.setId(mapping.getId());
+
+		assertThat(mappings.editMapping(edited), is(true));
+		Request editedRequest = aRequest(context, "editedGet").withMethod(GET).withUrl("/edited/resource").build();
+		assertThat(mappings.serveFor(editedRequest).getBody(), is("Edited content"));
+		assertThat(mappings.serveFor(originalRequest).wasConfigured(), is(false));
+		assertThat(mappings.getAll().size(), is(1));
+	}
+
+	@Test
+	public void doesNotEditMappingWithUnknownId() {
+		StubMapping unknown = new StubMapping(
+				new RequestPattern(GET, "/unknown/resource"),
+				new ResponseDefinition(200, "Unknown content"));
+		unknown.setId(UUID.randomUUID());
+
+		assertThat(mappings.editMapping(unknown), is(false));
+		assertThat(mappings.getAll().size(), is(0));
+	}
+
+	@Test
+	public void doesNotWidenNegativeLookupWhenEditingMappingWithUnknownId() {
+		StubMapping unknown = new StubMapping(
+				new RequestPattern(GET, "/unknown/resource"),
+				new ResponseDefinition(200, "Unknown content"));
+		unknown.setId(UUID.randomUUID());
+
+		mappings.editMapping(unknown);
+
+		assertThat(mappings.serveFor(aRequest(context, "unknownGet").withMethod(GET).withUrl("/unknown/resource").build()).wasConfigured(), is(false));
+		assertThat(mappings.getMatchingStats().getNegativeLookupSkips(), is(1L));
+	}
+
 	@Test
 	public void returnsMappingInScenarioOnlyWhenStateIsCorrect() {
 		StubMapping firstGetMapping = new StubMapping(
@@ -232,6 +368,274 @@ public class InMemoryMappingsTest {
         assertThat(mappings.serveFor(request).getBody(), is("Starting content"));
     }
 
+    @Test
+    public void servesRepeatedRequestsFromMatchCacheWhenEnabled() {
+        InMemoryStubMappings cachingMappings = new InMemoryStubMappings(100);
+        cachingMappings.addMapping(new StubMapping(
+                new RequestPattern(GET, "/cached/resource"),
+                new ResponseDefinition(200, "Cached content")));
+
+        Request request = aRequest(context).withMethod(GET).withUrl("/cached/resource").build();
+        cachingMappings.serveFor(request);
+        ResponseDefinition response = cachingMappings.serveFor(request);
+
+        assertThat(response.getBody(), is("Cached content"));
+        StubMatchingStats stats = cachingMappings.getMatchingStats();
+        assertThat(stats.isMatchCacheEnabled(), is(true));
+        assertThat(stats.getMatchCacheHits(), is(1L));
+        assertThat(stats.getMatchCacheMisses(), is(1L));
+    }
+
+    @Test
+    public void invalidatesMatchCacheWhenMappingAdded() {
+        InMemoryStubMappings cachingMappings = new InMemoryStubMappings(100);
+        cachingMappings.addMapping(new StubMapping(
+                new RequestPattern(GET, "/cached/resource"),
+                new ResponseDefinition(200, "Original content")));
+
+        Request request = aRequest(context).withMethod(GET).withUrl("/cached/resource").build();
+        cachingMappings.serveFor(request);
+
+        cachingMappings.addMapping(new StubMapping(
+                new RequestPattern(GET, "/cached/resource"),
+                new ResponseDefinition(200, "Newer content")));
+
+        assertThat(cachingMappings.serveFor(request).getBody(), is("Newer content"));
+    }
+
+    @Test
+    public void checksHeadersRequiredToBeAbsentCaseInsensitivelyWhenCaching() {
+        InMemoryStubMappings cachingMappings = new InMemoryStubMappings(100);
+        StubMapping withoutHeaderMapping = new StubMapping(
+                new RequestPattern(GET, "/unauthenticated/resource"),
+                new ResponseDefinition(200, "Unauthenticated content"));
+        withoutHeaderMapping.getRequest().addHeader("Authorization", ValuePattern.absent());
+        cachingMappings.addMapping(withoutHeaderMapping);
+
+        Request withoutHeader = new LoggedRequest("/unauthenticated/resource", "http://localhost/unauthenticated/resource",
+                GET, new HttpHeaders(), "", false, new Date());
+        Request withLowerCaseHeader = new LoggedRequest("/unauthenticated/resource", "http://localhost/unauthenticated/resource",
+                GET, new HttpHeaders(new HttpHeader("authorization", "Basic abc")), "", false, new Date());
+
+        assertThat(cachingMappings.serveFor(withoutHeader).getStatus(), is(200));
+        assertThat(cachingMappings.serveFor(withLowerCaseHeader).getStatus(), is(HTTP_NOT_FOUND));
+    }
+
+    @Test
+    public void distinguishesCachedMatchesByHeadersReferencedByStubs() {
+        InMemoryStubMappings cachingMappings = new InMemoryStubMappings(100);
+        StubMapping jsonMapping = new StubMapping(
+                new RequestPattern(GET, "/negotiated/resource"),
+                new ResponseDefinition(200, "JSON content"));
+        jsonMapping.getRequest().addHeader("Accept", ValuePattern.equalTo("application/json"));
+        cachingMappings.addMapping(jsonMapping);
+
+        Request jsonRequest = aRequest(context, "json").withMethod(GET).withUrl("/negotiated/resource")
+                .withHeader("Accept", "application/json").build();
+        Request xmlRequest = aRequest(context, "xml").withMethod(GET).withUrl("/negotiated/resource")
+                .withHeader("Accept", "text/xml").build();
+
+        assertThat(cachingMappings.serveFor(jsonRequest).getBody(), is("JSON content"));
+        assertThat(cachingMappings.serveFor(xmlRequest).wasConfigured(), is(false));
+    }
+
+    @Test
+    public void invalidatesMatchCacheWhenScenarioStateChanges() {
+        InMemoryStubMappings cachingMappings = new InMemoryStubMappings(100);
+        StubMapping firstMapping = aBasicMappingInScenario("Starting content");
+        firstMapping.setRequiredScenarioState(Scenario.STARTED);
+        firstMapping.setNewScenarioState("modified");
+        cachingMappings.addMapping(firstMapping);
+
+        StubMapping secondMapping = aBasicMappingInScenario("Modified content");
+        secondMapping.setRequiredScenarioState("modified");
+        cachingMappings.addMapping(secondMapping);
+
+        Request request = aRequest(context).withMethod(POST).withUrl("/scenario/resource").build();
+        assertThat(cachingMappings.serveFor(request).getBody(), is("Starting content"));
+        assertThat(cachingMappings.serveFor(request).getBody(), is("Modified content"));
+
+        cachingMappings.resetScenarios();
+        assertThat(cachingMappings.serveFor(request).getBody(), is("Starting content"));
+    }
+
+    @Test
+    public void skipsFullMatchingForRequestsNoStubCouldMatch() {
+        mappings.addMapping(new StubMapping(
+                new RequestPattern(GET, "/known/resource"),
+                new ResponseDefinition(200, "Known content")));
+
+        Request request = aRequest(context).withMethod(GET).withUrl("/unknown/resource").build();
+        mappings.serveFor(request);
+
+        StubMatchingStats stats = mappings.getMatchingStats();
+        assertThat(stats.getNegativeLookupChecks(), is(1L));
+        assertThat(stats.getNegativeLookupSkips(), is(1L));
+    }
+
+    @Test
+    public void skipsFullMatchingWhenOnlyMethodOfExactUrlDiffers() {
+        mappings.addMapping(new StubMapping(
+                new RequestPattern(GET, "/known/resource"),
+                new ResponseDefinition(200, "Known content")));
+
+        Request request = aRequest(context).withMethod(PUT).withUrl("/known/resource").build();
+
+        assertThat(mappings.serveFor(request).wasConfigured(), is(false));
+        assertThat(mappings.getMatchingStats().getNegativeLookupSkips(), is(1L));
+    }
+
+    @Test
+    public void stillMatchesUrlPathAndRegexStubsAfterNegativeLookup() {
+        RequestPattern urlPathPattern = new RequestPattern(GET);
+        urlPathPattern.setUrlPath("/things/list");
+        mappings.addMapping(new StubMapping(urlPathPattern, new ResponseDefinition(200, "Path content")));
+
+        RequestPattern urlRegexPattern = new RequestPattern(ANY);
+        urlRegexPattern.setUrlPattern("/widgets/[0-9]+");
+        mappings.addMapping(new StubMapping(urlRegexPattern, new ResponseDefinition(200, "Regex content")));
+
+        RequestPattern urlPathRegexPattern = new RequestPattern(GET);
+        urlPathRegexPattern.setUrlPathPattern("/gadgets/[a-z]+");
+        mappings.addMapping(new StubMapping(urlPathRegexPattern, new ResponseDefinition(200, "Path regex content")));
+
+        Request pathRequest = aRequest(context, "path").withMethod(GET).withUrl("/things/list?page=2").build();
+        Request regexRequest = aRequest(context, "regex").withMethod(POST).withUrl("/widgets/123").build();
+        Request pathRegexRequest = aRequest(context, "pathRegex").withMethod(GET).withUrl("/gadgets/abc?q=1").build();
+        Request unmatchedRequest = aRequest(context, "unmatched").withMethod(GET).withUrl("/things").build();
+
+        assertThat(mappings.serveFor(pathRequest).getBody(), is("Path content"));
+        assertThat(mappings.serveFor(regexRequest).getBody(), is("Regex content"));
+        assertThat(mappings.serveFor(pathRegexRequest).getBody(), is("Path regex content"));
+        assertThat(mappings.serveFor(unmatchedRequest).wasConfigured(), is(false));
+        assertThat(mappings.getMatchingStats().getNegativeLookupSkips(), is(1L));
+    }
+
+    @Test
+    public void onlyOneConcurrentRequestTransitionsScenarioOutOfState() throws Exception {
+        StubMapping firstMapping = aBasicMappingInScenario("Starting content");
+        firstMapping.setRequiredScenarioState(Scenario.STARTED);
+        firstMapping.setNewScenarioState("modified");
+        mappings.addMapping(firstMapping);
+
+        StubMapping secondMapping = aBasicMappingInScenario("Modified content");
+        secondMapping.setRequiredScenarioState("modified");
+        mappings.addMapping(secondMapping);
+
+        final Request request = new LoggedRequest("/scenario/resource", "http://localhost/scenario/resource",
+                POST, new HttpHeaders(), "", false, new Date());
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> bodies = newArrayList();
+        for (int i = 0; i < 50; i++) {
+            bodies.add(executor.submit(new Callable<String>() {
+                public String call() throws Exception {
+                    startSignal.await();
+                    return mappings.serveFor(request).getBody();
+                }
+            }));
+        }
+
+        startSignal.countDown();
+        int startingResponses = 0;
+        for (Future<String> body: bodies) {
+            if (body.get().equals("Starting content")) {
+                startingResponses++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(startingResponses, is(1));
+    }
+
+    @Test
+    public void prerendersResponsesOfStaticStubs() {
+        ResponseDefinition responseDefinition = new ResponseDefinition(200, "Static content");
+        responseDefinition.setHeaders(new HttpHeaders(new HttpHeader("Content-Type", "text/plain")));
+        mappings.addMapping(new StubMapping(new RequestPattern(GET, "/static/resource"), responseDefinition));
+
+        Request request = aRequest(context).withMethod(GET).withUrl("/static/resource").build();
+        Response response = mappings.serveFor(request).getPrerenderedResponse();
+
+        assertThat(response.getStatus(), is(200));
+        assertThat(response.getBodyAsString(), is("Static content"));
+        assertThat(response.getHeaders().getHeader("Content-Type").firstValue(), is("text/plain"));
+    }
+
+    @Test
+    public void servesTheStoredDefinitionOfStaticStubsWithoutCopyingIt() {
+        mappings.addMapping(new StubMapping(new RequestPattern(GET, "/static/resource"), new ResponseDefinition(200, "Static")));
+        ResponseDefinition fileResponseDefinition = new ResponseDefinition();
+        fileResponseDefinition.setBodyFileName("plain-example.txt");
+        mappings.addMapping(new StubMapping(new RequestPattern(GET, "/file/resource"), fileResponseDefinition));
+
+        Request staticRequest = aRequest(context, "static").withMethod(GET).withUrl("/static/resource").build();
+        Request fileRequest = aRequest(context, "file").withMethod(GET).withUrl("/file/resource").build();
+        ResponseDefinition staticResponse = mappings.serveFor(staticRequest);
+
+        assertThat(staticResponse == mappings.serveFor(staticRequest), is(true));
+        assertThat(staticResponse.getMatchedStub(), is("GET /static/resource"));
+        assertThat(mappings.serveFor(fileRequest) == mappings.serveFor(fileRequest), is(false));
+    }
+
+    @Test
+    public void doesNotPrerenderResponsesThatDependOnFilesOrDelays() {
+        ResponseDefinition fileResponseDefinition = new ResponseDefinition();
+        fileResponseDefinition.setBodyFileName("plain-example.txt");
+        mappings.addMapping(new StubMapping(new RequestPattern(GET, "/file/resource"), fileResponseDefinition));
+
+        ResponseDefinition delayedResponseDefinition = new ResponseDefinition(200, "Delayed content");
+        delayedResponseDefinition.setFixedDelayMilliseconds(500);
+        mappings.addMapping(new StubMapping(new RequestPattern(GET, "/delayed/resource"), delayedResponseDefinition));
+
+        Request fileRequest = aRequest(context, "file").withMethod(GET).withUrl("/file/resource").build();
+        Request delayedRequest = aRequest(context, "delayed").withMethod(GET).withUrl("/delayed/resource").build();
+
+        assertThat(mappings.serveFor(fileRequest).getPrerenderedResponse(), is(nullValue()));
+        assertThat(mappings.serveFor(delayedRequest).getPrerenderedResponse(), is(nullValue()));
+    }
+
+    @Test
+    public void concurrentReadersNeverSeeAnEmptyStoreWhileMappingsAreReplaced() throws Exception {
+        mappings.addMapping(new StubMapping(
+                new RequestPattern(GET, "/always/present"),
+                new ResponseDefinition(200, "Present")));
+
+        final Request request = new LoggedRequest("/always/present", "http://localhost/always/present",
+                GET, new HttpHeaders(), "", false, new Date());
+        final AtomicBoolean replacing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> misses = newArrayList();
+        for (int i = 0; i < 4; i++) {
+            misses.add(executor.submit(new Callable<Integer>() {
+                public Integer call() {
+                    int missCount = 0;
+                    while (replacing.get()) {
+                        if (!mappings.serveFor(request).wasConfigured()) {
+                            missCount++;
+                        }
+                    }
+                    return missCount;
+                }
+            }));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            mappings.replaceAll(newArrayList(new StubMapping(
+                    new RequestPattern(GET, "/always/present"),
+                    new ResponseDefinition(200, "Present"))));
+        }
+        replacing.set(false);
+
+        int totalMisses = 0;
+        for (Future<Integer> missCount: misses) {
+            totalMisses += missCount.get();
+        }
+        executor.shutdown();
+
+        assertThat(totalMisses, is(0));
+    }
+
     private StubMapping aBasicMappingInScenario(String body) {
         StubMapping mapping = new StubMapping(
                 new RequestPattern(POST, "/scenario/resource"),
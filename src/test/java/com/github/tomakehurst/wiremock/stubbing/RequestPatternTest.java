@@ -15,6 +15,7 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
+import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.common.LocalNotifier;
 import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.http.Request;
@@ -30,6 +31,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.github.tomakehurst.wiremock.http.RequestMethod.*;
@@ -37,7 +39,9 @@ import static com.github.tomakehurst.wiremock.matching.ValuePattern.equalTo;
 import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(JMock.class)
@@ -246,6 +250,28 @@ public class RequestPatternTest {
 		assertFalse(requestPattern.isMatchedBy(request));
 	}
 
+	@Test
+	public void matchesXmlBodyIgnoringExcludedNodesWithoutChangingThePattern() {
+		String stubbedBody = "<arg0><operation>balance</operation><dateAndTime>2016-01-01 10:00:00</dateAndTime></arg0>";
+		RequestPattern requestPattern = new RequestPattern(POST, "/soap/service");
+		requestPattern.setBodyPatterns(asList(equalTo(stubbedBody)));
+
+		Request request = aRequest(context)
+			.withUrl("/soap/service")
+			.withMethod(POST)
+			.withBody("<arg0><operation>balance</operation><dateAndTime>2016-01-01 10:00:05</dateAndTime></arg0>")
+			.build();
+
+		List<String> excludedNodes = WireMockServer.excludedNodes;
+		WireMockServer.excludedNodes = asList("dateAndTime");
+		try {
+			assertTrue(requestPattern.isMatchedBy(request));
+		} finally {
+			WireMockServer.excludedNodes = excludedNodes;
+		}
+		assertThat(requestPattern.getBodyPatterns().get(0).getEqualTo(), is(stubbedBody));
+	}
+
     @Test
 	public void shouldMatchAnyMethod() {
 		RequestPattern requestPattern = new RequestPattern(ANY, "/any/method");
@@ -23,9 +23,14 @@ import org.hamcrest.TypeSafeMatcher;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Iterator;
+import java.util.UUID;
+
 import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
 import static com.github.tomakehurst.wiremock.testsupport.WireMatchers.hasExactly;
+import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 public class SortedConcurrentMappingSetTest {
@@ -83,6 +88,124 @@ public class SortedConcurrentMappingSetTest {
 		assertThat("Mapping set should be empty", mappingSet.iterator().hasNext(), is(false));
 	}
 	
+	@SuppressWarnings("unchecked")
+	@Test
+	public void addsBatchInPriorityThenInsertionOrder() {
+		mappingSet.add(aMapping(2, "/existing"));
+		mappingSet.addAll(asList(
+				aMapping(2, "/batch/1"),
+				aMapping(1, "/batch/2"),
+				aMapping(2, "/batch/3")));
+
+		assertThat(mappingSet, hasExactly(
+				requestUrlIs("/batch/2"),
+				requestUrlIs("/batch/3"),
+				requestUrlIs("/batch/1"),
+				requestUrlIs("/existing")));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void replacesAllMappingsInOneStep() {
+		mappingSet.add(aMapping(1, "/old/1"));
+		mappingSet.add(aMapping(1, "/old/2"));
+
+		mappingSet.replaceAll(asList(
+				aMapping(3, "/new/1"),
+				aMapping(3, "/new/2")));
+
+		assertThat(mappingSet, hasExactly(
+				requestUrlIs("/new/2"),
+				requestUrlIs("/new/1")));
+		assertThat(mappingSet.size(), is(2));
+	}
+
+	@Test
+	public void iteratorIsUnaffectedByLaterChanges() {
+		mappingSet.add(aMapping(1, "/first"));
+		Iterator<StubMapping> iterator = mappingSet.iterator();
+
+		mappingSet.clear();
+
+		assertThat(iterator.next().getRequest().getUrl(), is("/first"));
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void removesMappingById() {
+		mappingSet.add(aMapping(1, "/first"));
+		StubMapping second = aMapping(1, "/second");
+		mappingSet.add(second);
+		mappingSet.add(aMapping(1, "/third"));
+
+		assertThat(mappingSet.remove(second.getId()), is(second));
+		assertThat(mappingSet.remove(second.getId()), is(nullValue()));
+		assertThat(mappingSet, hasExactly(
+				requestUrlIs("/third"),
+				requestUrlIs("/first")));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void replacedMappingKeepsItsPlaceAmongEqualPriorities() {
+		mappingSet.add(aMapping(1, "/first"));
+		StubMapping second = aMapping(1, "/second");
+		mappingSet.add(second);
+		mappingSet.add(aMapping(1, "/third"));
+
+		StubMapping replacement = aMapping(1, "/replacement");
+		replacement.setId(second.getId());
+		mappingSet.replace(replacement);
+
+		assertThat(mappingSet, hasExactly(
+				requestUrlIs("/third"),
+				requestUrlIs("/replacement"),
+				requestUrlIs("/first")));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void replacedMappingMovesWhenItsPriorityChanges() {
+		StubMapping first = aMapping(1, "/first");
+		mappingSet.add(first);
+		mappingSet.add(aMapping(2, "/second"));
+		mappingSet.add(aMapping(3, "/third"));
+
+		StubMapping replacement = aMapping(3, "/replacement");
+		replacement.setId(first.getId());
+		mappingSet.replace(replacement);
+
+		assertThat(mappingSet, hasExactly(
+				requestUrlIs("/second"),
+				requestUrlIs("/third"),
+				requestUrlIs("/replacement")));
+	}
+
+	@Test
+	public void doesNotReplaceMappingWithUnknownId() {
+		mappingSet.add(aMapping(1, "/first"));
+
+		StubMapping unknown = aMapping(1, "/unknown");
+		unknown.setId(UUID.randomUUID());
+
+		assertThat(mappingSet.replace(unknown), is(nullValue()));
+		assertThat(mappingSet.size(), is(1));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void addingMappingWithExistingIdReplacesIt() {
+		StubMapping original = aMapping(1, "/original");
+		mappingSet.add(original);
+
+		StubMapping readded = aMapping(1, "/readded");
+		readded.setId(original.getId());
+		mappingSet.add(readded);
+
+		assertThat(mappingSet, hasExactly(requestUrlIs("/readded")));
+	}
+
 	private StubMapping aMapping(Integer priority, String url) {
 		RequestPattern requestPattern = new RequestPattern(ANY, url);
 		StubMapping mapping = new StubMapping(requestPattern, new ResponseDefinition());
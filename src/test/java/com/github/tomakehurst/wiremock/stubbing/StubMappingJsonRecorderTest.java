@@ -20,13 +20,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.common.IdGenerator;
-import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.http.*;
-import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder;
-import com.github.tomakehurst.wiremock.verification.VerificationResult;
 
 import org.jmock.Expectations;
 import org.jmock.Mockery;
@@ -43,6 +41,10 @@ import static com.github.tomakehurst.wiremock.http.Response.response;
 import static com.github.tomakehurst.wiremock.testsupport.WireMatchers.equalToJson;
 import static com.google.common.base.Charsets.UTF_8;
 import static com.google.common.collect.Lists.transform;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 @RunWith(JMock.class)
 public class StubMappingJsonRecorderTest {
@@ -50,7 +52,6 @@ public class StubMappingJsonRecorderTest {
 	private StubMappingJsonRecorder listener;
 	private FileSource mappingsFileSource;
 	private FileSource filesFileSource;
-    private Admin admin;
 	
 	private Mockery context;
 	
@@ -59,13 +60,12 @@ public class StubMappingJsonRecorderTest {
 		context = new Mockery();
 		mappingsFileSource = context.mock(FileSource.class, "mappingsFileSource");
 		filesFileSource = context.mock(FileSource.class, "filesFileSource");
-        admin = context.mock(Admin.class);
 
         constructRecordingListener(Collections.<String>emptyList());
 	}
 
     private void constructRecordingListener(List<String> headersToRecord) {
-        listener = new StubMappingJsonRecorder(mappingsFileSource, filesFileSource, admin, transform(headersToRecord, TO_CASE_INSENSITIVE_KEYS));
+        listener = new StubMappingJsonRecorder(mappingsFileSource, filesFileSource, transform(headersToRecord, TO_CASE_INSENSITIVE_KEYS));
         listener.setIdGenerator(fixedIdGenerator("1$2!3"));
     }
 
@@ -77,17 +77,16 @@ public class StubMappingJsonRecorderTest {
 		"	},												             \n" +
 		"	\"response\": {									             \n" +
 		"		\"status\": 200,							             \n" +
-		"		\"bodyFileName\": \"body-recorded-content-1$2!3.json\"   \n" +
+		"		\"bodyFileName\": \"body-fb4a7218396aade5f5599cda29a8475f1aa66b4d.json\"   \n" +
 		"	}												             \n" +
 		"}													               ";
 	
 	@Test
 	public void writesMappingFileAndCorrespondingBodyFileOnRequest() {
 		context.checking(new Expectations() {{
-		    allowing(admin).countRequestsMatching(with(any(RequestPattern.class))); will(returnValue(VerificationResult.withCount(0)));
 			one(mappingsFileSource).writeTextFile(with(equal("mapping-recorded-content-1$2!3.json")),
 			        with(equalToJson(SAMPLE_REQUEST_MAPPING)));
-			one(filesFileSource).writeBinaryFile(with(equal("body-recorded-content-1$2!3.json")),
+			one(filesFileSource).writeBinaryFile(with(equal("body-fb4a7218396aade5f5599cda29a8475f1aa66b4d.json")),
                     with(equal("Recorded body content".getBytes(UTF_8))));
 		}});
 		
@@ -113,7 +112,7 @@ public class StubMappingJsonRecorderTest {
         "   },                                                              \n" +
         "   \"response\": {                                                 \n" +
         "       \"status\": 200,                                            \n" +
-        "       \"bodyFileName\": \"body-headered-content-1$2!3.json\",     \n" +
+        "       \"bodyFileName\": \"body-fb4a7218396aade5f5599cda29a8475f1aa66b4d.json\",     \n" +
         "       \"headers\": {                                              \n" +
         "            \"Content-Type\": \"text/plain\",                      \n" +
         "            \"Cache-Control\": \"no-cache\"                        \n" +
@@ -124,10 +123,9 @@ public class StubMappingJsonRecorderTest {
 	@Test
 	public void addsResponseHeaders() {
 	    context.checking(new Expectations() {{
-	        allowing(admin).countRequestsMatching(with(any(RequestPattern.class))); will(returnValue(VerificationResult.withCount(1)));
             one(mappingsFileSource).writeTextFile(with(equal("mapping-headered-content-1$2!3.json")),
                     with(equalToJson(SAMPLE_REQUEST_MAPPING_WITH_HEADERS)));
-            one(filesFileSource).writeBinaryFile("body-headered-content-1$2!3.json", "Recorded body content".getBytes(UTF_8));
+            one(filesFileSource).writeBinaryFile("body-fb4a7218396aade5f5599cda29a8475f1aa66b4d.json", "Recorded body content".getBytes(UTF_8));
         }});
         
         Request request = new MockRequestBuilder(context)
@@ -150,22 +148,124 @@ public class StubMappingJsonRecorderTest {
 	@Test
 	public void doesNotWriteFileIfRequestAlreadyReceived() {
 	    context.checking(new Expectations() {{
-            atLeast(1).of(admin).countRequestsMatching(with(any(RequestPattern.class))); will(returnValue(VerificationResult.withCount(2)));
-            never(mappingsFileSource).writeTextFile(with(any(String.class)), with(any(String.class)));
-            never(filesFileSource).writeTextFile(with(any(String.class)), with(any(String.class)));
+            one(mappingsFileSource).writeTextFile(with(equal("mapping-recorded-content-1$2!3.json")), with(any(String.class)));
+            one(filesFileSource).writeBinaryFile(with(any(String.class)), with(any(byte[].class)));
         }});
-	    
-	    listener.requestReceived(new MockRequestBuilder(context)
+
+        Response response = response()
+                .status(200)
+                .fromProxy(true)
+                .body("Recorded body content")
+                .build();
+
+	    listener.requestReceived(new MockRequestBuilder(context, "firstRequest")
                 .withMethod(RequestMethod.GET)
-                .withUrl("/headered/content")
+                .withUrl("/recorded/content")
                 .build(),
-            response().status(200).build());
+            response);
+	    listener.requestReceived(new MockRequestBuilder(context, "repeatedRequest")
+                .withMethod(RequestMethod.GET)
+                .withUrl("/recorded/content")
+                .build(),
+            response);
+	}
+
+	@Test
+	public void treatsXmlBodiesDifferingOnlyInExcludedNodesAsAlreadyRecorded() {
+	    List<String> excludedNodes = WireMockServer.excludedNodes;
+	    WireMockServer.excludedNodes = asList("dateAndTime");
+	    try {
+	        context.checking(new Expectations() {{
+	            one(mappingsFileSource).writeTextFile(with(equal("mapping-soap-service-1$2!3.json")), with(any(String.class)));
+	            ignoring(filesFileSource);
+	        }});
+
+	        listener.requestReceived(soapRequest("firstSoapRequest", "2016-01-01 10:00:00"),
+	            response().status(200).fromProxy(true).build());
+	        listener.requestReceived(soapRequest("laterSoapRequest", "2016-01-01 10:00:05"),
+	            response().status(200).fromProxy(true).build());
+	    } finally {
+	        WireMockServer.excludedNodes = excludedNodes;
+	    }
+	}
+
+	@Test
+	public void treatsJsonBodiesDifferingOnlyInWhitespaceAndKeyOrderAsAlreadyRecorded() {
+	    context.checking(new Expectations() {{
+            one(mappingsFileSource).writeTextFile(with(equal("mapping-json-service-1$2!3.json")), with(any(String.class)));
+            ignoring(filesFileSource);
+        }});
+
+	    listener.requestReceived(jsonRequest("firstJsonRequest", "{\"account\": \"123\", \"operation\": \"balance\"}"),
+	        response().status(200).fromProxy(true).build());
+	    listener.requestReceived(jsonRequest("laterJsonRequest", "{ \"operation\":\"balance\",\n  \"account\":\"123\" }"),
+	        response().status(200).fromProxy(true).build());
+	}
+
+	private Request jsonRequest(String name, String body) {
+	    return new MockRequestBuilder(context, name)
+                .withMethod(POST)
+                .withUrl("/json/service")
+                .withHeader("Content-Type", "application/json")
+                .withBody(body)
+                .build();
+	}
+
+	@Test
+	public void recordsARequestAgainAfterAReset() {
+	    context.checking(new Expectations() {{
+            exactly(2).of(mappingsFileSource).writeTextFile(with(equal("mapping-recorded-content-1$2!3.json")), with(any(String.class)));
+            ignoring(filesFileSource);
+        }});
+
+	    listener.requestReceived(new MockRequestBuilder(context, "beforeReset")
+                .withMethod(RequestMethod.GET)
+                .withUrl("/recorded/content")
+                .build(),
+            response().status(200).fromProxy(true).build());
+	    listener.reset();
+	    listener.requestReceived(new MockRequestBuilder(context, "afterReset")
+                .withMethod(RequestMethod.GET)
+                .withUrl("/recorded/content")
+                .build(),
+            response().status(200).fromProxy(true).build());
+	}
+
+	private Request soapRequest(String name, String dateAndTime) {
+	    return new MockRequestBuilder(context, name)
+                .withMethod(POST)
+                .withUrl("/soap/service")
+                .withHeader("Content-Type", "text/xml")
+                .withBody("<arg0><operation>balance</operation><dateAndTime>" + dateAndTime + "</dateAndTime></arg0>")
+                .build();
+	}
+
+	@Test
+	public void recordsRequestsToTheSameUrlWithDifferentBodiesSeparately() {
+	    context.checking(new Expectations() {{
+            exactly(2).of(mappingsFileSource).writeTextFile(with(equal("mapping-body-content-1$2!3.json")), with(any(String.class)));
+            ignoring(filesFileSource);
+        }});
+
+	    listener.requestReceived(new MockRequestBuilder(context, "firstBody")
+                .withMethod(POST)
+                .withUrl("/body/content")
+                .withHeader("Content-Type", "text/plain")
+                .withBody("first")
+                .build(),
+            response().status(200).fromProxy(true).build());
+	    listener.requestReceived(new MockRequestBuilder(context, "secondBody")
+                .withMethod(POST)
+                .withUrl("/body/content")
+                .withHeader("Content-Type", "text/plain")
+                .withBody("second")
+                .build(),
+            response().status(200).fromProxy(true).build());
 	}
 	
 	@Test
 	public void doesNotWriteFileIfResponseNotFromProxy() {
 	    context.checking(new Expectations() {{
-            allowing(admin).countRequestsMatching(with(any(RequestPattern.class))); will(returnValue(VerificationResult.withCount(0)));
             never(mappingsFileSource).writeTextFile(with(any(String.class)), with(any(String.class)));
             never(filesFileSource).writeTextFile(with(any(String.class)), with(any(String.class)));
         }});
@@ -182,6 +282,53 @@ public class StubMappingJsonRecorderTest {
             response);
 	}
 
+    @Test
+    public void writesASingleBodyFileForIdenticalBodiesFromDifferentEndpoints() {
+        context.checking(new Expectations() {{
+            one(mappingsFileSource).writeTextFile(with(equal("mapping-first-content-1$2!3.json")), with(any(String.class)));
+            one(mappingsFileSource).writeTextFile(with(equal("mapping-second-content-1$2!3.json")), with(any(String.class)));
+            one(filesFileSource).writeBinaryFile("body-fb4a7218396aade5f5599cda29a8475f1aa66b4d.json", "Recorded body content".getBytes(UTF_8));
+        }});
+
+        listener.requestReceived(new MockRequestBuilder(context, "firstRequest")
+                .withMethod(RequestMethod.GET)
+                .withUrl("/first/content")
+                .build(),
+            response().status(200).fromProxy(true).body("Recorded body content").build());
+        listener.requestReceived(new MockRequestBuilder(context, "secondRequest")
+                .withMethod(RequestMethod.GET)
+                .withUrl("/second/content")
+                .build(),
+            response().status(200).fromProxy(true).body("Recorded body content").build());
+    }
+
+    @Test
+    public void writesABodyFileAgainIfTheFirstWriteFailed() {
+        context.checking(new Expectations() {{
+            one(filesFileSource).writeBinaryFile("body-fb4a7218396aade5f5599cda29a8475f1aa66b4d.json", "Recorded body content".getBytes(UTF_8));
+            will(throwException(new RuntimeException("Disk full")));
+            one(mappingsFileSource).writeTextFile(with(equal("mapping-second-content-1$2!3.json")), with(any(String.class)));
+            one(filesFileSource).writeBinaryFile("body-fb4a7218396aade5f5599cda29a8475f1aa66b4d.json", "Recorded body content".getBytes(UTF_8));
+        }});
+
+        try {
+            listener.requestReceived(new MockRequestBuilder(context, "firstRequest")
+                    .withMethod(RequestMethod.GET)
+                    .withUrl("/first/content")
+                    .build(),
+                response().status(200).fromProxy(true).body("Recorded body content").build());
+            fail("Expected the failed write to be rethrown");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is("Disk full"));
+        }
+
+        listener.requestReceived(new MockRequestBuilder(context, "secondRequest")
+                .withMethod(RequestMethod.GET)
+                .withUrl("/second/content")
+                .build(),
+            response().status(200).fromProxy(true).body("Recorded body content").build());
+    }
+
     private static final String SAMPLE_REQUEST_MAPPING_WITH_BODY =
             "{ 													             \n" +
             "	\"request\": {									             \n" +
@@ -193,14 +340,13 @@ public class StubMappingJsonRecorderTest {
             "	},												             \n" +
             "	\"response\": {									             \n" +
             "		\"status\": 200, 							             \n" +
-            "		\"bodyFileName\": \"body-body-content-1$2!3.json\"       \n" +
+            "		\"bodyFileName\": \"body-8867c88b56e0bfb82cffaf15a66bc8d107d6754a.json\"       \n" +
             "	}												             \n" +
             "}													               ";
 
     @Test
     public void includesBodyInRequestPatternIfInRequest() {
         context.checking(new Expectations() {{
-            allowing(admin).countRequestsMatching(with(any(RequestPattern.class))); will(returnValue(VerificationResult.withCount(0)));
             one(mappingsFileSource).writeTextFile(
                     with(any(String.class)),
                     with(equalToJson(SAMPLE_REQUEST_MAPPING_WITH_BODY)));
@@ -230,7 +376,7 @@ public class StubMappingJsonRecorderTest {
             "	},												             \n" +
             "	\"response\": {									             \n" +
             "		\"status\": 200,							             \n" +
-            "		\"bodyFileName\": \"body-same-url-1$2!3.json\"		 	 \n" +
+            "		\"bodyFileName\": \"body-da39a3ee5e6b4b0d3255bfef95601890afd80709.json\"		 	 \n" +
             "	}												             \n" +
             "}													               ";
     
@@ -246,7 +392,7 @@ public class StubMappingJsonRecorderTest {
             "	},												             \n" +
             "	\"response\": {									             \n" +
             "		\"status\": 200, 							             \n" +
-            "		\"bodyFileName\": \"body-same-url-1$2!3.json\"		 	 \n" +
+            "		\"bodyFileName\": \"body-da39a3ee5e6b4b0d3255bfef95601890afd80709.json\"		 	 \n" +
             "	}												             \n" +
             "}													               ";
     
@@ -257,7 +403,6 @@ public class StubMappingJsonRecorderTest {
         constructRecordingListener(MATCHING_REQUEST_HEADERS);
 
         context.checking(new Expectations() {{
-            allowing(admin).countRequestsMatching(with(any(RequestPattern.class))); will(returnValue(VerificationResult.withCount(0)));
             one(mappingsFileSource).writeTextFile(
                     with(any(String.class)),
                     with(equalToJson(SAMPLE_REQUEST_MAPPING_WITH_REQUEST_HEADERS_1)));
@@ -297,14 +442,13 @@ public class StubMappingJsonRecorderTest {
             "  },                                                       \n" +
             "  \"response\" : {                                         \n" +
             "    \"status\" : 200,                                      \n" +
-            "    \"bodyFileName\" : \"body-json-content-1$2!3.json\"    \n" +
+            "    \"bodyFileName\" : \"body-8867c88b56e0bfb82cffaf15a66bc8d107d6754a.json\"    \n" +
             "  }                                                        \n" +
             "}";
 
     @Test
     public void matchesBodyOnEqualToJsonIfJsonInRequestContentTypeHeader() {
         context.checking(new Expectations() {{
-            allowing(admin).countRequestsMatching(with(any(RequestPattern.class))); will(returnValue(VerificationResult.withCount(0)));
             one(mappingsFileSource).writeTextFile(
                     with(any(String.class)),
                     with(equalToJson(SAMPLE_REQUEST_MAPPING_WITH_JSON_BODY)));
@@ -333,14 +477,13 @@ public class StubMappingJsonRecorderTest {
             "  },                                                               \n" +
             "  \"response\" : {                                                 \n" +
             "    \"status\" : 200,                                              \n" +
-            "    \"bodyFileName\" : \"body-xml-content-1$2!3.json\"             \n" +
+            "    \"bodyFileName\" : \"body-8867c88b56e0bfb82cffaf15a66bc8d107d6754a.json\"             \n" +
             "  }                                                                \n" +
             "}";
 
     @Test
     public void matchesBodyOnEqualToXmlIfXmlInRequestContentTypeHeader() {
         context.checking(new Expectations() {{
-            allowing(admin).countRequestsMatching(with(any(RequestPattern.class))); will(returnValue(VerificationResult.withCount(0)));
             one(mappingsFileSource).writeTextFile(
                     with(any(String.class)),
                     with(equalToJson(SAMPLE_REQUEST_MAPPING_WITH_XML_BODY)));
@@ -18,11 +18,12 @@ package com.github.tomakehurst.wiremock.testsupport;
 import com.github.tomakehurst.wiremock.http.*;
 import org.jmock.Expectations;
 import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
 
 import java.util.Arrays;
 import java.util.List;
 
-import static com.github.tomakehurst.wiremock.http.HttpHeader.httpHeader;
 import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
 import static com.google.common.collect.Lists.asList;
 import static com.google.common.collect.Lists.newArrayList;
@@ -110,7 +111,11 @@ public class MockRequestBuilder {
 				allowing(request).queryParameter(queryParameter.key()); will(returnValue(queryParameter));
 			}
 
-            allowing(request).header(with(any(String.class))); will(returnValue(httpHeader("key", "value")));
+            allowing(request).header(with(any(String.class))); will(new CustomAction("return an absent header") {
+                public Object invoke(Invocation invocation) {
+                    return HttpHeader.absent((String) invocation.getParameter(0));
+                }
+            });
 
             allowing(request).getHeaders(); will(returnValue(headers));
 			allowing(request).getAllHeaderKeys(); will(returnValue(newLinkedHashSet(headers.keys())));
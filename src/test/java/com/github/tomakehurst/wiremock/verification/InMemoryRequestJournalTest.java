@@ -5,12 +5,16 @@ import org.jmock.Mockery;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.matching.RequestPattern.everything;
 import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
 import static com.github.tomakehurst.wiremock.verification.LoggedRequest.createFrom;
+import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertThat;
 
 public class InMemoryRequestJournalTest {
@@ -66,6 +70,110 @@ public class InMemoryRequestJournalTest {
         assertOnlyLastTwoRequestsLeft(journal);
     }
 
+    @Test
+    public void countsRequestsMatchingEachPatternInOnePass() {
+        RequestJournal journal = new InMemoryRequestJournal(Optional.<Integer>absent());
+
+        journal.requestReceived(request1);
+        journal.requestReceived(request1);
+        journal.requestReceived(request2);
+
+        List<Integer> counts = journal.countRequestsMatchingEach(asList(
+                getRequestedFor(urlEqualTo("/logging1")).build(),
+                getRequestedFor(urlEqualTo("/logging2")).build(),
+                getRequestedFor(urlEqualTo("/logging3")).build(),
+                everything()));
+
+        assertThat(counts, is(asList(2, 1, 0, 3)));
+    }
+
+    @Test
+    public void countsLargeJournalsInParallelWithTheSameResult() {
+        RequestJournal journal = new InMemoryRequestJournal(Optional.<Integer>absent());
+        int size = BatchRequestCounter.PARALLEL_THRESHOLD * 3 + 7;
+        for (int i = 0; i < size; i++) {
+            journal.requestReceived(i % 3 == 0 ? request1 : request2);
+        }
+
+        List<Integer> counts = journal.countRequestsMatchingEach(asList(
+                getRequestedFor(urlEqualTo("/logging1")).build(),
+                getRequestedFor(urlEqualTo("/logging2")).build(),
+                everything()));
+
+        assertThat(counts, is(asList(
+                journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build()),
+                journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging2")).build()),
+                size)));
+    }
+
+    @Test
+    public void awaitReturnsImmediatelyWhenTheCountHasAlreadyBeenReached() {
+        RequestJournal journal = new InMemoryRequestJournal(Optional.<Integer>absent());
+        journal.requestReceived(request1);
+
+        long start = System.currentTimeMillis();
+        int count = journal.awaitRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build(), 1, 5000);
+
+        assertThat(count, is(1));
+        assertThat(System.currentTimeMillis() - start, lessThan(1000L));
+    }
+
+    @Test
+    public void awaitIsReleasedByMatchingRequestsAppendedWhileWaiting() throws Exception {
+        final RequestJournal journal = new InMemoryRequestJournal(Optional.<Integer>absent());
+        Thread appender = new Thread() {
+            public void run() {
+                sleepQuietly(100);
+                journal.requestReceived(request2);
+                journal.requestReceived(request1);
+                journal.requestReceived(request1);
+            }
+        };
+        appender.start();
+
+        int count = journal.awaitRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build(), 2, 5000);
+
+        assertThat(count, is(2));
+        appender.join();
+    }
+
+    @Test
+    public void awaitReturnsTheCurrentCountWhenTheTimeoutExpires() {
+        RequestJournal journal = new InMemoryRequestJournal(Optional.<Integer>absent());
+        journal.requestReceived(request1);
+
+        int count = journal.awaitRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build(), 3, 100);
+
+        assertThat(count, is(1));
+    }
+
+    @Test
+    public void awaitStartsCountingAgainWhenTheJournalIsResetWhileWaiting() throws Exception {
+        final RequestJournal journal = new InMemoryRequestJournal(Optional.<Integer>absent());
+        journal.requestReceived(request1);
+        Thread resetter = new Thread() {
+            public void run() {
+                sleepQuietly(100);
+                journal.reset();
+                journal.requestReceived(request1);
+            }
+        };
+        resetter.start();
+
+        int count = journal.awaitRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build(), 2, 500);
+
+        assertThat(count, is(1));
+        resetter.join();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void assertOnlyLastTwoRequestsLeft(RequestJournal journal) {
         assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build()), is(0));
         assertThat(journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging2")).build()), is(1));
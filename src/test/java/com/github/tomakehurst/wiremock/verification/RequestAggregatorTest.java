@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2011 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.verification;
+
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static com.github.tomakehurst.wiremock.verification.RequestAggregationSpec.GroupBy.TIME;
+import static com.github.tomakehurst.wiremock.verification.RequestAggregationSpec.groupedBy;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RequestAggregatorTest {
+
+    private TimeZone defaultTimeZone;
+
+    @Before
+    public void useATimeZoneWithDaylightSaving() {
+        defaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"));
+    }
+
+    @After
+    public void restoreTimeZone() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    public void keepsTimeBucketsApartWhenLocalClocksGoBack() {
+        // 01:30 local time twice, either side of the clocks going back on 30 October 2016
+        LoggedRequest beforeClocksGoBack = requestAt(1477787400000L);
+        LoggedRequest afterClocksGoBack = requestAt(1477791000000L);
+
+        RequestAggregationResult result = new RequestAggregator(groupedBy(TIME).inBucketsOf(3600))
+                .aggregate(asList(beforeClocksGoBack, afterClocksGoBack));
+
+        assertThat(result.getCounts().size(), is(2));
+        assertThat(result.getCounts(), hasEntry("2016-10-30 00:00:00", 1L));
+        assertThat(result.getCounts(), hasEntry("2016-10-30 01:00:00", 1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsBucketsShorterThanASecond() {
+        new RequestAggregator(groupedBy(TIME).inBucketsOf(-5));
+    }
+
+    private static LoggedRequest requestAt(long epochMillis) {
+        return new LoggedRequest("/things", "http://localhost/things", GET, new HttpHeaders(), "", false, new Date(epochMillis));
+    }
+}